@@ -17,6 +17,11 @@ import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
 
 import javax.persistence.EntityManagerFactory;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collector;
 import java.util.stream.Stream;
 
 import static java.util.Objects.requireNonNull;
@@ -93,6 +98,15 @@ public interface JPAStreamer {
      * <li>{@link Stream#iterator() iterator()}
      * </ul>
      * <p>
+     * {@link Stream#min(java.util.Comparator) min(Comparator)} and
+     * {@link Stream#max(java.util.Comparator) max(Comparator)} are only
+     * rendered as a query for a single entity if the comparator is a field
+     * comparator on fields of primitive type and the stream is not sorted
+     * beforehand. As databases differ in where {@code null} values are placed
+     * in an order, any other comparator is evaluated over all matching
+     * entities. A preceding sort decides which of several equal entities is
+     * returned, so such a stream is evaluated over all matching entities too.
+     * <p>
      * Any Terminating Operation may throw an Exception if the
      * underlying database throws an Exception (e.g. an SqlException)
      * <p>
@@ -166,6 +180,131 @@ public interface JPAStreamer {
         return stream(StreamConfiguration.of(entityClass));
     }
 
+    /**
+     * Creates a new {@link Stream} according to the provided
+     * {@code streamConfiguration}, applies the provided {@code query} to it
+     * asynchronously and returns a CompletableFuture that completes with the
+     * result of the query.
+     * <p>
+     * The query is executed on the asynchronous executor of this JPAStreamer
+     * (see {@link JPAStreamerBuilder#asyncExecutor(java.util.concurrent.Executor)})
+     * using an EntityManager of its own. The Stream is closed
+     * once the query has completed.
+     * <p>
+     * Example:
+     * <pre>{@code
+     *     CompletableFuture<List<Film>> films = jpaStreamer.async(StreamConfiguration.of(Film.class), s -> s
+     *         .filter(Film$.rating.equal("G"))
+     *         .collect(toList()));
+     * }</pre>
+     *
+     * @param <T> The element type (type of a class token)
+     * @param <R> The result type
+     * @param streamConfiguration a configuration including an entity class (annotated with {@code @Entity})
+     * @param query to apply, including a Terminal Operation
+     * @return a CompletableFuture that completes with the result of the query
+     *
+     * @see JPAStreamer#stream(StreamConfiguration) for further details
+     */
+    <T, R> CompletableFuture<R> async(StreamConfiguration<T> streamConfiguration, Function<? super Stream<T>, ? extends R> query);
+
+    /**
+     * Asynchronously counts the elements of a Stream created according to the
+     * provided {@code streamConfiguration} and decorated by the
+     * provided {@code pipeline}.
+     *
+     * @param <T> The element type (type of a class token)
+     * @param streamConfiguration a configuration including an entity class (annotated with {@code @Entity})
+     * @param pipeline intermediate operations to apply before counting
+     * @return a CompletableFuture that completes with the number of elements
+     *
+     * @see JPAStreamer#async(StreamConfiguration, Function) for further details
+     */
+    default <T> CompletableFuture<Long> countAsync(
+        final StreamConfiguration<T> streamConfiguration,
+        final UnaryOperator<Stream<T>> pipeline
+    ) {
+        requireNonNull(pipeline);
+        return async(streamConfiguration, stream -> pipeline.apply(stream).count());
+    }
+
+    /**
+     * Asynchronously collects the elements of a Stream created according to the
+     * provided {@code streamConfiguration} and decorated by the
+     * provided {@code pipeline} using the provided {@code collector}.
+     *
+     * @param <T> The element type (type of a class token)
+     * @param <A> The intermediate accumulation type of the Collector
+     * @param <R> The result type
+     * @param streamConfiguration a configuration including an entity class (annotated with {@code @Entity})
+     * @param pipeline intermediate operations to apply before collecting
+     * @param collector to collect elements with
+     * @return a CompletableFuture that completes with the result of the collector
+     *
+     * @see JPAStreamer#async(StreamConfiguration, Function) for further details
+     */
+    default <T, A, R> CompletableFuture<R> collectAsync(
+        final StreamConfiguration<T> streamConfiguration,
+        final UnaryOperator<Stream<T>> pipeline,
+        final Collector<? super T, A, R> collector
+    ) {
+        requireNonNull(pipeline);
+        requireNonNull(collector);
+        return async(streamConfiguration, stream -> pipeline.apply(stream).collect(collector));
+    }
+
+    /**
+     * Asynchronously applies the provided {@code action} to each element of a
+     * Stream created according to the provided {@code streamConfiguration} and
+     * decorated by the provided {@code pipeline}.
+     * <p>
+     * The action is invoked on a thread of the asynchronous executor.
+     *
+     * @param <T> The element type (type of a class token)
+     * @param streamConfiguration a configuration including an entity class (annotated with {@code @Entity})
+     * @param pipeline intermediate operations to apply before the action
+     * @param action to apply to each element
+     * @return a CompletableFuture that completes when all elements have
+     *         been processed
+     *
+     * @see JPAStreamer#async(StreamConfiguration, Function) for further details
+     */
+    default <T> CompletableFuture<Void> forEachAsync(
+        final StreamConfiguration<T> streamConfiguration,
+        final UnaryOperator<Stream<T>> pipeline,
+        final Consumer<? super T> action
+    ) {
+        requireNonNull(pipeline);
+        requireNonNull(action);
+        return async(streamConfiguration, stream -> {
+            pipeline.apply(stream).forEach(action);
+            return null;
+        });
+    }
+
+    /**
+     * Creates and returns a new {@link StreamPublisher} that publishes the
+     * elements of Streams created according to the provided
+     * {@code streamConfiguration} and decorated by the provided
+     * {@code pipeline}.
+     * <p>
+     * Rows are read from the database as Subscribers request them, whereby
+     * a slow Subscriber never causes the entire result to be held in memory.
+     * The number of rows read per database round trip is controlled by the
+     * {@link StreamConfiguration#withFetchSize(int) fetch size}.
+     * <p>
+     * Elements are delivered on the asynchronous executor of this JPAStreamer
+     * (see {@link JPAStreamerBuilder#asyncExecutor(java.util.concurrent.Executor)}).
+     *
+     * @param <T> The element type (type of a class token)
+     * @param streamConfiguration a configuration including an entity class (annotated with {@code @Entity})
+     * @param pipeline intermediate operations to apply before publishing
+     * @return a new StreamPublisher
+     *
+     * @see StreamPublisher
+     */
+    <T> StreamPublisher<T> publisher(StreamConfiguration<T> streamConfiguration, UnaryOperator<Stream<T>> pipeline);
+
     /**
      * Closes this JPAStreamer and releases any resources potentially held.
      * <p>
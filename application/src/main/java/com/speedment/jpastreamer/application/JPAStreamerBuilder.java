@@ -12,8 +12,26 @@
  */
 package com.speedment.jpastreamer.application;
 
+import java.util.concurrent.Executor;
+
 public interface JPAStreamerBuilder {
 
+    /**
+     * Configures the Executor on which asynchronous queries
+     * (e.g. {@link JPAStreamer#async(com.speedment.jpastreamer.streamconfiguration.StreamConfiguration, java.util.function.Function)})
+     * are executed.
+     * <p>
+     * The provided {@code executor} will <em>not</em> be shut down whenever
+     * a built JPAStreamer instance is closed.
+     * <p>
+     * By default, virtual threads are used if supported by the JVM and
+     * otherwise a pool of daemon threads owned by the JPAStreamer.
+     *
+     * @param executor on which asynchronous queries are executed
+     * @return this builder
+     */
+    JPAStreamerBuilder asyncExecutor(Executor executor);
+
     /**
      * Creates and returns a new JPAStreamer instance.
      *
@@ -0,0 +1,107 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.application;
+
+/**
+ * A StreamPublisher produces the elements of a Stream to
+ * {@link Subscriber Subscribers} as they are demanded.
+ * <p>
+ * The interfaces of this class follow the contract of
+ * {@code java.util.concurrent.Flow} (and thus Reactive Streams) but do not
+ * depend on it since JPAstreamer runs under Java 8. Rows are only read from
+ * the database as Subscribers request them (plus one row ahead to detect the
+ * end of the Stream) and a Subscriber never receives more elements than it
+ * has requested.
+ * <p>
+ * Each Subscriber gets a Stream (and hence a query) of its own. The
+ * Stream is closed when all elements have been delivered, when an error
+ * occurs or when the Subscription is cancelled.
+ *
+ * @param <T> the element type
+ * @see JPAStreamer#publisher(com.speedment.jpastreamer.streamconfiguration.StreamConfiguration, java.util.function.UnaryOperator)
+ */
+@FunctionalInterface
+public interface StreamPublisher<T> {
+
+    /**
+     * Adds the provided {@code subscriber} to this StreamPublisher.
+     * <p>
+     * The Subscriber will be invoked via {@link Subscriber#onSubscribe(Subscription)}
+     * before any other signal is sent.
+     *
+     * @param subscriber to add
+     * @throws NullPointerException if the provided {@code subscriber} is null
+     */
+    void subscribe(Subscriber<? super T> subscriber);
+
+    /**
+     * A receiver of elements as defined by {@code java.util.concurrent.Flow.Subscriber}.
+     *
+     * @param <T> the element type
+     */
+    interface Subscriber<T> {
+
+        /**
+         * Invoked before any other method for a given Subscription.
+         *
+         * @param subscription used to request elements and to cancel
+         */
+        void onSubscribe(Subscription subscription);
+
+        /**
+         * Invoked with the next element of the Subscription.
+         *
+         * @param item the next element
+         */
+        void onNext(T item);
+
+        /**
+         * Invoked when an unrecoverable error is encountered, after which
+         * no other methods are invoked.
+         *
+         * @param throwable the error
+         */
+        void onError(Throwable throwable);
+
+        /**
+         * Invoked when all elements have been delivered, after which
+         * no other methods are invoked.
+         */
+        void onComplete();
+    }
+
+    /**
+     * Links a {@link StreamPublisher} and a {@link Subscriber} as defined
+     * by {@code java.util.concurrent.Flow.Subscription}.
+     */
+    interface Subscription {
+
+        /**
+         * Adds the provided number {@code n} of elements to the current
+         * unfulfilled demand of this Subscription.
+         * <p>
+         * If {@code n} is not positive, the Subscriber is
+         * invoked with an IllegalArgumentException.
+         *
+         * @param n the number of elements to add to the demand
+         */
+        void request(long n);
+
+        /**
+         * Causes the Subscriber to (eventually) stop receiving elements
+         * and closes the underlying Stream.
+         */
+        void cancel();
+    }
+
+}
@@ -15,6 +15,7 @@ package com.speedment.jpastreamer.criteria;
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.List;
 
 /**
  * @author Mislav Miliceivc
@@ -42,4 +43,20 @@ public interface Criteria<ENTITY, RETURN> {
      * @return the {@code Root} that is stored within this {@code Criteria}
      */
     Root<ENTITY> getRoot();
+
+    /**
+     * Returns the parameters that have been added to this {@code Criteria}
+     * in the order they were added.
+     *
+     * @return the parameters that have been added to this {@code Criteria}
+     */
+    List<CriteriaParameter<ENTITY>> getParameters();
+
+    /**
+     * Adds a parameter that must be bound to every query created
+     * from this {@code Criteria}.
+     *
+     * @param parameter to add
+     */
+    void addParameter(final CriteriaParameter<ENTITY> parameter);
 }
@@ -0,0 +1,77 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.criteria;
+
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+
+import javax.persistence.Query;
+
+/**
+ * A bind parameter of a {@link Criteria} whose value(s) originate
+ * from a {@code FieldPredicate}.
+ * <p>
+ * A CriteriaParameter can bind the values of any {@code FieldPredicate}
+ * that has the same field, predicate type and argument types as
+ * its source. This allows a Criteria to be reused for predicates
+ * that only differ in their values.
+ *
+ * @param <ENTITY> root entity used in the source predicate
+ */
+public interface CriteriaParameter<ENTITY> {
+
+    /**
+     * Returns the {@code FieldPredicate} that this parameter
+     * was created from.
+     *
+     * @return the {@code FieldPredicate} that this parameter
+     *         was created from
+     */
+    FieldPredicate<ENTITY> getSource();
+
+    /**
+     * Binds the value(s) of the provided {@code fieldPredicate} to
+     * the provided {@code query}.
+     *
+     * @param query to bind values to
+     * @param fieldPredicate with the same shape as the source predicate
+     */
+    void bind(final Query query, final FieldPredicate<?> fieldPredicate);
+
+    /**
+     * Binds the value(s) of the source predicate to
+     * the provided {@code query}.
+     *
+     * @param query to bind values to
+     */
+    default void bind(final Query query) {
+        bind(query, getSource());
+    }
+
+    /**
+     * Returns the number of parameters that an IN list of the
+     * provided {@code size} is bound to, which is the closest power
+     * of two that is greater than or equal to {@code size}.
+     * <p>
+     * Padding IN lists this way means that only a few distinct
+     * statements are produced for lists of varying sizes.
+     *
+     * @param size of the IN list
+     * @return the number of parameters an IN list is bound to
+     */
+    static int inListSize(final int size) {
+        if (size <= 1) {
+            return size;
+        }
+        return Integer.highestOneBit(size - 1) << 1;
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.collector;
+
+import com.speedment.jpastreamer.field.Field;
+
+import java.util.Optional;
+import java.util.stream.Collector;
+
+/**
+ * A collector that computes an aggregate over the entities, optionally of
+ * the values of a field. As opposed to an arbitrary {@link Collector}, the
+ * aggregate can be computed by the database when the collector is used as
+ * the downstream of a {@link GroupingFieldCollector}.
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the collector
+ * @param <R>  the collected result
+ */
+public interface AggregateCollector<T, A, R> extends Collector<T, A, R> {
+
+    enum Aggregate {
+        COUNT,
+        SUM,
+        AVERAGE,
+        MIN,
+        MAX
+    }
+
+    /**
+     * Returns the aggregate that this collector computes.
+     *
+     * @return  the aggregate
+     */
+    Aggregate getAggregate();
+
+    /**
+     * Returns the field that this collector aggregates the values of, or an
+     * empty {@code Optional} if the aggregate is a count of the entities.
+     *
+     * @return  the aggregated field
+     */
+    Optional<Field<T>> getField();
+
+}
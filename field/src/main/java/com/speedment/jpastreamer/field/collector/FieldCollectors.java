@@ -13,11 +13,18 @@
 package com.speedment.jpastreamer.field.collector;
 
 import com.speedment.jpastreamer.field.*;
+import com.speedment.jpastreamer.field.collector.AggregateCollector.Aggregate;
+import com.speedment.jpastreamer.field.internal.collector.AggregateCollectorImpl;
+import com.speedment.jpastreamer.field.internal.collector.BooleanPartition;
 import com.speedment.jpastreamer.field.internal.collector.FieldCollectorImpl;
+import com.speedment.jpastreamer.field.internal.collector.GroupingFieldCollectorImpl;
+import com.speedment.jpastreamer.field.internal.collector.IntKeyHashMap;
+import com.speedment.jpastreamer.field.internal.collector.LongKeyHashMap;
 
 import java.util.*;
 import java.util.function.*;
 import java.util.stream.Collector;
+import java.util.stream.Collectors;
 
 import static java.util.Collections.emptySet;
 import static java.util.Collections.unmodifiableSet;
@@ -85,54 +92,281 @@ public final class FieldCollectors {
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Long, R>>
     groupingBy(LongField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Integer, R>>
     groupingBy(IntField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Short, R>>
     groupingBy(ShortField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Byte, R>>
     groupingBy(ByteField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Double, R>>
     groupingBy(DoubleField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Float, R>>
     groupingBy(FloatField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Boolean, R>>
     groupingBy(BooleanField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Character, R>>
     groupingBy(CharField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, A, R> Collector<ENTITY, ?, Map<String, R>>
     groupingBy(StringField<ENTITY> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
     
     public static <ENTITY, T, A, R> Collector<ENTITY, ?, Map<T, R>>
     groupingBy(ReferenceField<ENTITY, T> field, Collector<ENTITY, A, R> downstream) {
-        return groupingBy(field, field.getter()::apply, HashMap::new, downstream);
+        return groupingByField(field, field.getter()::apply, downstream);
     }
-    
+
+    /*
+     * The following collectors behave like their counterparts in
+     * java.util.stream.Collectors, but when used as the downstream of one of
+     * the groupingBy collectors above, they can be computed by the database.
+     */
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Long>
+    counting() {
+        return new AggregateCollectorImpl<>(Collectors.counting(), Aggregate.COUNT, null);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Integer>
+    summingInt(IntField<ENTITY> field) {
+        return new AggregateCollectorImpl<>(Collectors.summingInt(field), Aggregate.SUM, field);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Long>
+    summingLong(LongField<ENTITY> field) {
+        return new AggregateCollectorImpl<>(Collectors.summingLong(field), Aggregate.SUM, field);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Double>
+    summingDouble(DoubleField<ENTITY> field) {
+        return new AggregateCollectorImpl<>(Collectors.summingDouble(field), Aggregate.SUM, field);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Double>
+    averagingInt(IntField<ENTITY> field) {
+        return new AggregateCollectorImpl<>(Collectors.averagingInt(field), Aggregate.AVERAGE, field);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Double>
+    averagingLong(LongField<ENTITY> field) {
+        return new AggregateCollectorImpl<>(Collectors.averagingLong(field), Aggregate.AVERAGE, field);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Double>
+    averagingDouble(DoubleField<ENTITY> field) {
+        return new AggregateCollectorImpl<>(Collectors.averagingDouble(field), Aggregate.AVERAGE, field);
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Optional<Integer>>
+    min(IntField<ENTITY> field) {
+        return aggregating(field, field.getter()::apply, Aggregate.MIN, BinaryOperator.minBy(Comparator.naturalOrder()));
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Optional<Long>>
+    min(LongField<ENTITY> field) {
+        return aggregating(field, field.getter()::apply, Aggregate.MIN, BinaryOperator.minBy(Comparator.naturalOrder()));
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Optional<Double>>
+    min(DoubleField<ENTITY> field) {
+        return aggregating(field, field.getter()::apply, Aggregate.MIN, BinaryOperator.minBy(Comparator.naturalOrder()));
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Optional<Integer>>
+    max(IntField<ENTITY> field) {
+        return aggregating(field, field.getter()::apply, Aggregate.MAX, BinaryOperator.maxBy(Comparator.naturalOrder()));
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Optional<Long>>
+    max(LongField<ENTITY> field) {
+        return aggregating(field, field.getter()::apply, Aggregate.MAX, BinaryOperator.maxBy(Comparator.naturalOrder()));
+    }
+
+    public static <ENTITY> AggregateCollector<ENTITY, ?, Optional<Double>>
+    max(DoubleField<ENTITY> field) {
+        return aggregating(field, field.getter()::apply, Aggregate.MAX, BinaryOperator.maxBy(Comparator.naturalOrder()));
+    }
+
+    /*
+     * The following collectors key their results by primitive values rather
+     * than boxed keys in a HashMap. Use the asMap() view of the result to get
+     * a java.util.Map.
+     */
+
+    public static <ENTITY> Collector<ENTITY, ?, IntKeyMap<List<ENTITY>>>
+    groupingByInt(IntField<ENTITY> field) {
+        return groupingByInt(field, toList());
+    }
+
+    public static <ENTITY, A, R> Collector<ENTITY, ?, IntKeyMap<R>>
+    groupingByInt(IntField<ENTITY> field, Collector<? super ENTITY, A, R> downstream) {
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super ENTITY> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        // Created once so that accumulating an entity does not allocate
+        IntFunction<A> containerFactory = key -> downstreamSupplier.get();
+        BiConsumer<IntKeyHashMap<A>, ENTITY> accumulator = (m, t) ->
+            downstreamAccumulator.accept(m.computeIfAbsent(field.getAsInt(t), containerFactory), t);
+        BinaryOperator<IntKeyHashMap<A>> merger = (m1, m2) -> {
+            m2.forEach((k, v) -> m1.merge(k, v, downstreamCombiner));
+            return m1;
+        };
+
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return new FieldCollectorImpl<>(field, IntKeyHashMap::new, accumulator, merger, CH_ID);
+        }
+        else {
+            @SuppressWarnings("unchecked")
+            Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+            Function<IntKeyHashMap<A>, IntKeyMap<R>> finisher = intermediate -> {
+                intermediate.replaceAll(downstreamFinisher);
+                @SuppressWarnings("unchecked")
+                IntKeyMap<R> castResult = (IntKeyMap<R>) intermediate;
+                return castResult;
+            };
+            return new FieldCollectorImpl<>(field, IntKeyHashMap::new, accumulator, merger, finisher, CH_NOID);
+        }
+    }
+
+    public static <ENTITY> Collector<ENTITY, ?, IntKeyMap<ENTITY>>
+    toMap(IntField<ENTITY> field) {
+        return toMap(field, Function.identity());
+    }
+
+    public static <ENTITY, V> Collector<ENTITY, ?, IntKeyMap<V>>
+    toMap(IntField<ENTITY> field, Function<? super ENTITY, ? extends V> valueMapper) {
+        BiConsumer<IntKeyHashMap<V>, ENTITY> accumulator = (m, t) -> {
+            int key = field.getAsInt(t);
+            if (m.putIfAbsent(key, valueMapper.apply(t)) != null) {
+                throw duplicateKey(key);
+            }
+        };
+        BinaryOperator<IntKeyHashMap<V>> merger = (m1, m2) -> {
+            m2.forEach((k, v) -> {
+                if (m1.putIfAbsent(k, v) != null) {
+                    throw duplicateKey(k);
+                }
+            });
+            return m1;
+        };
+        return new FieldCollectorImpl<>(field, IntKeyHashMap::new, accumulator, merger, CH_ID);
+    }
+
+    public static <ENTITY> Collector<ENTITY, ?, LongKeyMap<List<ENTITY>>>
+    groupingByLong(LongField<ENTITY> field) {
+        return groupingByLong(field, toList());
+    }
+
+    public static <ENTITY, A, R> Collector<ENTITY, ?, LongKeyMap<R>>
+    groupingByLong(LongField<ENTITY> field, Collector<? super ENTITY, A, R> downstream) {
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super ENTITY> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        // Created once so that accumulating an entity does not allocate
+        LongFunction<A> containerFactory = key -> downstreamSupplier.get();
+        BiConsumer<LongKeyHashMap<A>, ENTITY> accumulator = (m, t) ->
+            downstreamAccumulator.accept(m.computeIfAbsent(field.getAsLong(t), containerFactory), t);
+        BinaryOperator<LongKeyHashMap<A>> merger = (m1, m2) -> {
+            m2.forEach((k, v) -> m1.merge(k, v, downstreamCombiner));
+            return m1;
+        };
+
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return new FieldCollectorImpl<>(field, LongKeyHashMap::new, accumulator, merger, CH_ID);
+        }
+        else {
+            @SuppressWarnings("unchecked")
+            Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
+            Function<LongKeyHashMap<A>, LongKeyMap<R>> finisher = intermediate -> {
+                intermediate.replaceAll(downstreamFinisher);
+                @SuppressWarnings("unchecked")
+                LongKeyMap<R> castResult = (LongKeyMap<R>) intermediate;
+                return castResult;
+            };
+            return new FieldCollectorImpl<>(field, LongKeyHashMap::new, accumulator, merger, finisher, CH_NOID);
+        }
+    }
+
+    public static <ENTITY> Collector<ENTITY, ?, LongKeyMap<ENTITY>>
+    toMap(LongField<ENTITY> field) {
+        return toMap(field, Function.identity());
+    }
+
+    public static <ENTITY, V> Collector<ENTITY, ?, LongKeyMap<V>>
+    toMap(LongField<ENTITY> field, Function<? super ENTITY, ? extends V> valueMapper) {
+        BiConsumer<LongKeyHashMap<V>, ENTITY> accumulator = (m, t) -> {
+            long key = field.getAsLong(t);
+            if (m.putIfAbsent(key, valueMapper.apply(t)) != null) {
+                throw duplicateKey(key);
+            }
+        };
+        BinaryOperator<LongKeyHashMap<V>> merger = (m1, m2) -> {
+            m2.forEach((k, v) -> {
+                if (m1.putIfAbsent(k, v) != null) {
+                    throw duplicateKey(k);
+                }
+            });
+            return m1;
+        };
+        return new FieldCollectorImpl<>(field, LongKeyHashMap::new, accumulator, merger, CH_ID);
+    }
+
+    public static <ENTITY> Collector<ENTITY, ?, Map<Boolean, List<ENTITY>>>
+    partitioningBy(BooleanField<ENTITY> field) {
+        return partitioningBy(field, toList());
+    }
+
+    public static <ENTITY, A, R> Collector<ENTITY, ?, Map<Boolean, R>>
+    partitioningBy(BooleanField<ENTITY> field, Collector<? super ENTITY, A, R> downstream) {
+        Supplier<A> downstreamSupplier = downstream.supplier();
+        BiConsumer<A, ? super ENTITY> downstreamAccumulator = downstream.accumulator();
+        BinaryOperator<A> downstreamCombiner = downstream.combiner();
+        Supplier<BooleanPartition<A>> supplier = () ->
+            new BooleanPartition<>(downstreamSupplier.get(), downstreamSupplier.get());
+        BiConsumer<BooleanPartition<A>, ENTITY> accumulator = (p, t) ->
+            downstreamAccumulator.accept(p.get(field.getAsBoolean(t)), t);
+        BinaryOperator<BooleanPartition<A>> merger = (p1, p2) -> new BooleanPartition<>(
+            downstreamCombiner.apply(p1.get(false), p2.get(false)),
+            downstreamCombiner.apply(p1.get(true), p2.get(true))
+        );
+
+        if (downstream.characteristics().contains(Collector.Characteristics.IDENTITY_FINISH)) {
+            return new FieldCollectorImpl<>(field, supplier, accumulator, merger, CH_ID);
+        }
+        else {
+            Function<A, R> downstreamFinisher = downstream.finisher();
+            Function<BooleanPartition<A>, Map<Boolean, R>> finisher = p -> new BooleanPartition<>(
+                downstreamFinisher.apply(p.get(false)),
+                downstreamFinisher.apply(p.get(true))
+            );
+            return new FieldCollectorImpl<>(field, supplier, accumulator, merger, finisher, CH_NOID);
+        }
+    }
+
     public static <T, K, D, A, M extends Map<K, D>>
     FieldCollector<T, ?, M> groupingBy(
             Field<T> field,
@@ -156,7 +390,7 @@ public final class FieldCollectors {
         }
         else {
             @SuppressWarnings("unchecked")
-            UnaryOperator<A> downstreamFinisher = (UnaryOperator<A>) downstream.finisher();
+            Function<A, A> downstreamFinisher = (Function<A, A>) downstream.finisher();
             Function<Map<K, A>, M> finisher = intermediate -> {
                 intermediate.replaceAll((k, v) -> downstreamFinisher.apply(v));
                 @SuppressWarnings("unchecked")
@@ -167,6 +401,22 @@ public final class FieldCollectors {
         }
     }
 
+    private static <ENTITY, K, A, R> Collector<ENTITY, ?, Map<K, R>>
+    groupingByField(Field<ENTITY> field, Function<ENTITY, K> classifier, Collector<ENTITY, A, R> downstream) {
+        // Only groups keyed by the field itself are known to the renderer
+        final FieldCollector<ENTITY, ?, Map<K, R>> collector = groupingBy(field, classifier, HashMap::new, downstream);
+        return new GroupingFieldCollectorImpl<>(collector, downstream);
+    }
+
+    private static <ENTITY, V> AggregateCollector<ENTITY, ?, Optional<V>>
+    aggregating(Field<ENTITY> field, Function<ENTITY, V> getter, Aggregate aggregate, BinaryOperator<V> operator) {
+        return new AggregateCollectorImpl<>(Collectors.mapping(getter, Collectors.reducing(operator)), aggregate, field);
+    }
+
+    private static IllegalStateException duplicateKey(Object key) {
+        return new IllegalStateException("Duplicate key " + key);
+    }
+
     private static <K, V, M extends Map<K,V>>
     BinaryOperator<M> mapMerger(BinaryOperator<V> mergeFunction) {
         return (m1, m2) -> {
@@ -0,0 +1,34 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.collector;
+
+import java.util.stream.Collector;
+
+/**
+ * A {@link FieldCollector} that groups the entities by the value of its field
+ * and collects each group using a downstream collector.
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the collector
+ * @param <R>  the collected result
+ */
+public interface GroupingFieldCollector<T, A, R> extends FieldCollector<T, A, R> {
+
+    /**
+     * Returns the collector that each group is collected with.
+     *
+     * @return  the downstream collector
+     */
+    Collector<? super T, ?, ?> getDownstream();
+
+}
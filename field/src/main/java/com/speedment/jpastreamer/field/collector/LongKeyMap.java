@@ -0,0 +1,95 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.collector;
+
+import java.util.Map;
+
+/**
+ * A read-only map from primitive {@code long} keys to values that does not box
+ * its keys. Values are never {@code null}.
+ * <p>
+ * Callers that need a {@link Map} can get a boxed view of the map using
+ * {@link #asMap()}.
+ *
+ * @param <V>  the value type
+ */
+public interface LongKeyMap<V> {
+
+    /**
+     * Returns the number of keys in this map.
+     *
+     * @return  the number of keys
+     */
+    int size();
+
+    /**
+     * Returns {@code true} if this map contains no keys.
+     *
+     * @return  {@code true} if empty
+     */
+    default boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns {@code true} if this map contains the provided key.
+     *
+     * @param key  to look for
+     * @return     {@code true} if the key is present
+     */
+    boolean containsKey(long key);
+
+    /**
+     * Returns the value of the provided key, or {@code null} if the key is
+     * not present.
+     *
+     * @param key  to look up
+     * @return     the value or {@code null}
+     */
+    V get(long key);
+
+    /**
+     * Returns the value of the provided key, or the provided default value
+     * if the key is not present.
+     *
+     * @param key           to look up
+     * @param defaultValue  to return if the key is not present
+     * @return              the value or the default value
+     */
+    default V getOrDefault(long key, V defaultValue) {
+        final V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    /**
+     * Performs the provided action for each key and value in this map, in
+     * no particular order.
+     *
+     * @param action  to perform
+     */
+    void forEach(EntryConsumer<? super V> action);
+
+    /**
+     * Returns an unmodifiable {@link Map} view of this map. The keys are
+     * boxed lazily as the view is iterated.
+     *
+     * @return  a boxed view of this map
+     */
+    Map<Long, V> asMap();
+
+    @FunctionalInterface
+    interface EntryConsumer<V> {
+        void accept(long key, V value);
+    }
+
+}
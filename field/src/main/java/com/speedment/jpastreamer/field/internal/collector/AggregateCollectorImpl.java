@@ -0,0 +1,85 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.internal.collector;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.collector.AggregateCollector;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collector;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ *
+ * @param <T>  the entity type to be collected
+ * @param <A>  the intermediate accumulation type of the collector
+ * @param <R>  the collected result
+ */
+public final class AggregateCollectorImpl<T, A, R>
+implements AggregateCollector<T, A, R> {
+
+    private final Collector<T, A, R> delegate;
+    private final Aggregate aggregate;
+    private final Field<T> field;
+
+    public AggregateCollectorImpl(
+            Collector<T, A, R> delegate,
+            Aggregate aggregate,
+            Field<T> field) {
+
+        this.delegate  = requireNonNull(delegate);
+        this.aggregate = requireNonNull(aggregate);
+        this.field     = field; // Nullable
+    }
+
+    @Override
+    public Aggregate getAggregate() {
+        return aggregate;
+    }
+
+    @Override
+    public Optional<Field<T>> getField() {
+        return Optional.ofNullable(field);
+    }
+
+    @Override
+    public Supplier<A> supplier() {
+        return delegate.supplier();
+    }
+
+    @Override
+    public BiConsumer<A, T> accumulator() {
+        return delegate.accumulator();
+    }
+
+    @Override
+    public BinaryOperator<A> combiner() {
+        return delegate.combiner();
+    }
+
+    @Override
+    public Function<A, R> finisher() {
+        return delegate.finisher();
+    }
+
+    @Override
+    public Set<Collector.Characteristics> characteristics() {
+        return delegate.characteristics();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.internal.collector;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * A map that always holds exactly the keys {@code false} and {@code true},
+ * stored in a field each rather than in hashed entries.
+ *
+ * @param <V>  the value type
+ */
+public final class BooleanPartition<V> extends AbstractMap<Boolean, V> {
+
+    private final V forFalse;
+    private final V forTrue;
+
+    public BooleanPartition(V forFalse, V forTrue) {
+        this.forFalse = forFalse;
+        this.forTrue  = forTrue;
+    }
+
+    public V get(boolean key) {
+        return key ? forTrue : forFalse;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Boolean;
+    }
+
+    @Override
+    public V get(Object key) {
+        return key instanceof Boolean ? get(((Boolean) key).booleanValue()) : null;
+    }
+
+    @Override
+    public Set<Entry<Boolean, V>> entrySet() {
+        return new AbstractSet<Entry<Boolean, V>>() {
+            @Override
+            public Iterator<Entry<Boolean, V>> iterator() {
+                return Arrays.<Entry<Boolean, V>>asList(
+                    new SimpleImmutableEntry<>(false, forFalse),
+                    new SimpleImmutableEntry<>(true, forTrue)
+                ).iterator();
+            }
+
+            @Override
+            public int size() {
+                return 2;
+            }
+        };
+    }
+}
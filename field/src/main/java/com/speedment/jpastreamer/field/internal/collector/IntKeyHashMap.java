@@ -0,0 +1,251 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.internal.collector;
+
+import com.speedment.jpastreamer.field.collector.IntKeyMap;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * An open addressing hash map from primitive {@code int} keys to non-null
+ * values. Keys and values are kept in parallel arrays that are probed
+ * linearly, so that neither keys nor entries are allocated as the map is
+ * populated.
+ *
+ * @param <V>  the value type
+ */
+public final class IntKeyHashMap<V> implements IntKeyMap<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    private int[] keys;
+    private Object[] values; // A null value marks a free slot
+    private int mask;
+    private int size;
+
+    private Map<Integer, V> boxed;
+
+    public IntKeyHashMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(int key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public V get(int key) {
+        final int index = indexOf(key);
+        return index < 0 ? null : value(index);
+    }
+
+    @Override
+    public void forEach(EntryConsumer<? super V> action) {
+        requireNonNull(action);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                action.accept(keys[i], value(i));
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, V> asMap() {
+        if (boxed == null) {
+            boxed = new BoxedView();
+        }
+        return boxed;
+    }
+
+    public V computeIfAbsent(int key, IntFunction<? extends V> mappingFunction) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return value(index);
+        }
+        final V value = requireNonNull(mappingFunction.apply(key));
+        insert(~index, key, value);
+        return value;
+    }
+
+    public V putIfAbsent(int key, V value) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            return value(index);
+        }
+        insert(~index, key, requireNonNull(value));
+        return null;
+    }
+
+    public void merge(int key, V value, BinaryOperator<V> remappingFunction) {
+        final int index = indexOf(key);
+        if (index >= 0) {
+            values[index] = requireNonNull(remappingFunction.apply(value(index), value));
+        } else {
+            insert(~index, key, requireNonNull(value));
+        }
+    }
+
+    public void replaceAll(Function<? super V, ? extends V> function) {
+        requireNonNull(function);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) {
+                values[i] = requireNonNull(function.apply(value(i)));
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return obj instanceof IntKeyMap && asMap().equals(((IntKeyMap<?>) obj).asMap());
+    }
+
+    @Override
+    public int hashCode() {
+        return asMap().hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return asMap().toString();
+    }
+
+    /**
+     * Returns the index of the provided key, or the one's complement of the
+     * free slot that the key would be inserted at if it is not present.
+     */
+    private int indexOf(int key) {
+        int index = hash(key) & mask;
+        while (values[index] != null) {
+            if (keys[index] == key) {
+                return index;
+            }
+            index = (index + 1) & mask;
+        }
+        return ~index;
+    }
+
+    private void insert(int index, int key, V value) {
+        keys[index] = key;
+        values[index] = value;
+        // Linear probing degrades quickly beyond half full
+        if (++size * 2 > values.length) {
+            rehash(values.length * 2);
+        }
+    }
+
+    private void rehash(int capacity) {
+        final int[] oldKeys = keys;
+        final Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                final int index = ~indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    private int occupied(int index) {
+        int next = index;
+        while (next < values.length && values[next] == null) {
+            next++;
+        }
+        return next;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V value(int index) {
+        return (V) values[index];
+    }
+
+    private static int hash(int key) {
+        final int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private final class BoxedView extends AbstractMap<Integer, V> {
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return key instanceof Integer && IntKeyHashMap.this.containsKey((Integer) key);
+        }
+
+        @Override
+        public V get(Object key) {
+            return key instanceof Integer ? IntKeyHashMap.this.get((Integer) key) : null;
+        }
+
+        @Override
+        public Set<Entry<Integer, V>> entrySet() {
+            return new AbstractSet<Entry<Integer, V>>() {
+                @Override
+                public int size() {
+                    return size;
+                }
+
+                @Override
+                public Iterator<Entry<Integer, V>> iterator() {
+                    return new Iterator<Entry<Integer, V>>() {
+                        private int index = occupied(0);
+
+                        @Override
+                        public boolean hasNext() {
+                            return index < values.length;
+                        }
+
+                        @Override
+                        public Entry<Integer, V> next() {
+                            if (!hasNext()) {
+                                throw new NoSuchElementException();
+                            }
+                            final Entry<Integer, V> entry = new SimpleImmutableEntry<>(keys[index], value(index));
+                            index = occupied(index + 1);
+                            return entry;
+                        }
+                    };
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.internal.projection;
+
+import com.speedment.jpastreamer.field.*;
+import com.speedment.jpastreamer.field.projection.Projection;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.stream.Collectors.joining;
+
+/**
+ * Default implementation of {@link Projection} that constructs the projected
+ * objects through the one public constructor that accepts the field values.
+ *
+ * @param <ENTITY> the entity type
+ * @param <R>      the result type
+ */
+public final class ProjectionImpl<ENTITY, R> implements Projection<ENTITY, R> {
+
+    private final Class<R> resultType;
+    private final List<Field<ENTITY>> fields;
+    private final MethodHandle constructor; // (Object[])Object
+
+    public ProjectionImpl(Class<R> resultType, Field<ENTITY>[] fields) {
+        for (Field<ENTITY> field : fields) {
+            requireNonNull(field);
+        }
+        this.resultType  = requireNonNull(resultType);
+        this.fields      = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(fields)));
+        this.constructor = constructor(resultType, this.fields);
+    }
+
+    @Override
+    public Class<R> resultType() {
+        return resultType;
+    }
+
+    @Override
+    public List<Field<ENTITY>> fields() {
+        return fields;
+    }
+
+    @Override
+    public R apply(ENTITY entity) {
+        final Object[] values = new Object[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).getter().apply(entity);
+        }
+        return fromValues(values);
+    }
+
+    @Override
+    public R fromValues(Object[] values) {
+        try {
+            return resultType.cast((Object) constructor.invokeExact(values));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException("Unable to create a new " + resultType.getName(), t);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Projection{" + resultType.getSimpleName() + fields.stream()
+            .map(Field::columnName)
+            .collect(joining(", ", "(", ")")) + "}";
+    }
+
+    private static MethodHandle constructor(Class<?> resultType, List<? extends Field<?>> fields) {
+        final List<Constructor<?>> candidates = new ArrayList<>();
+        for (Constructor<?> candidate : resultType.getConstructors()) {
+            if (accepts(candidate.getParameterTypes(), fields)) {
+                candidates.add(candidate);
+            }
+        }
+
+        if (candidates.size() != 1 || Modifier.isAbstract(resultType.getModifiers())) {
+            throw new IllegalArgumentException(String.format(
+                "%s must have exactly one public constructor accepting the values of %s but has %d",
+                resultType.getName(),
+                fields.stream().map(Field::columnName).collect(joining(", ")),
+                candidates.size()
+            ));
+        }
+
+        try {
+            // The handle is adapted once so that each invocation is an exact invocation
+            return MethodHandles.publicLookup()
+                .unreflectConstructor(candidates.get(0))
+                .asSpreader(Object[].class, fields.size())
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (IllegalAccessException e) {
+            throw new IllegalArgumentException(resultType.getName() + " is not accessible", e);
+        }
+    }
+
+    private static boolean accepts(Class<?>[] parameterTypes, List<? extends Field<?>> fields) {
+        if (parameterTypes.length != fields.size()) {
+            return false;
+        }
+        for (int i = 0; i < parameterTypes.length; i++) {
+            final Class<?> valueType = valueType(fields.get(i));
+            final Class<?> parameterType = parameterTypes[i];
+            if (valueType == null) {
+                // The value type of reference fields is not known at runtime
+                if (parameterType.isPrimitive()) {
+                    return false;
+                }
+            } else if (!parameterType.isAssignableFrom(valueType) && parameterType != boxed(valueType)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Class<?> valueType(Field<?> field) {
+        if (field instanceof IntField) return int.class;
+        if (field instanceof LongField) return long.class;
+        if (field instanceof DoubleField) return double.class;
+        if (field instanceof FloatField) return float.class;
+        if (field instanceof ShortField) return short.class;
+        if (field instanceof ByteField) return byte.class;
+        if (field instanceof CharField) return char.class;
+        if (field instanceof BooleanField) return boolean.class;
+        if (field instanceof StringField) return String.class;
+        return null;
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        return MethodType.methodType(type).wrap().returnType();
+    }
+}
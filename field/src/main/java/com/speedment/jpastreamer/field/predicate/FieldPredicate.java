@@ -12,6 +12,9 @@
  */
 package com.speedment.jpastreamer.field.predicate;
 
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.internal.predicate.AlwaysFalsePredicate;
+import com.speedment.jpastreamer.field.internal.predicate.AlwaysTruePredicate;
 import com.speedment.jpastreamer.field.predicate.trait.HasPredicateType;
 import com.speedment.jpastreamer.field.predicate.trait.HasField;
 
@@ -33,4 +36,28 @@ extends SpeedmentPredicate<ENTITY>,
 
     @Override
     FieldPredicate<ENTITY> negate();
+
+    /**
+     * Creates and returns a new FieldPredicate of the provided field that
+     * holds for every entity.
+     *
+     * @param <ENTITY> entity type
+     * @param field the predicate is of
+     * @return a new FieldPredicate that always holds
+     */
+    static <ENTITY> FieldPredicate<ENTITY> alwaysTrue(Field<ENTITY> field) {
+        return new AlwaysTruePredicate<>(field);
+    }
+
+    /**
+     * Creates and returns a new FieldPredicate of the provided field that
+     * holds for no entity.
+     *
+     * @param <ENTITY> entity type
+     * @param field the predicate is of
+     * @return a new FieldPredicate that never holds
+     */
+    static <ENTITY> FieldPredicate<ENTITY> alwaysFalse(Field<ENTITY> field) {
+        return new AlwaysFalsePredicate<>(field);
+    }
 }
\ No newline at end of file
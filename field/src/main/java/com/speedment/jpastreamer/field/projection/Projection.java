@@ -0,0 +1,77 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.projection;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.internal.projection.ProjectionImpl;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A function that maps an entity to a new instance of a result type, such
+ * as a DTO, by passing the values of a number of fields to a constructor of
+ * the result type.
+ * <p>
+ * When used as in {@code map(Projection.of(FilmDto.class, Film$.filmId,
+ * Film$.title))}, only the columns of the fields are selected from the
+ * database and no entities are loaded.
+ *
+ * @param <ENTITY> the entity type
+ * @param <R>      the result type
+ */
+public interface Projection<ENTITY, R> extends Function<ENTITY, R> {
+
+    /**
+     * Returns the type of the results of this projection.
+     *
+     * @return  the result type
+     */
+    Class<R> resultType();
+
+    /**
+     * Returns the fields whose values are passed to the constructor of the
+     * result type, in the order of the parameters of the constructor.
+     *
+     * @return  the fields of this projection
+     */
+    List<Field<ENTITY>> fields();
+
+    /**
+     * Creates a new result from the provided values of the fields, in the
+     * same order as {@link #fields()}.
+     *
+     * @param values  of the fields
+     * @return        a new result
+     */
+    R fromValues(Object[] values);
+
+    /**
+     * Creates and returns a new {@code Projection} to the provided result
+     * type which must have a public constructor whose parameters match the
+     * provided fields, in order.
+     *
+     * @param <ENTITY>    the entity type
+     * @param <R>         the result type
+     * @param resultType  to create instances of
+     * @param fields      whose values are passed to the constructor
+     * @return            a new {@code Projection}
+     * @throws IllegalArgumentException if there is no single public
+     *         constructor matching the provided fields
+     */
+    @SafeVarargs
+    static <ENTITY, R> Projection<ENTITY, R> of(Class<R> resultType, Field<ENTITY>... fields) {
+        return new ProjectionImpl<>(resultType, fields);
+    }
+
+}
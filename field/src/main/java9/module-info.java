@@ -25,5 +25,6 @@ module jpastreamer.field {
     exports com.speedment.jpastreamer.field.method;
     exports com.speedment.jpastreamer.field.predicate;
     exports com.speedment.jpastreamer.field.predicate.trait;
+    exports com.speedment.jpastreamer.field.projection;
     exports com.speedment.jpastreamer.field.trait;
 }
@@ -0,0 +1,116 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.collector;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.field.BooleanField;
+import com.speedment.jpastreamer.field.IntField;
+import com.speedment.jpastreamer.field.LongField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+final class FieldCollectorsTest {
+
+    private static final IntField<Item> ID = IntField.create(Item.class, "id", Item::getId, true);
+    private static final LongField<Item> GROUP = LongField.create(Item.class, "group", Item::getGroup, false);
+    private static final BooleanField<Item> ACTIVE = BooleanField.create(Item.class, "active", Item::isActive, false);
+
+    @Test
+    void groupingByInt() {
+        // Enough keys to grow the map a number of times
+        final List<Item> items = IntStream.range(-500, 500)
+            .mapToObj(i -> new Item(i % 100, i, i % 3 == 0))
+            .collect(Collectors.toList());
+
+        final IntKeyMap<List<Item>> grouped = items.stream().collect(FieldCollectors.groupingByInt(ID));
+        final Map<Integer, List<Item>> expected = items.stream().collect(Collectors.groupingBy(Item::getId));
+
+        assertEquals(expected.size(), grouped.size());
+        assertEquals(expected, grouped.asMap());
+        assertEquals(expected.get(42), grouped.get(42));
+        assertNull(grouped.get(1000));
+        assertFalse(grouped.containsKey(1000));
+    }
+
+    @Test
+    void groupingByLongWithDownstream() {
+        final List<Item> items = Arrays.asList(new Item(1, 7, true), new Item(2, 7, false), new Item(3, 8, true));
+
+        final LongKeyMap<Long> counts = items.parallelStream().collect(FieldCollectors.groupingByLong(GROUP, Collectors.counting()));
+
+        assertEquals(2L, counts.get(7));
+        assertEquals(1L, counts.get(8));
+        assertEquals(0L, counts.getOrDefault(9, 0L));
+
+        final Map<Long, Long> visited = new HashMap<>();
+        counts.forEach(visited::put);
+        assertEquals(counts.asMap(), visited);
+    }
+
+    @Test
+    void toMap() {
+        final List<Item> items = Arrays.asList(new Item(1, 7, true), new Item(2, 7, false));
+
+        final IntKeyMap<Item> byId = items.stream().collect(FieldCollectors.toMap(ID));
+        assertEquals(items.stream().collect(Collectors.toMap(Item::getId, Function.identity())), byId.asMap());
+
+        final List<Item> duplicates = Arrays.asList(new Item(1, 7, true), new Item(1, 8, false));
+        assertThrows(IllegalStateException.class, () -> duplicates.stream().collect(FieldCollectors.toMap(ID, Item::getGroup)));
+    }
+
+    @Test
+    void partitioningBy() {
+        final List<Item> items = Arrays.asList(new Item(1, 7, true), new Item(2, 7, true));
+
+        final Map<Boolean, List<Item>> partitioned = items.stream().collect(FieldCollectors.partitioningBy(ACTIVE));
+        assertEquals(items.stream().collect(Collectors.partitioningBy(Item::isActive)), partitioned);
+        assertEquals(Collections.emptyList(), partitioned.get(false));
+
+        final Map<Boolean, Long> counts = items.stream().collect(FieldCollectors.partitioningBy(ACTIVE, Collectors.counting()));
+        assertEquals(2L, counts.get(true));
+        assertTrue(counts.containsKey(false));
+    }
+
+    private static final class Item {
+
+        private final int id;
+        private final long group;
+        private final boolean active;
+
+        private Item(final int id, final long group, final boolean active) {
+            this.id = id;
+            this.group = group;
+            this.active = active;
+        }
+
+        int getId() { return id; }
+
+        long getGroup() { return group; }
+
+        boolean isActive() { return active; }
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.field.projection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.speedment.jpastreamer.field.IntField;
+import com.speedment.jpastreamer.field.StringField;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+final class ProjectionTest {
+
+    private static final IntField<Item> ID = IntField.create(Item.class, "id", Item::getId, true);
+    private static final StringField<Item> NAME = StringField.create(Item.class, "name", Item::getName, false);
+
+    @Test
+    void apply() {
+        final Projection<Item, ItemDto> projection = Projection.of(ItemDto.class, ID, NAME);
+
+        assertEquals(ItemDto.class, projection.resultType());
+        assertEquals(Arrays.asList(ID, NAME), projection.fields());
+
+        final ItemDto dto = projection.apply(new Item(7, "seven"));
+        assertEquals(7, dto.id);
+        assertEquals("seven", dto.name);
+    }
+
+    @Test
+    void fromValues() {
+        // Values are read back from the database boxed
+        final ItemDto dto = Projection.of(ItemDto.class, ID, NAME).fromValues(new Object[]{3, "three"});
+        assertEquals(3, dto.id);
+        assertEquals("three", dto.name);
+    }
+
+    @Test
+    void noMatchingConstructor() {
+        assertThrows(IllegalArgumentException.class, () -> Projection.of(ItemDto.class, NAME, ID));
+        assertThrows(IllegalArgumentException.class, () -> Projection.of(ItemDto.class, ID));
+    }
+
+    public static final class ItemDto {
+
+        private final int id;
+        private final String name;
+
+        public ItemDto(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+    }
+
+    private static final class Item {
+
+        private final int id;
+        private final String name;
+
+        private Item(int id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        int getId() {
+            return id;
+        }
+
+        String getName() {
+            return name;
+        }
+    }
+
+}
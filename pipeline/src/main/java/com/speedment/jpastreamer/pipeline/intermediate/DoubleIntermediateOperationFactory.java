@@ -14,6 +14,7 @@ package com.speedment.jpastreamer.pipeline.intermediate;
 
 import java.util.function.*;
 import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
@@ -27,7 +28,10 @@ public interface DoubleIntermediateOperationFactory {
 
     IntermediateOperation<DoubleStream, LongStream> createMapToLong(DoubleToLongFunction mapper);
 
-    IntermediateOperation<DoubleStream, DoubleStream> createMapToInt(DoubleToIntFunction mapper);
+    IntermediateOperation<DoubleStream, IntStream> createMapToInt(DoubleToIntFunction mapper);
+
+
+    IntermediateOperation<DoubleStream, Stream<Double>> createBoxed();
 
 
     IntermediateOperation<DoubleStream, DoubleStream> createFlatMap(DoubleFunction<? extends DoubleStream> mapper);
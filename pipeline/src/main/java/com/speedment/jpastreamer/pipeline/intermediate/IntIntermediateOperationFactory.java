@@ -31,6 +31,13 @@ public interface IntIntermediateOperationFactory {
     IntermediateOperation<IntStream, DoubleStream> createMapToDouble(IntToDoubleFunction mapper);
 
 
+    IntermediateOperation<IntStream, LongStream> createAsLongStream();
+
+    IntermediateOperation<IntStream, DoubleStream> createAsDoubleStream();
+
+    IntermediateOperation<IntStream, Stream<Integer>> createBoxed();
+
+
     IntermediateOperation<IntStream, IntStream> createFlatMap(IntFunction<? extends IntStream> mapper);
 
 
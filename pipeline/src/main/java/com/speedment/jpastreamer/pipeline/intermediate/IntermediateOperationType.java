@@ -33,7 +33,7 @@ public enum IntermediateOperationType {
     MAP_TO(PRESERVES_ORDER, PRESERVES_SIZE, MODIFIES_STREAM_TYPE),
     PEEK(PRESERVES_ORDER, PRESERVES_SIZE, PRESERVES_TYPE, PRESERVES_STREAM_TYPE, MODIFIES_SIDE_EFFECT),
     SKIP(PRESERVES_ORDER, PRESERVES_TYPE, PRESERVES_STREAM_TYPE),
-    SORTED(MODIFIES_ORDER, PRESERVES_TYPE, PRESERVES_STREAM_TYPE, MODIFIES_SORTED),
+    SORTED(MODIFIES_ORDER, PRESERVES_SIZE, PRESERVES_TYPE, PRESERVES_STREAM_TYPE, MODIFIES_SORTED),
     BOXED(PRESERVES_ORDER, PRESERVES_SIZE, MODIFIES_STREAM_TYPE),
     AS(PRESERVES_ORDER, PRESERVES_SIZE, MODIFIES_STREAM_TYPE),
     TAKE_WHILE(PRESERVES_ORDER, PRESERVES_TYPE, PRESERVES_STREAM_TYPE),
@@ -14,6 +14,7 @@ package com.speedment.jpastreamer.pipeline.intermediate;
 
 import java.util.function.*;
 import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
@@ -25,11 +26,16 @@ public interface LongIntermediateOperationFactory {
 
     <U> IntermediateOperation<LongStream, Stream<U>> createMapToObj(LongFunction<? extends U> mapper);
 
-    IntermediateOperation<LongStream, LongStream> createMapToInt(LongToIntFunction mapper);
+    IntermediateOperation<LongStream, IntStream> createMapToInt(LongToIntFunction mapper);
 
     IntermediateOperation<LongStream, DoubleStream> createMapToDouble(LongToDoubleFunction mapper);
 
 
+    IntermediateOperation<LongStream, DoubleStream> createAsDoubleStream();
+
+    IntermediateOperation<LongStream, Stream<Long>> createBoxed();
+
+
     IntermediateOperation<LongStream, LongStream> createFlatMap(LongFunction<? extends LongStream> mapper);
 
 
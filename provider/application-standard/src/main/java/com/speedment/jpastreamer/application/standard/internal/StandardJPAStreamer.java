@@ -19,6 +19,7 @@ import com.speedment.jpastreamer.analytics.AnalyticsReporterFactory;
 import com.speedment.jpastreamer.announcer.Announcer;
 import com.speedment.jpastreamer.appinfo.ApplicationInformation;
 import com.speedment.jpastreamer.application.JPAStreamer;
+import com.speedment.jpastreamer.application.StreamPublisher;
 import com.speedment.jpastreamer.rootfactory.RootFactory;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
 
@@ -26,49 +27,94 @@ import javax.persistence.EntityManagerFactory;
 import java.util.Map;
 import java.util.Objects;
 import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
 import java.util.stream.Stream;
 
 final class StandardJPAStreamer implements JPAStreamer {
 
     private final EntityManagerFactory entityManagerFactory;
     private final boolean closeEntityManager;
-    private final Map<StreamConfiguration<?>, Streamer<?>> streamerCache;
+    private final Supplier<Streamer<?>> streamerFactory;
+    private final Map<Class<?>, Streamer<?>> streamerCache;
     private final AnalyticsReporter analyticsReporter;
+    private final Executor asyncExecutor;
+    private final ExecutorService ownedAsyncExecutor;
 
-    StandardJPAStreamer(final EntityManagerFactory entityManagerFactory, final boolean closeEntityManager) {
+    StandardJPAStreamer(final EntityManagerFactory entityManagerFactory, final boolean closeEntityManager, final Executor asyncExecutor) {
+        this(
+            entityManagerFactory,
+            closeEntityManager,
+            asyncExecutor,
+            () -> new StandardStreamer<>(entityManagerFactory),
+            createAnalyticsReporter(entityManagerFactory)
+        );
+        printGreeting(RootFactory.getOrThrow(ApplicationInformation.class, ServiceLoader::load));
+    }
+
+    StandardJPAStreamer(
+        final EntityManagerFactory entityManagerFactory,
+        final boolean closeEntityManager,
+        final Executor asyncExecutor,
+        final Supplier<Streamer<?>> streamerFactory,
+        final AnalyticsReporter analyticsReporter
+    ) {
         this.closeEntityManager = closeEntityManager;
         this.entityManagerFactory = requireNonNull(entityManagerFactory);
+        // An Executor provided by the user is not ours to shut down
+        this.ownedAsyncExecutor = asyncExecutor == null ? AsyncExecutors.createDefault() : null;
+        this.asyncExecutor = asyncExecutor == null ? ownedAsyncExecutor : asyncExecutor;
+        this.streamerFactory = requireNonNull(streamerFactory);
         streamerCache = new ConcurrentHashMap<>();
-        final ApplicationInformation applicationInformation = RootFactory.getOrThrow(ApplicationInformation.class, ServiceLoader::load);
-        final AnalyticsReporterFactory analyticsReporterFactory = RootFactory.getOrThrow(AnalyticsReporterFactory.class, ServiceLoader::load);
-
-        final boolean demoMode = "sakila".equals(this.entityManagerFactory.getProperties().getOrDefault("hibernate.ejb.persistenceUnitName", ""));
-
-        analyticsReporter = analyticsReporterFactory.createAnalyticsReporter(applicationInformation.implementationVersion(), demoMode);
+        this.analyticsReporter = requireNonNull(analyticsReporter);
         analyticsReporter.start();
-        printGreeting(applicationInformation);
     }
 
     @Override
-    @SuppressWarnings("unchecked")
     public <T> Stream<T> stream(final StreamConfiguration<T> streamConfiguration) {
+        return stream(streamConfiguration, Streamer::stream);
+    }
+
+    @Override
+    public <T, R> CompletableFuture<R> async(
+        final StreamConfiguration<T> streamConfiguration,
+        final Function<? super Stream<T>, ? extends R> query
+    ) {
         requireNonNull(streamConfiguration);
-        if (streamConfiguration.joins().isEmpty()) {
-            // Only cache simple configurations to limit the number of objects held
-            // See https://github.com/speedment/jpa-streamer/issues/56
-            return (Stream<T>) streamerCache
-                    .computeIfAbsent(streamConfiguration, ec -> new StandardStreamer<>(streamConfiguration, entityManagerFactory))
-                    .stream();
-        } else {
-            final Streamer<T> streamer = new StandardStreamer<>(streamConfiguration, entityManagerFactory);
-            return streamer.stream()
-                    .onClose(streamer::close);
-        }
+        requireNonNull(query);
+        // The Stream is created on the executing thread whereby the query gets an EntityManager of its own
+        return CompletableFuture.supplyAsync(() -> {
+            try (Stream<T> stream = stream(streamConfiguration)) {
+                return query.apply(stream);
+            }
+        }, asyncExecutor);
+    }
+
+    @Override
+    public <T> StreamPublisher<T> publisher(
+        final StreamConfiguration<T> streamConfiguration,
+        final UnaryOperator<Stream<T>> pipeline
+    ) {
+        requireNonNull(streamConfiguration);
+        requireNonNull(pipeline);
+        // The publisher iterates over the Stream so it cannot be closed automatically
+        return new StandardStreamPublisher<>(
+            () -> pipeline.apply(stream(streamConfiguration, Streamer::manuallyClosedStream)),
+            asyncExecutor
+        );
     }
 
     @Override
     public void close() {
+        if (ownedAsyncExecutor != null) {
+            ownedAsyncExecutor.shutdown();
+        }
         streamerCache.values().forEach(Streamer::close);
         analyticsReporter.stop();
         if (closeEntityManager) {
@@ -76,6 +122,27 @@ final class StandardJPAStreamer implements JPAStreamer {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private <T> Stream<T> stream(
+        final StreamConfiguration<T> streamConfiguration,
+        final BiFunction<Streamer<T>, StreamConfiguration<T>, Stream<T>> streamFactory
+    ) {
+        requireNonNull(streamConfiguration);
+        // Streamers are cached by entity as the configuration, e.g. its joins or a continuation token,
+        // is passed with each Stream. Thus, the number of Streamers held is bounded by the number of entities.
+        return streamFactory.apply((Streamer<T>) streamerCache
+                .computeIfAbsent(streamConfiguration.entityClass(), ec -> streamerFactory.get()), streamConfiguration);
+    }
+
+    private static AnalyticsReporter createAnalyticsReporter(final EntityManagerFactory entityManagerFactory) {
+        final ApplicationInformation applicationInformation = RootFactory.getOrThrow(ApplicationInformation.class, ServiceLoader::load);
+        final AnalyticsReporterFactory analyticsReporterFactory = RootFactory.getOrThrow(AnalyticsReporterFactory.class, ServiceLoader::load);
+
+        final boolean demoMode = "sakila".equals(entityManagerFactory.getProperties().getOrDefault("hibernate.ejb.persistenceUnitName", ""));
+
+        return analyticsReporterFactory.createAnalyticsReporter(applicationInformation.implementationVersion(), demoMode);
+    }
+
     private void printGreeting(final ApplicationInformation info) {
         final String greeting = String.format("%s%n" +
                         ":: %s %s :: %s%n" +
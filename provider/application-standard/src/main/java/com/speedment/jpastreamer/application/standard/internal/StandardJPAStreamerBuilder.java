@@ -17,6 +17,7 @@ import com.speedment.jpastreamer.application.JPAStreamerBuilder;
 
 import javax.persistence.EntityManagerFactory;
 import javax.persistence.Persistence;
+import java.util.concurrent.Executor;
 
 import static java.util.Objects.requireNonNull;
 
@@ -25,6 +26,8 @@ public final class StandardJPAStreamerBuilder implements JPAStreamerBuilder {
     private final EntityManagerFactory entityManagerFactory;
     private final boolean closeEntityManager;
 
+    private Executor asyncExecutor;
+
     public StandardJPAStreamerBuilder(final String persistenceUnitName) {
         this.closeEntityManager = true;
         this.entityManagerFactory = Persistence.createEntityManagerFactory(requireNonNull(persistenceUnitName));
@@ -35,9 +38,15 @@ public final class StandardJPAStreamerBuilder implements JPAStreamerBuilder {
         this.entityManagerFactory = requireNonNull(entityManagerFactory);
     }
 
+    @Override
+    public JPAStreamerBuilder asyncExecutor(final Executor executor) {
+        this.asyncExecutor = requireNonNull(executor);
+        return this;
+    }
+
     @Override
     public JPAStreamer build() {
-        return new StandardJPAStreamer(entityManagerFactory, closeEntityManager);
+        return new StandardJPAStreamer(entityManagerFactory, closeEntityManager, asyncExecutor);
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,201 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.application.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.application.StreamPublisher;
+
+import java.util.Iterator;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+final class StandardStreamPublisher<T> implements StreamPublisher<T> {
+
+    private final Supplier<Stream<T>> streamSupplier;
+    private final Executor executor;
+
+    StandardStreamPublisher(final Supplier<Stream<T>> streamSupplier, final Executor executor) {
+        this.streamSupplier = requireNonNull(streamSupplier);
+        this.executor = requireNonNull(executor);
+    }
+
+    @Override
+    public void subscribe(final Subscriber<? super T> subscriber) {
+        requireNonNull(subscriber);
+        final StreamSubscription<T> subscription = new StreamSubscription<>(subscriber, streamSupplier, executor);
+        subscriber.onSubscribe(subscription);
+    }
+
+    /**
+     * Delivers elements as they are demanded. All signals to the Subscriber
+     * are sent from a single drain loop at a time so they are never
+     * sent concurrently.
+     */
+    static final class StreamSubscription<T> implements Subscription {
+
+        private final Subscriber<? super T> subscriber;
+        private final Supplier<Stream<T>> streamSupplier;
+        private final Executor executor;
+
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private volatile boolean cancelled;
+        private volatile Throwable invalidRequest;
+
+        // Only accessed from within the drain loop
+        private Stream<T> stream;
+        private Iterator<T> iterator;
+        private boolean done;
+
+        StreamSubscription(
+            final Subscriber<? super T> subscriber,
+            final Supplier<Stream<T>> streamSupplier,
+            final Executor executor
+        ) {
+            this.subscriber = subscriber;
+            this.streamSupplier = streamSupplier;
+            this.executor = executor;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n <= 0) {
+                invalidRequest = new IllegalArgumentException("The number of requested elements must be positive: " + n);
+            } else {
+                demand.getAndUpdate(current -> {
+                    final long sum = current + n;
+                    return sum < 0 ? Long.MAX_VALUE : sum;
+                });
+            }
+            schedule();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            // The Stream is closed by the drain loop to avoid racing with an ongoing delivery
+            schedule();
+        }
+
+        private void schedule() {
+            if (pending.getAndIncrement() == 0) {
+                executor.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            int missed = 1;
+            do {
+                if (!done) {
+                    deliver();
+                }
+                missed = pending.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliver() {
+            if (cancelled) {
+                terminate();
+                return;
+            }
+
+            final Throwable error = invalidRequest;
+            if (error != null) {
+                terminate();
+                subscriber.onError(error);
+                return;
+            }
+
+            final long requested = demand.get();
+            long delivered = 0;
+
+            while (delivered != requested) {
+                if (cancelled) {
+                    terminate();
+                    return;
+                }
+
+                if (!hasNext()) {
+                    return;
+                }
+
+                final T next;
+                try {
+                    next = iterator.next();
+                } catch (Throwable t) {
+                    terminate();
+                    subscriber.onError(t);
+                    return;
+                }
+
+                try {
+                    subscriber.onNext(next);
+                } catch (Throwable t) {
+                    // A failing Subscriber is considered to have cancelled its Subscription
+                    terminate();
+                    return;
+                }
+                delivered++;
+            }
+
+            // Completes a Subscriber that has requested exactly the remaining elements
+            // so that the Stream is not kept open until it requests more
+            if (delivered != 0 && !cancelled && !hasNext()) {
+                return;
+            }
+
+            if (requested != Long.MAX_VALUE) {
+                demand.addAndGet(-delivered);
+            }
+        }
+
+        /**
+         * Returns if there is another element to deliver. Otherwise, the
+         * Subscription is terminated and the Subscriber is signalled
+         * either completion or the error that occurred.
+         */
+        private boolean hasNext() {
+            try {
+                if (iterator == null) {
+                    stream = streamSupplier.get();
+                    iterator = stream.iterator();
+                }
+                if (iterator.hasNext()) {
+                    return true;
+                }
+            } catch (Throwable t) {
+                terminate();
+                subscriber.onError(t);
+                return false;
+            }
+            terminate();
+            subscriber.onComplete();
+            return false;
+        }
+
+        private void terminate() {
+            done = true;
+            if (stream != null) {
+                stream.close();
+                stream = null;
+                iterator = null;
+            }
+        }
+    }
+
+}
@@ -30,10 +30,8 @@ final class StandardStreamer<T> implements Streamer<T> {
     private final Renderer renderer;
     private final BuilderFactory builderFactory;
     private final AutoCloseFactory autoCloseFactory;
-    private final StreamConfiguration<T> streamConfiguration;
 
-    StandardStreamer(final StreamConfiguration<T> streamConfiguration, final EntityManagerFactory entityManagerFactory) {
-        this.streamConfiguration = requireNonNull(streamConfiguration);
+    StandardStreamer(final EntityManagerFactory entityManagerFactory) {
         requireNonNull(entityManagerFactory);
         this.builderFactory = RootFactory.getOrThrow(BuilderFactory.class, ServiceLoader::load);
         this.autoCloseFactory = RootFactory.getOrThrow(AutoCloseFactory.class, ServiceLoader::load);
@@ -42,8 +40,13 @@ final class StandardStreamer<T> implements Streamer<T> {
     }
 
     @Override
-    public Stream<T> stream() {
-        return autoCloseFactory.createAutoCloseStream(builderFactory.createBuilder(streamConfiguration, renderer));
+    public Stream<T> stream(final StreamConfiguration<T> streamConfiguration) {
+        return autoCloseFactory.createAutoCloseStream(manuallyClosedStream(streamConfiguration));
+    }
+
+    @Override
+    public Stream<T> manuallyClosedStream(final StreamConfiguration<T> streamConfiguration) {
+        return builderFactory.createBuilder(requireNonNull(streamConfiguration), renderer);
     }
 
     @Override
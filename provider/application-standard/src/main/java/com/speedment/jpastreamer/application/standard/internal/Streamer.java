@@ -12,11 +12,22 @@
  */
 package com.speedment.jpastreamer.application.standard.internal;
 
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+
 import java.util.stream.Stream;
 
 interface Streamer<E> {
 
-    Stream<E> stream();
+    Stream<E> stream(StreamConfiguration<E> streamConfiguration);
+
+    /**
+     * Returns a Stream that is not closed automatically after its Terminal Operation
+     * and thus allows {@link Stream#iterator()}. The Stream must be closed explicitly.
+     *
+     * @param streamConfiguration of the Stream
+     * @return a Stream that is not closed automatically
+     */
+    Stream<E> manuallyClosedStream(StreamConfiguration<E> streamConfiguration);
 
     void close();
 }
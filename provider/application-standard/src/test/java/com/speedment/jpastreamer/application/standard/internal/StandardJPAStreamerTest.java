@@ -0,0 +1,245 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.application.standard.internal;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.analytics.AnalyticsReporter;
+import com.speedment.jpastreamer.field.IntField;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration.ContinuationToken;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.PersistenceException;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+final class StandardJPAStreamerTest {
+
+    private static final long TIMEOUT_SECONDS = 10;
+
+    private final StreamConfiguration<Film> configuration = StreamConfiguration.of(Film.class);
+    private final List<RecordingStreamer> streamers = Collections.synchronizedList(new ArrayList<>());
+    private final AtomicInteger closedStreams = new AtomicInteger();
+
+    private volatile boolean failing;
+
+    @Test
+    void continuationIsNotCached() {
+        final StandardJPAStreamer jpaStreamer = jpaStreamer(Runnable::run);
+        final List<StreamConfiguration<Film>> pages = new ArrayList<>();
+
+        pages.add(configuration);
+        for (int id = 1; id <= 3; id++) {
+            pages.add(configuration.continuingAfter(ContinuationToken.after(Film.ID, new Film(id))));
+        }
+        pages.forEach(page -> jpaStreamer.stream(page).close());
+
+        // Every page is streamed by the same Streamer, with the configuration of the page
+        assertEquals(1, streamers.size());
+        assertEquals(pages, streamers.get(0).configurations);
+
+        jpaStreamer.close();
+        assertEquals(1, streamers.get(0).closed);
+    }
+
+    @Test
+    void joinsAreCached() {
+        final StandardJPAStreamer jpaStreamer = jpaStreamer(Runnable::run);
+        final List<StreamConfiguration<Film>> configurations = Arrays.asList(
+            configuration,
+            configuration.joining(Film.ID),
+            configuration.joining(Film.ID)
+        );
+
+        configurations.forEach(c -> jpaStreamer.stream(c).close());
+
+        // Joined configurations share the Streamer of the entity, which outlives their Streams
+        assertEquals(1, streamers.size());
+        assertEquals(configurations, streamers.get(0).configurations);
+        assertEquals(0, streamers.get(0).closed);
+
+        jpaStreamer.close();
+        assertEquals(1, streamers.get(0).closed);
+    }
+
+    @Test
+    void async() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final StandardJPAStreamer jpaStreamer = jpaStreamer(executor);
+
+            assertEquals(6, jpaStreamer.async(configuration, s -> s.mapToInt(Film::getId).sum()).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(2, jpaStreamer.countAsync(configuration, s -> s.filter(f -> f.getId() > 1)).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertEquals(
+                Arrays.asList(3, 2, 1),
+                jpaStreamer.collectAsync(configuration, s -> s.sorted((a, b) -> b.getId() - a.getId()), toList())
+                    .get(TIMEOUT_SECONDS, TimeUnit.SECONDS)
+                    .stream()
+                    .map(Film::getId)
+                    .collect(toList())
+            );
+
+            final List<Integer> ids = Collections.synchronizedList(new ArrayList<>());
+            jpaStreamer.forEachAsync(configuration, s -> s, f -> ids.add(f.getId())).get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            assertEquals(Arrays.asList(1, 2, 3), ids);
+
+            // Each query closes its Stream once it has completed
+            assertEquals(4, closedStreams.get());
+            jpaStreamer.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void asyncFailure() throws Exception {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final StandardJPAStreamer jpaStreamer = jpaStreamer(executor);
+            failing = true;
+
+            final CompletableFuture<Long> count = jpaStreamer.countAsync(configuration, s -> s);
+
+            final ExecutionException exception = assertThrows(ExecutionException.class, () -> count.get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+            assertTrue(exception.getCause() instanceof PersistenceException);
+            assertEquals(1, closedStreams.get());
+            jpaStreamer.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void closeShutsDownDefaultExecutor() throws Exception {
+        final StandardJPAStreamer jpaStreamer = jpaStreamer(null);
+
+        assertEquals(3, jpaStreamer.countAsync(configuration, s -> s).get(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        jpaStreamer.close();
+
+        assertThrows(RejectedExecutionException.class, () -> jpaStreamer.countAsync(configuration, s -> s));
+    }
+
+    @Test
+    void closeKeepsProvidedExecutor() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            jpaStreamer(executor).close();
+
+            // The Executor provided by the user is not ours to shut down
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StandardJPAStreamer jpaStreamer(final Executor asyncExecutor) {
+        return new StandardJPAStreamer(entityManagerFactory(), false, asyncExecutor, this::createStreamer, new AnalyticsReporter() {
+            @Override
+            public void start() {}
+
+            @Override
+            public void stop() {}
+        });
+    }
+
+    private Streamer<?> createStreamer() {
+        final RecordingStreamer streamer = new RecordingStreamer();
+        streamers.add(streamer);
+        return streamer;
+    }
+
+    private Stream<Film> films() {
+        // Reading the results of a failing query throws
+        return Stream.of(1, 2, 3)
+            .filter(id -> {
+                if (failing) {
+                    throw new PersistenceException("The query failed");
+                }
+                return true;
+            })
+            .map(Film::new)
+            .onClose(closedStreams::incrementAndGet);
+    }
+
+    private static EntityManagerFactory entityManagerFactory() {
+        return (EntityManagerFactory) Proxy.newProxyInstance(
+            EntityManagerFactory.class.getClassLoader(),
+            new Class<?>[]{EntityManagerFactory.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getProperties": return Collections.emptyMap();
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return "EntityManagerFactoryStub";
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    private final class RecordingStreamer implements Streamer<Film> {
+
+        private final List<StreamConfiguration<Film>> configurations = new ArrayList<>();
+        private int closed;
+
+        @Override
+        public Stream<Film> stream(StreamConfiguration<Film> streamConfiguration) {
+            return manuallyClosedStream(streamConfiguration);
+        }
+
+        @Override
+        public Stream<Film> manuallyClosedStream(StreamConfiguration<Film> streamConfiguration) {
+            configurations.add(streamConfiguration);
+            return films();
+        }
+
+        @Override
+        public void close() {
+            closed++;
+        }
+    }
+
+    private static final class Film {
+
+        static final IntField<Film> ID = IntField.create(Film.class, "id", Film::getId, true);
+
+        private final int id;
+
+        Film(int id) {
+            this.id = id;
+        }
+
+        int getId() {
+            return id;
+        }
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.builder.standard.internal;
+
+import static com.speedment.jpastreamer.builder.standard.internal.StreamBuilderUtil.MSG_STREAM_LINKED_CONSUMED_OR_CLOSED;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.renderer.RenderResult;
+import com.speedment.jpastreamer.renderer.Renderer;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+/**
+ * Common state and rendering logic of the stream builders. Builders that are
+ * linked to each other (e.g. via {@code mapToInt()}) share the same pipeline
+ * so that the whole chain is rendered as a single query.
+ *
+ * @param <T> the entity type of the pipeline
+ * @param <S> the type of stream that is built
+ */
+abstract class BaseStreamBuilder<T, S extends BaseStream<?, S>> {
+
+    private final Factories factories;
+    private final Renderer renderer;
+    private final Pipeline<T> pipeline;
+    private final StreamConfiguration<T> streamConfiguration;
+
+    // Used to prevent improper reuse of builder
+    private boolean linkedConsumedOrClosed;
+
+    BaseStreamBuilder(final Factories factories,
+                      final StreamConfiguration<T> streamConfiguration,
+                      final Renderer renderer) {
+        this.factories = requireNonNull(factories);
+        this.renderer = requireNonNull(renderer);
+        this.streamConfiguration = requireNonNull(streamConfiguration);
+        this.pipeline = factories.pipeline().createPipeline(streamConfiguration.entityClass());
+    }
+
+    BaseStreamBuilder(final BaseStreamBuilder<T, ?> upstream) {
+        requireNonNull(upstream);
+        this.factories = upstream.factories;
+        this.renderer = upstream.renderer;
+        this.streamConfiguration = upstream.streamConfiguration;
+        this.pipeline = upstream.pipeline;
+    }
+
+    public boolean isParallel() {
+        return pipeline.isParallel();
+    }
+
+    public void close() {
+        // Close can be called even though the
+        // stream is consumed.
+        //
+        // The stream has never been started so
+        // we just run the close handlers.
+        // Todo: Make it Exception tolerant
+        closed();
+        StreamBuilderUtil.runAll(pipeline.closeHandlers());
+        pipeline.closeHandlers().clear(); // Only run once
+    }
+
+    final Factories factories() {
+        return factories;
+    }
+
+    final Pipeline<T> pipeline() {
+        return pipeline;
+    }
+
+    final void linked() {
+        linkedConsumedOrClosed = true;
+    }
+
+    private void consumed() {
+        linkedConsumedOrClosed = true;
+    }
+
+    private void closed() {
+        linkedConsumedOrClosed = true;
+    }
+
+    private void assertNotLikedConsumedOrClosed() {
+        if (linkedConsumedOrClosed)
+            throw new IllegalStateException(MSG_STREAM_LINKED_CONSUMED_OR_CLOSED);
+    }
+
+    final void add(final IntermediateOperation<S, ?> intermediateOperation) {
+        assertNotLikedConsumedOrClosed();
+        pipeline.intermediateOperations().add(intermediateOperation);
+    }
+
+    final void set(final TerminalOperation<S, ?> terminalOperation) {
+        assertNotLikedConsumedOrClosed();
+        consumed();
+        pipeline.terminatingOperation(terminalOperation);
+    }
+
+    private RenderResult<?> render() {
+        final RenderResult<?> renderResult = renderer.render(pipeline, streamConfiguration);
+        // Lazy terminal operations (e.g. iterator()) keep the rendered stream open until this stream is closed
+        pipeline.closeHandlers().add(renderResult.stream()::close);
+        return renderResult;
+    }
+
+    @SuppressWarnings("unchecked")
+    final <R> R renderAndThenApply() {
+        final RenderResult<?> renderResult = render();
+        return ((TerminalOperation<S, R>) renderResult.terminalOperation())
+                .function()
+                .apply((S) renderResult.stream());
+    }
+
+    @SuppressWarnings("unchecked")
+    final <R> R renderAndThenApplyAndClose() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            return ((TerminalOperation<S, R>) renderResult.terminalOperation())
+                    .function()
+                    .apply((S) stream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final long renderAndThenApplyAsLong() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            return ((TerminalOperation<S, Long>) renderResult.terminalOperation())
+                    .toLongFunction()
+                    .applyAsLong((S) stream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final int renderAndThenApplyAsInt() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            return ((TerminalOperation<S, Integer>) renderResult.terminalOperation())
+                    .toIntFunction()
+                    .applyAsInt((S) stream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final double renderAndThenApplyAsDouble() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            return ((TerminalOperation<S, Double>) renderResult.terminalOperation())
+                    .toDoubleFunction()
+                    .applyAsDouble((S) stream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final boolean renderAndThenTest() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            return ((TerminalOperation<S, Boolean>) renderResult.terminalOperation())
+                    .predicate()
+                    .test((S) stream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final void renderAndThenAccept() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            ((TerminalOperation<S, ?>) renderResult.terminalOperation())
+                    .consumer()
+                    .accept((S) stream);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    final long renderCount() {
+        final RenderResult<?> renderResult = render();
+        try (BaseStream<?, ?> stream = renderResult.stream()) {
+            if (renderResult.root().equals(Long.class)) {
+                return ((Stream<Long>) stream).mapToLong(i -> i).sum();
+            }
+
+            return ((TerminalOperation<S, Long>) renderResult.terminalOperation())
+                    .toLongFunction()
+                    .applyAsLong((S) stream);
+        }
+    }
+
+}
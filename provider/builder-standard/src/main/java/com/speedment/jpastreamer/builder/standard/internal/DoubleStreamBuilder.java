@@ -0,0 +1,262 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.builder.standard.internal;
+
+import com.speedment.jpastreamer.pipeline.intermediate.DoubleIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.DoubleTerminalOperationFactory;
+
+import java.util.DoubleSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A builder of {@code DoubleStream}s that records the operations in the pipeline of the
+ * upstream builder so that the mapped values are produced from a single query
+ * and the residual operations are replayed on a DoubleStream without boxing.
+ *
+ * @param <T> the entity type of the pipeline
+ */
+final class DoubleStreamBuilder<T> extends BaseStreamBuilder<T, DoubleStream> implements DoubleStream {
+
+    DoubleStreamBuilder(final BaseStreamBuilder<T, ?> upstream) {
+        super(upstream);
+    }
+
+    @Override
+    public DoubleStream filter(DoublePredicate predicate) {
+        add(iof().createFilter(predicate));
+        return this;
+    }
+
+    @Override
+    public DoubleStream map(DoubleUnaryOperator mapper) {
+        add(iof().createMap(mapper));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> Stream<U> mapToObj(DoubleFunction<? extends U> mapper) {
+        add(iof().createMapToObj(mapper));
+        linked();
+        return (Stream<U>) new StreamBuilder<>(this);
+    }
+
+    @Override
+    public IntStream mapToInt(DoubleToIntFunction mapper) {
+        add(iof().createMapToInt(mapper));
+        linked();
+        return new IntStreamBuilder<>(this);
+    }
+
+    @Override
+    public LongStream mapToLong(DoubleToLongFunction mapper) {
+        add(iof().createMapToLong(mapper));
+        linked();
+        return new LongStreamBuilder<>(this);
+    }
+
+    @Override
+    public DoubleStream flatMap(DoubleFunction<? extends DoubleStream> mapper) {
+        add(iof().createFlatMap(mapper));
+        return this;
+    }
+
+    @Override
+    public DoubleStream distinct() {
+        add(iof().createDistinct());
+        return this;
+    }
+
+    @Override
+    public DoubleStream sorted() {
+        add(iof().createSorted());
+        return this;
+    }
+
+    @Override
+    public DoubleStream peek(DoubleConsumer action) {
+        add(iof().createPeek(action));
+        return this;
+    }
+
+    @Override
+    public DoubleStream limit(long maxSize) {
+        add(iof().createLimit(maxSize));
+        return this;
+    }
+
+    @Override
+    public DoubleStream skip(long n) {
+        add(iof().createSkip(n));
+        return this;
+    }
+
+    @Override
+    public void forEach(DoubleConsumer action) {
+        set(tof().createForEach(action));
+        renderAndThenAccept();
+    }
+
+    @Override
+    public void forEachOrdered(DoubleConsumer action) {
+        set(tof().createForEachOrdered(action));
+        renderAndThenAccept();
+    }
+
+    @Override
+    public double[] toArray() {
+        set(tof().acquireToArray());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public double reduce(double identity, DoubleBinaryOperator op) {
+        set(tof().createReduce(identity, op));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalDouble reduce(DoubleBinaryOperator op) {
+        set(tof().createReduce(op));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, ObjDoubleConsumer<R> accumulator, BiConsumer<R, R> combiner) {
+        set(tof().createCollect(supplier, accumulator, combiner));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public double sum() {
+        set(tof().acquireSum());
+        return renderAndThenApplyAsDouble();
+    }
+
+    @Override
+    public OptionalDouble min() {
+        set(tof().acquireMin());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalDouble max() {
+        set(tof().acquireMax());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public long count() {
+        set(tof().acquireCount());
+        return renderCount();
+    }
+
+    @Override
+    public OptionalDouble average() {
+        set(tof().acquireAverage());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public DoubleSummaryStatistics summaryStatistics() {
+        set(tof().acquireSummaryStatistics());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public boolean anyMatch(DoublePredicate predicate) {
+        set(tof().createAnyMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public boolean allMatch(DoublePredicate predicate) {
+        set(tof().createAllMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public boolean noneMatch(DoublePredicate predicate) {
+        set(tof().createNoneMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public OptionalDouble findFirst() {
+        set(tof().acquireFindFirst());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalDouble findAny() {
+        set(tof().acquireFindAny());
+        return renderAndThenApplyAndClose();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Stream<Double> boxed() {
+        add(iof().createBoxed());
+        linked();
+        return (Stream<Double>) new StreamBuilder<>(this);
+    }
+
+    @Override
+    public DoubleStream sequential() {
+        pipeline().sequential();
+        return this;
+    }
+
+    @Override
+    public DoubleStream parallel() {
+        pipeline().parallel();
+        return this;
+    }
+
+    @Override
+    public DoubleStream unordered() {
+        pipeline().ordered(false);
+        return this;
+    }
+
+    @Override
+    public DoubleStream onClose(Runnable closeHandler) {
+        pipeline().closeHandlers().add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+        set(tof().acquireIterator());
+        return renderAndThenApply();
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        set(tof().acquireSpliterator());
+        return renderAndThenApply();
+    }
+
+    private DoubleIntermediateOperationFactory iof() {
+        return factories().doubleIntermediate();
+    }
+
+    private DoubleTerminalOperationFactory tof() {
+        return factories().doubleTerminal();
+    }
+
+}
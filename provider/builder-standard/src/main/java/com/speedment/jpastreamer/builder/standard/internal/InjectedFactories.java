@@ -14,7 +14,13 @@ package com.speedment.jpastreamer.builder.standard.internal;
 
 import com.speedment.jpastreamer.autoclose.AutoCloseFactory;
 import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.DoubleIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntIntermediateOperationFactory;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.LongIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.DoubleTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.IntTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.LongTerminalOperationFactory;
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
 import com.speedment.jpastreamer.renderer.Renderer;
 import com.speedment.jpastreamer.renderer.RendererFactory;
@@ -28,12 +34,24 @@ enum InjectedFactories implements Factories {
     private final PipelineFactory pipeline;
     private final IntermediateOperationFactory intermediate;
     private final TerminalOperationFactory terminal;
+    private final IntIntermediateOperationFactory intIntermediate;
+    private final LongIntermediateOperationFactory longIntermediate;
+    private final DoubleIntermediateOperationFactory doubleIntermediate;
+    private final IntTerminalOperationFactory intTerminal;
+    private final LongTerminalOperationFactory longTerminal;
+    private final DoubleTerminalOperationFactory doubleTerminal;
     private final AutoCloseFactory autoClose;
 
     InjectedFactories() {
         pipeline = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
         intermediate = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
         terminal = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+        intIntermediate = RootFactory.getOrThrow(IntIntermediateOperationFactory.class, ServiceLoader::load);
+        longIntermediate = RootFactory.getOrThrow(LongIntermediateOperationFactory.class, ServiceLoader::load);
+        doubleIntermediate = RootFactory.getOrThrow(DoubleIntermediateOperationFactory.class, ServiceLoader::load);
+        intTerminal = RootFactory.getOrThrow(IntTerminalOperationFactory.class, ServiceLoader::load);
+        longTerminal = RootFactory.getOrThrow(LongTerminalOperationFactory.class, ServiceLoader::load);
+        doubleTerminal = RootFactory.getOrThrow(DoubleTerminalOperationFactory.class, ServiceLoader::load);
         autoClose = RootFactory.getOrThrow(AutoCloseFactory.class, ServiceLoader::load);
     }
 
@@ -52,6 +70,36 @@ enum InjectedFactories implements Factories {
         return terminal;
     }
 
+    @Override
+    public IntIntermediateOperationFactory intIntermediate() {
+        return intIntermediate;
+    }
+
+    @Override
+    public LongIntermediateOperationFactory longIntermediate() {
+        return longIntermediate;
+    }
+
+    @Override
+    public DoubleIntermediateOperationFactory doubleIntermediate() {
+        return doubleIntermediate;
+    }
+
+    @Override
+    public IntTerminalOperationFactory intTerminal() {
+        return intTerminal;
+    }
+
+    @Override
+    public LongTerminalOperationFactory longTerminal() {
+        return longTerminal;
+    }
+
+    @Override
+    public DoubleTerminalOperationFactory doubleTerminal() {
+        return doubleTerminal;
+    }
+
     @Override
     public AutoCloseFactory autoClose() {
         return autoClose;
@@ -0,0 +1,277 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.builder.standard.internal;
+
+import com.speedment.jpastreamer.pipeline.intermediate.IntIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.IntTerminalOperationFactory;
+
+import java.util.IntSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A builder of {@code IntStream}s that records the operations in the pipeline of the
+ * upstream builder so that the mapped values are produced from a single query
+ * and the residual operations are replayed on an IntStream without boxing.
+ *
+ * @param <T> the entity type of the pipeline
+ */
+final class IntStreamBuilder<T> extends BaseStreamBuilder<T, IntStream> implements IntStream {
+
+    IntStreamBuilder(final BaseStreamBuilder<T, ?> upstream) {
+        super(upstream);
+    }
+
+    @Override
+    public IntStream filter(IntPredicate predicate) {
+        add(iof().createFilter(predicate));
+        return this;
+    }
+
+    @Override
+    public IntStream map(IntUnaryOperator mapper) {
+        add(iof().createMap(mapper));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> Stream<U> mapToObj(IntFunction<? extends U> mapper) {
+        add(iof().createMapToObj(mapper));
+        linked();
+        return (Stream<U>) new StreamBuilder<>(this);
+    }
+
+    @Override
+    public LongStream mapToLong(IntToLongFunction mapper) {
+        add(iof().createMapToLong(mapper));
+        linked();
+        return new LongStreamBuilder<>(this);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(IntToDoubleFunction mapper) {
+        add(iof().createMapToDouble(mapper));
+        linked();
+        return new DoubleStreamBuilder<>(this);
+    }
+
+    @Override
+    public IntStream flatMap(IntFunction<? extends IntStream> mapper) {
+        add(iof().createFlatMap(mapper));
+        return this;
+    }
+
+    @Override
+    public IntStream distinct() {
+        add(iof().createDistinct());
+        return this;
+    }
+
+    @Override
+    public IntStream sorted() {
+        add(iof().createSorted());
+        return this;
+    }
+
+    @Override
+    public IntStream peek(IntConsumer action) {
+        add(iof().createPeek(action));
+        return this;
+    }
+
+    @Override
+    public IntStream limit(long maxSize) {
+        add(iof().createLimit(maxSize));
+        return this;
+    }
+
+    @Override
+    public IntStream skip(long n) {
+        add(iof().createSkip(n));
+        return this;
+    }
+
+    @Override
+    public void forEach(IntConsumer action) {
+        set(tof().createForEach(action));
+        renderAndThenAccept();
+    }
+
+    @Override
+    public void forEachOrdered(IntConsumer action) {
+        set(tof().createForEachOrdered(action));
+        renderAndThenAccept();
+    }
+
+    @Override
+    public int[] toArray() {
+        set(tof().acquireToArray());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public int reduce(int identity, IntBinaryOperator op) {
+        set(tof().createReduce(identity, op));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalInt reduce(IntBinaryOperator op) {
+        set(tof().createReduce(op));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, ObjIntConsumer<R> accumulator, BiConsumer<R, R> combiner) {
+        set(tof().createCollect(supplier, accumulator, combiner));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public int sum() {
+        set(tof().acquireSum());
+        return renderAndThenApplyAsInt();
+    }
+
+    @Override
+    public OptionalInt min() {
+        set(tof().acquireMin());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalInt max() {
+        set(tof().acquireMax());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public long count() {
+        set(tof().acquireCount());
+        return renderCount();
+    }
+
+    @Override
+    public OptionalDouble average() {
+        set(tof().acquireAverage());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public IntSummaryStatistics summaryStatistics() {
+        set(tof().acquireSummaryStatistics());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public boolean anyMatch(IntPredicate predicate) {
+        set(tof().createAnyMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public boolean allMatch(IntPredicate predicate) {
+        set(tof().createAllMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public boolean noneMatch(IntPredicate predicate) {
+        set(tof().createNoneMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public OptionalInt findFirst() {
+        set(tof().acquireFindFirst());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalInt findAny() {
+        set(tof().acquireFindAny());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public LongStream asLongStream() {
+        add(iof().createAsLongStream());
+        linked();
+        return new LongStreamBuilder<>(this);
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        add(iof().createAsDoubleStream());
+        linked();
+        return new DoubleStreamBuilder<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Stream<Integer> boxed() {
+        add(iof().createBoxed());
+        linked();
+        return (Stream<Integer>) new StreamBuilder<>(this);
+    }
+
+    @Override
+    public IntStream sequential() {
+        pipeline().sequential();
+        return this;
+    }
+
+    @Override
+    public IntStream parallel() {
+        pipeline().parallel();
+        return this;
+    }
+
+    @Override
+    public IntStream unordered() {
+        pipeline().ordered(false);
+        return this;
+    }
+
+    @Override
+    public IntStream onClose(Runnable closeHandler) {
+        pipeline().closeHandlers().add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+        set(tof().acquireIterator());
+        return renderAndThenApply();
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        set(tof().acquireSpliterator());
+        return renderAndThenApply();
+    }
+
+    private IntIntermediateOperationFactory iof() {
+        return factories().intIntermediate();
+    }
+
+    private IntTerminalOperationFactory tof() {
+        return factories().intTerminal();
+    }
+
+}
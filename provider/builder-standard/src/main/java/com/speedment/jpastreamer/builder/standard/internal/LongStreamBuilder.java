@@ -0,0 +1,270 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.builder.standard.internal;
+
+import com.speedment.jpastreamer.pipeline.intermediate.LongIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.LongTerminalOperationFactory;
+
+import java.util.LongSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.*;
+import java.util.stream.*;
+
+/**
+ * A builder of {@code LongStream}s that records the operations in the pipeline of the
+ * upstream builder so that the mapped values are produced from a single query
+ * and the residual operations are replayed on a LongStream without boxing.
+ *
+ * @param <T> the entity type of the pipeline
+ */
+final class LongStreamBuilder<T> extends BaseStreamBuilder<T, LongStream> implements LongStream {
+
+    LongStreamBuilder(final BaseStreamBuilder<T, ?> upstream) {
+        super(upstream);
+    }
+
+    @Override
+    public LongStream filter(LongPredicate predicate) {
+        add(iof().createFilter(predicate));
+        return this;
+    }
+
+    @Override
+    public LongStream map(LongUnaryOperator mapper) {
+        add(iof().createMap(mapper));
+        return this;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <U> Stream<U> mapToObj(LongFunction<? extends U> mapper) {
+        add(iof().createMapToObj(mapper));
+        linked();
+        return (Stream<U>) new StreamBuilder<>(this);
+    }
+
+    @Override
+    public IntStream mapToInt(LongToIntFunction mapper) {
+        add(iof().createMapToInt(mapper));
+        linked();
+        return new IntStreamBuilder<>(this);
+    }
+
+    @Override
+    public DoubleStream mapToDouble(LongToDoubleFunction mapper) {
+        add(iof().createMapToDouble(mapper));
+        linked();
+        return new DoubleStreamBuilder<>(this);
+    }
+
+    @Override
+    public LongStream flatMap(LongFunction<? extends LongStream> mapper) {
+        add(iof().createFlatMap(mapper));
+        return this;
+    }
+
+    @Override
+    public LongStream distinct() {
+        add(iof().createDistinct());
+        return this;
+    }
+
+    @Override
+    public LongStream sorted() {
+        add(iof().createSorted());
+        return this;
+    }
+
+    @Override
+    public LongStream peek(LongConsumer action) {
+        add(iof().createPeek(action));
+        return this;
+    }
+
+    @Override
+    public LongStream limit(long maxSize) {
+        add(iof().createLimit(maxSize));
+        return this;
+    }
+
+    @Override
+    public LongStream skip(long n) {
+        add(iof().createSkip(n));
+        return this;
+    }
+
+    @Override
+    public void forEach(LongConsumer action) {
+        set(tof().createForEach(action));
+        renderAndThenAccept();
+    }
+
+    @Override
+    public void forEachOrdered(LongConsumer action) {
+        set(tof().createForEachOrdered(action));
+        renderAndThenAccept();
+    }
+
+    @Override
+    public long[] toArray() {
+        set(tof().acquireToArray());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public long reduce(long identity, LongBinaryOperator op) {
+        set(tof().createReduce(identity, op));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalLong reduce(LongBinaryOperator op) {
+        set(tof().createReduce(op));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public <R> R collect(Supplier<R> supplier, ObjLongConsumer<R> accumulator, BiConsumer<R, R> combiner) {
+        set(tof().createCollect(supplier, accumulator, combiner));
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public long sum() {
+        set(tof().acquireSum());
+        return renderAndThenApplyAsLong();
+    }
+
+    @Override
+    public OptionalLong min() {
+        set(tof().acquireMin());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalLong max() {
+        set(tof().acquireMax());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public long count() {
+        set(tof().acquireCount());
+        return renderCount();
+    }
+
+    @Override
+    public OptionalDouble average() {
+        set(tof().acquireAverage());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public LongSummaryStatistics summaryStatistics() {
+        set(tof().acquireSummaryStatistics());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public boolean anyMatch(LongPredicate predicate) {
+        set(tof().createAnyMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public boolean allMatch(LongPredicate predicate) {
+        set(tof().createAllMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public boolean noneMatch(LongPredicate predicate) {
+        set(tof().createNoneMatch(predicate));
+        return renderAndThenTest();
+    }
+
+    @Override
+    public OptionalLong findFirst() {
+        set(tof().acquireFindFirst());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public OptionalLong findAny() {
+        set(tof().acquireFindAny());
+        return renderAndThenApplyAndClose();
+    }
+
+    @Override
+    public DoubleStream asDoubleStream() {
+        add(iof().createAsDoubleStream());
+        linked();
+        return new DoubleStreamBuilder<>(this);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public Stream<Long> boxed() {
+        add(iof().createBoxed());
+        linked();
+        return (Stream<Long>) new StreamBuilder<>(this);
+    }
+
+    @Override
+    public LongStream sequential() {
+        pipeline().sequential();
+        return this;
+    }
+
+    @Override
+    public LongStream parallel() {
+        pipeline().parallel();
+        return this;
+    }
+
+    @Override
+    public LongStream unordered() {
+        pipeline().ordered(false);
+        return this;
+    }
+
+    @Override
+    public LongStream onClose(Runnable closeHandler) {
+        pipeline().closeHandlers().add(closeHandler);
+        return this;
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        set(tof().acquireIterator());
+        return renderAndThenApply();
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        set(tof().acquireSpliterator());
+        return renderAndThenApply();
+    }
+
+    private LongIntermediateOperationFactory iof() {
+        return factories().longIntermediate();
+    }
+
+    private LongTerminalOperationFactory tof() {
+        return factories().longTerminal();
+    }
+
+}
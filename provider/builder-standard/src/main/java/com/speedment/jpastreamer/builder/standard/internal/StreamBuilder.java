@@ -12,15 +12,8 @@
  */
 package com.speedment.jpastreamer.builder.standard.internal;
 
-import static com.speedment.jpastreamer.builder.standard.internal.StreamBuilderUtil.MSG_STREAM_LINKED_CONSUMED_OR_CLOSED;
-import static java.util.Objects.requireNonNull;
-
-import com.speedment.jpastreamer.pipeline.Pipeline;
-import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
-import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
-import com.speedment.jpastreamer.renderer.RenderResult;
 import com.speedment.jpastreamer.renderer.Renderer;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
 
@@ -45,25 +38,16 @@ import java.util.stream.IntStream;
 import java.util.stream.LongStream;
 import java.util.stream.Stream;
 
-final class StreamBuilder<T> implements Stream<T> {
-
-    private final Factories factories;
-    private final Renderer renderer;
-    private final Pipeline<T> pipeline;
-    private final StreamConfiguration<T> streamConfiguration;
-    private final BaseStreamSupport support;
-
-    // Used to prevent improper reuse of builder
-    private boolean linkedConsumedOrClosed;
+final class StreamBuilder<T> extends BaseStreamBuilder<T, Stream<T>> implements Stream<T> {
 
     StreamBuilder(final Factories factories,
                   final StreamConfiguration<T> streamConfiguration,
                   final Renderer renderer) {
-        this.factories = requireNonNull(factories);
-        this.renderer = requireNonNull(renderer);
-        this.streamConfiguration = requireNonNull(streamConfiguration);
-        this.pipeline = factories.pipeline().createPipeline(streamConfiguration.entityClass());
-        support = new BaseStreamSupport(pipeline);
+        super(factories, streamConfiguration, renderer);
+    }
+
+    StreamBuilder(final BaseStreamBuilder<T, ?> upstream) {
+        super(upstream);
     }
 
     @Override
@@ -83,21 +67,21 @@ final class StreamBuilder<T> implements Stream<T> {
     public IntStream mapToInt(ToIntFunction<? super T> mapper) {
         add(iof().createMapToInt(mapper));
         linked();
-        throw new UnsupportedOperationException();
+        return new IntStreamBuilder<>(this);
     }
 
     @Override
     public LongStream mapToLong(ToLongFunction<? super T> mapper) {
         add(iof().createMapToLong(mapper));
         linked();
-        throw new UnsupportedOperationException();
+        return new LongStreamBuilder<>(this);
     }
 
     @Override
     public DoubleStream mapToDouble(ToDoubleFunction<? super T> mapper) {
         add(iof().createMapToDouble(mapper));
         linked();
-        throw new UnsupportedOperationException();
+        return new DoubleStreamBuilder<>(this);
     }
 
     @SuppressWarnings("unchecked")
@@ -111,21 +95,21 @@ final class StreamBuilder<T> implements Stream<T> {
     public IntStream flatMapToInt(Function<? super T, ? extends IntStream> mapper) {
         add(iof().createFlatMapToInt(mapper));
         linked();
-        throw new UnsupportedOperationException();
+        return new IntStreamBuilder<>(this);
     }
 
     @Override
     public LongStream flatMapToLong(Function<? super T, ? extends LongStream> mapper) {
         add(iof().createFlatMapToLong(mapper));
         linked();
-        throw new UnsupportedOperationException();
+        return new LongStreamBuilder<>(this);
     }
 
     @Override
     public DoubleStream flatMapToDouble(Function<? super T, ? extends DoubleStream> mapper) {
         add(iof().createFlatMapToDouble(mapper));
         linked();
-        throw new UnsupportedOperationException();
+        return new DoubleStreamBuilder<>(this);
     }
 
     @Override
@@ -179,55 +163,55 @@ final class StreamBuilder<T> implements Stream<T> {
     @Override
     public Object[] toArray() {
         set(tof().acquireToArray());
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public <A> A[] toArray(IntFunction<A[]> generator) {
         set(tof().createToArray(generator));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public T reduce(T identity, BinaryOperator<T> accumulator) {
         set(tof().createReduce(identity, accumulator));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public Optional<T> reduce(BinaryOperator<T> accumulator) {
         set(tof().createReduce(accumulator));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public <U> U reduce(U identity, BiFunction<U, ? super T, U> accumulator, BinaryOperator<U> combiner) {
         set(tof().createReduce(identity, accumulator, combiner));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public <R> R collect(Supplier<R> supplier, BiConsumer<R, ? super T> accumulator, BiConsumer<R, R> combiner) {
         set(tof().createCollect(supplier, accumulator, combiner));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public <R, A> R collect(Collector<? super T, A, R> collector) {
         set(tof().createCollect(collector));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public Optional<T> min(Comparator<? super T> comparator) {
         set(tof().createMin(comparator));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public Optional<T> max(Comparator<? super T> comparator) {
         set(tof().createMax(comparator));
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
@@ -257,13 +241,13 @@ final class StreamBuilder<T> implements Stream<T> {
     @Override
     public Optional<T> findFirst() {
         set(tof().acquireFindFirst());
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
     public Optional<T> findAny() {
         set(tof().acquireFindAny());
-        return renderAndThenApply();
+        return renderAndThenApplyAndClose();
     }
 
     @Override
@@ -278,128 +262,36 @@ final class StreamBuilder<T> implements Stream<T> {
         return renderAndThenApply();
     }
 
-    @Override
-    public boolean isParallel() {
-        return pipeline.isParallel();
-    }
-
     @Override
     public Stream<T> sequential() {
-        pipeline.parallel();
+        pipeline().sequential();
         return this;
     }
 
     @Override
     public Stream<T> parallel() {
-        pipeline.parallel();
+        pipeline().parallel();
         return this;
     }
 
     @Override
     public Stream<T> unordered() {
-        pipeline.ordered(false);
+        pipeline().ordered(false);
         return this;
     }
 
     @Override
     public Stream<T> onClose(Runnable closeHandler) {
-        pipeline.closeHandlers().add(closeHandler);
+        pipeline().closeHandlers().add(closeHandler);
         return this;
     }
 
-    @Override
-    public void close() {
-        // Close can be called even though the
-        // stream is consumed.
-        //
-        // The stream has never been started so
-        // we just run the close handlers.
-        // Todo: Make it Exception tolerant
-        closed();
-        StreamBuilderUtil.runAll(pipeline.closeHandlers());
-        pipeline.closeHandlers().clear(); // Only run once
-    }
-
-    private void linked() {
-        linkedConsumedOrClosed = true;
-    }
-
-    private void consumed() {
-        linkedConsumedOrClosed = true;
-    }
-
-    private void closed() {
-        linkedConsumedOrClosed = true;
-    }
-
-    private void assertNotLikedConsumedOrClosed() {
-        if (linkedConsumedOrClosed)
-            throw new IllegalStateException(MSG_STREAM_LINKED_CONSUMED_OR_CLOSED);
-    }
-
     private IntermediateOperationFactory iof() {
-        return factories.intermediate();
+        return factories().intermediate();
     }
 
     private TerminalOperationFactory tof() {
-        return factories.terminal();
-    }
-
-    private void add(final IntermediateOperation<Stream<T>, ?> intermediateOperation) {
-        assertNotLikedConsumedOrClosed();
-        pipeline.intermediateOperations().add(intermediateOperation);
-    }
-
-    private void set(final TerminalOperation<Stream<T>, ?> terminalOperation) {
-        assertNotLikedConsumedOrClosed();
-        consumed();
-        pipeline.terminatingOperation(terminalOperation);
-    }
-
-    @SuppressWarnings("unchecked")
-    private <R> R renderAndThenApply() {
-        final RenderResult<?> renderResult = renderer.render(pipeline, streamConfiguration);
-        return ((TerminalOperation<Stream<T>, R>) renderResult.terminalOperation())
-                .function()
-                .apply((Stream<T>) renderResult.stream());
-    }
-
-    @SuppressWarnings("unchecked")
-    private long renderAndThenApplyAsLong() {
-        final RenderResult<?> renderResult = renderer.render(pipeline, streamConfiguration);
-        return ((TerminalOperation<Stream<T>, Long>) renderResult.terminalOperation())
-                .toLongFunction()
-                .applyAsLong((Stream<T>) renderResult.stream());
-    }
-
-    @SuppressWarnings("unchecked")
-    private boolean renderAndThenTest() {
-        final RenderResult<?> renderResult = renderer.render(pipeline, streamConfiguration);
-        return ((TerminalOperation<Stream<T>, Long>) renderResult.terminalOperation())
-                .predicate()
-                .test((Stream<T>) renderResult.stream());
-    }
-
-    @SuppressWarnings("unchecked")
-    private void renderAndThenAccept() {
-        final RenderResult<?> renderResult = renderer.render(pipeline, streamConfiguration);
-        ((TerminalOperation<Stream<T>, ?>) renderResult.terminalOperation())
-                .consumer()
-                .accept((Stream<T>) renderResult.stream());
+        return factories().terminal();
     }
 
-    @SuppressWarnings("unchecked")
-    private long renderCount() {
-        final RenderResult<?> renderResult = renderer.render(pipeline, streamConfiguration);
-
-        if (renderResult.root().equals(Long.class)) {
-            return renderResult.stream().mapToLong(i -> (long) i).sum();
-        }
-
-        return ((TerminalOperation<Stream<T>, Long>) renderResult.terminalOperation())
-                .toLongFunction()
-                .applyAsLong((Stream<T>) renderResult.stream());
-    }
-
-
 }
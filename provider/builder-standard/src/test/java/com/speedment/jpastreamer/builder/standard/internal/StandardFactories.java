@@ -14,7 +14,13 @@ package com.speedment.jpastreamer.builder.standard.internal;
 
 import com.speedment.jpastreamer.autoclose.AutoCloseFactory;
 import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.DoubleIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntIntermediateOperationFactory;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.LongIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.DoubleTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.IntTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.LongTerminalOperationFactory;
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
 import com.speedment.jpastreamer.renderer.RendererFactory;
 
@@ -25,15 +31,33 @@ final class StandardFactories implements Factories {
     private final PipelineFactory pipeline;
     private final IntermediateOperationFactory intermediate;
     private final TerminalOperationFactory terminal;
+    private final IntIntermediateOperationFactory intIntermediate;
+    private final LongIntermediateOperationFactory longIntermediate;
+    private final DoubleIntermediateOperationFactory doubleIntermediate;
+    private final IntTerminalOperationFactory intTerminal;
+    private final LongTerminalOperationFactory longTerminal;
+    private final DoubleTerminalOperationFactory doubleTerminal;
     private final AutoCloseFactory autoClose;
 
     public StandardFactories(final PipelineFactory pipeline,
                              final IntermediateOperationFactory intermediate,
                              final TerminalOperationFactory terminal,
+                             final IntIntermediateOperationFactory intIntermediate,
+                             final LongIntermediateOperationFactory longIntermediate,
+                             final DoubleIntermediateOperationFactory doubleIntermediate,
+                             final IntTerminalOperationFactory intTerminal,
+                             final LongTerminalOperationFactory longTerminal,
+                             final DoubleTerminalOperationFactory doubleTerminal,
                              final AutoCloseFactory autoClose) {
         this.pipeline = requireNonNull(pipeline);
         this.intermediate = requireNonNull(intermediate);
         this.terminal = requireNonNull(terminal);
+        this.intIntermediate = requireNonNull(intIntermediate);
+        this.longIntermediate = requireNonNull(longIntermediate);
+        this.doubleIntermediate = requireNonNull(doubleIntermediate);
+        this.intTerminal = requireNonNull(intTerminal);
+        this.longTerminal = requireNonNull(longTerminal);
+        this.doubleTerminal = requireNonNull(doubleTerminal);
         this.autoClose = requireNonNull(autoClose);
     }
 
@@ -52,6 +76,36 @@ final class StandardFactories implements Factories {
         return terminal;
     }
 
+    @Override
+    public IntIntermediateOperationFactory intIntermediate() {
+        return intIntermediate;
+    }
+
+    @Override
+    public LongIntermediateOperationFactory longIntermediate() {
+        return longIntermediate;
+    }
+
+    @Override
+    public DoubleIntermediateOperationFactory doubleIntermediate() {
+        return doubleIntermediate;
+    }
+
+    @Override
+    public IntTerminalOperationFactory intTerminal() {
+        return intTerminal;
+    }
+
+    @Override
+    public LongTerminalOperationFactory longTerminal() {
+        return longTerminal;
+    }
+
+    @Override
+    public DoubleTerminalOperationFactory doubleTerminal() {
+        return doubleTerminal;
+    }
+
     @Override
     public AutoCloseFactory autoClose() {
         return autoClose;
@@ -12,9 +12,14 @@
  */
 package com.speedment.jpastreamer.builder.standard.internal;
 
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
 import com.speedment.jpastreamer.pipeline.Pipeline;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
@@ -23,12 +28,18 @@ import com.speedment.jpastreamer.renderer.Renderer;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
 import org.junit.jupiter.api.Test;
 
+import javax.persistence.FlushModeType;
 import javax.persistence.criteria.JoinType;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.function.Supplier;
 import java.util.stream.BaseStream;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 class StreamBuilderTest {
@@ -65,6 +76,17 @@ class StreamBuilderTest {
 
     }
 
+    @Test
+    void parallelAndSequential() {
+        final Renderer renderer = new MockRenderer();
+        final StreamConfiguration<String> streamConfiguration = new MockStreamConfiguration<>(String.class);
+        final Stream<String> builder = new StreamBuilder<>(FACTORIES, streamConfiguration, renderer);
+
+        assertFalse(builder.isParallel());
+        assertTrue(builder.parallel().isParallel());
+        assertFalse(builder.sequential().isParallel());
+    }
+
     @Test
     void consumed() {
         assertThrows(IllegalStateException.class, () -> {
@@ -84,12 +106,52 @@ class StreamBuilderTest {
         });
     }
 
+    @Test
+    void mapToInt() {
+        final Renderer renderer = new MockRenderer();
+        final StreamConfiguration<String> streamConfiguration = new MockStreamConfiguration<>(String.class);
+        final Stream<String> builder = new StreamBuilder<>(FACTORIES, streamConfiguration, renderer);
+
+        final int sum = builder
+                .mapToInt(String::length)
+                .map(i -> i * 2)
+                .sum();
+
+        assertEquals(6, sum);
+    }
+
+    @Test
+    void primitiveConversions() {
+        final Renderer renderer = new MockRenderer();
+        final StreamConfiguration<String> streamConfiguration = new MockStreamConfiguration<>(String.class);
+        final Stream<String> builder = new StreamBuilder<>(FACTORIES, streamConfiguration, renderer);
+
+        final List<String> result = builder
+                .mapToInt(s -> s.charAt(0))
+                .asLongStream()
+                .asDoubleStream()
+                .mapToObj(d -> Double.toString(d))
+                .collect(toList());
+
+        assertEquals(Arrays.asList("65.0", "66.0", "67.0"), result);
+    }
+
+    @Test
+    void primitiveLinked() {
+        final Renderer renderer = new MockRenderer();
+        final StreamConfiguration<String> streamConfiguration = new MockStreamConfiguration<>(String.class);
+        final Stream<String> builder = new StreamBuilder<>(FACTORIES, streamConfiguration, renderer);
+
+        final IntStream intStream = builder.mapToInt(String::length);
+
+        assertThrows(IllegalStateException.class, () -> builder.mapToLong(String::length));
+        assertEquals(OptionalInt.of(1), intStream.max());
+    }
+
     private static final class MockRenderer implements Renderer {
 
         private final Supplier<Stream<String>> source = () -> Stream.of("A", "B", "C");
 
-        // Only works for Stream and not IntStream, etc.
-
         @Override
         public <T> RenderResult<T> render(Pipeline<T> pipeline, StreamConfiguration<T> streamConfiguration) {
 
@@ -97,7 +159,7 @@ class StreamBuilderTest {
 
             return new MyRenderResult<>(
                 pipeline.root(),
-                (Stream<T>) replay(source.get(), (Pipeline<String>)pipeline),
+                replay(source.get(), (Pipeline<String>)pipeline),
                 pipeline.terminatingOperation()
             );
         }
@@ -119,12 +181,12 @@ class StreamBuilderTest {
     private static final class MyRenderResult<T> implements RenderResult<T> {
 
         private final Class<T> returnType;
-        private final Stream<T> stream;
+        private final BaseStream<?, ?> stream;
         private final TerminalOperation<?, ?> terminalOperation;
 
         public MyRenderResult(
             final Class<T> returnType,
-            final Stream<T> stream,
+            final BaseStream<?, ?> stream,
             final TerminalOperation<?, ?> terminalOperation
         ) {
             this.stream = stream;
@@ -139,7 +201,7 @@ class StreamBuilderTest {
         }
 
         @Override
-        public Stream<T> stream() {
+        public BaseStream<?, ?> stream() {
             return stream;
         }
 
@@ -171,6 +233,101 @@ class StreamBuilderTest {
         public StreamConfiguration<T> joining(Field<T> field, JoinType joinType) {
             throw new UnsupportedOperationException();
         }
+
+        @Override
+        public boolean isReadOnly() {
+            return false;
+        }
+
+        @Override
+        public int readOnlyWindowSize() {
+            return 0;
+        }
+
+        @Override
+        public StreamConfiguration<T> readOnly(int windowSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean isPrefetching() {
+            return false;
+        }
+
+        @Override
+        public int prefetchBufferSize() {
+            return 0;
+        }
+
+        @Override
+        public StreamConfiguration<T> prefetching(int bufferSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public OptionalInt fetchSize() {
+            return OptionalInt.empty();
+        }
+
+        @Override
+        public StreamConfiguration<T> withFetchSize(int fetchSize) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Duration> queryTimeout() {
+            return Optional.empty();
+        }
+
+        @Override
+        public StreamConfiguration<T> withQueryTimeout(Duration timeout) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Boolean> cacheable() {
+            return Optional.empty();
+        }
+
+        @Override
+        public StreamConfiguration<T> withCacheable(boolean cacheable) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<FlushModeType> flushMode() {
+            return Optional.empty();
+        }
+
+        @Override
+        public StreamConfiguration<T> withFlushMode(FlushModeType flushMode) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<Field<T>> partitionField() {
+            return Optional.empty();
+        }
+
+        @Override
+        public int partitions() {
+            return 1;
+        }
+
+        @Override
+        public StreamConfiguration<T> partitionedBy(HasComparableOperators<T, ?> field, int partitions) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Optional<ContinuationToken<T>> continuation() {
+            return Optional.empty();
+        }
+
+        @Override
+        public StreamConfiguration<T> continuingAfter(ContinuationToken<T> token) {
+            throw new UnsupportedOperationException();
+        }
     }
 
 }
\ No newline at end of file
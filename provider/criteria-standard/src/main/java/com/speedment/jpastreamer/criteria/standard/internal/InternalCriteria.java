@@ -12,17 +12,24 @@
  */
 package com.speedment.jpastreamer.criteria.standard.internal;
 
+import static java.util.Objects.requireNonNull;
+
 import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaParameter;
 
 import javax.persistence.criteria.CriteriaBuilder;
 import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 public final class InternalCriteria<ENTITY, RETURN> implements Criteria<ENTITY, RETURN> {
 
     private final CriteriaBuilder builder;
     private final CriteriaQuery<RETURN> query;
     private final Root<ENTITY> root;
+    private final List<CriteriaParameter<ENTITY>> parameters;
 
     public InternalCriteria(
         final CriteriaBuilder builder,
@@ -32,6 +39,7 @@ public final class InternalCriteria<ENTITY, RETURN> implements Criteria<ENTITY,
         this.builder = builder;
         this.query = query;
         this.root = root;
+        this.parameters = new ArrayList<>();
     }
 
     @Override
@@ -48,4 +56,14 @@ public final class InternalCriteria<ENTITY, RETURN> implements Criteria<ENTITY,
     public Root<ENTITY> getRoot() {
         return root;
     }
+
+    @Override
+    public List<CriteriaParameter<ENTITY>> getParameters() {
+        return Collections.unmodifiableList(parameters);
+    }
+
+    @Override
+    public void addParameter(final CriteriaParameter<ENTITY> parameter) {
+        parameters.add(requireNonNull(parameter));
+    }
 }
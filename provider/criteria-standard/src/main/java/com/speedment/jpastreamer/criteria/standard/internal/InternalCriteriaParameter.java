@@ -0,0 +1,47 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.criteria.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.criteria.CriteriaParameter;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+
+import javax.persistence.Query;
+import java.util.function.BiConsumer;
+
+public final class InternalCriteriaParameter<ENTITY> implements CriteriaParameter<ENTITY> {
+
+    private final FieldPredicate<ENTITY> source;
+    private final BiConsumer<Query, FieldPredicate<?>> binder;
+
+    public InternalCriteriaParameter(
+        final FieldPredicate<ENTITY> source,
+        final BiConsumer<Query, FieldPredicate<?>> binder
+    ) {
+        this.source = requireNonNull(source);
+        this.binder = requireNonNull(binder);
+    }
+
+    @Override
+    public FieldPredicate<ENTITY> getSource() {
+        return source;
+    }
+
+    @Override
+    public void bind(final Query query, final FieldPredicate<?> fieldPredicate) {
+        requireNonNull(query);
+        requireNonNull(fieldPredicate);
+        binder.accept(query, fieldPredicate);
+    }
+}
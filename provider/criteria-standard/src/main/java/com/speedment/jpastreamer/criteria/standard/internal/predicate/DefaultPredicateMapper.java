@@ -15,6 +15,8 @@ package com.speedment.jpastreamer.criteria.standard.internal.predicate;
 import static java.util.Objects.requireNonNull;
 
 import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaParameter;
+import com.speedment.jpastreamer.criteria.standard.internal.InternalCriteriaParameter;
 import com.speedment.jpastreamer.criteria.standard.internal.util.Cast;
 import com.speedment.jpastreamer.exception.JPAStreamerException;
 import com.speedment.jpastreamer.field.Field;
@@ -25,8 +27,13 @@ import com.speedment.jpastreamer.field.trait.HasArg0;
 import com.speedment.jpastreamer.field.trait.HasArg1;
 
 import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.ParameterExpression;
 import javax.persistence.criteria.Path;
 import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 import java.util.function.BiFunction;
 import java.util.function.Function;
@@ -89,9 +96,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().equal(criteria.getRoot().get(column), value),
-            Object.class
+            (column, parameter) -> criteria.getBuilder().equal(criteria.getRoot().get(column), parameter),
+            Object.class,
+            Function.identity()
         );
     }
 
@@ -100,9 +109,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notEqual(criteria.getRoot().get(column), value),
-            Object.class
+            (column, parameter) -> criteria.getBuilder().notEqual(criteria.getRoot().get(column), parameter),
+            Object.class,
+            Function.identity()
         );
     }
 
@@ -112,9 +123,10 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return singleBoundRangeComparisonMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().lt(criteria.getRoot().get(column), value),
-            (column, value) -> criteria.getBuilder().lessThan(criteria.getRoot().get(column), value)
+            (column, parameter) -> criteria.getBuilder().lt(criteria.getRoot().get(column), parameter),
+            (column, parameter) -> criteria.getBuilder().lessThan(criteria.getRoot().get(column), parameter)
         );
     }
 
@@ -124,9 +136,10 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return singleBoundRangeComparisonMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().le(criteria.getRoot().get(column), value),
-            (column, value) -> criteria.getBuilder().lessThanOrEqualTo(criteria.getRoot().get(column), value)
+            (column, parameter) -> criteria.getBuilder().le(criteria.getRoot().get(column), parameter),
+            (column, parameter) -> criteria.getBuilder().lessThanOrEqualTo(criteria.getRoot().get(column), parameter)
         );
     }
 
@@ -135,14 +148,15 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final Criteria<ENTITY, ?> criteria,
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
-        return doubleBoundRangeComparisonMapping(
+        return this.<ENTITY, S>doubleBoundRangeComparisonMapping(
+            criteria,
             fieldPredicate,
             (column, value) -> {
                 final CriteriaBuilder builder = criteria.getBuilder();
                 final Path<S> columnPath = criteria.getRoot().get(column);
 
-                final S first = (S) value.getLowerBound();
-                final S second = (S) value.getUpperBound();
+                final Expression<S> first = value.getLowerBound();
+                final Expression<S> second = value.getUpperBound();
 
                 final Inclusion inclusion = value.getInclusion();
 
@@ -200,14 +214,15 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final Criteria<ENTITY, ?> criteria,
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
-        return doubleBoundRangeComparisonMapping(
+        return this.<ENTITY, S>doubleBoundRangeComparisonMapping(
+            criteria,
             fieldPredicate,
             (column, value) -> {
                 final CriteriaBuilder builder = criteria.getBuilder();
                 final Path<S> columnPath = criteria.getRoot().get(column);
 
-                final S first = (S) value.getLowerBound();
-                final S second = (S) value.getUpperBound();
+                final Expression<S> first = value.getLowerBound();
+                final Expression<S> second = value.getUpperBound();
 
                 final Inclusion inclusion = value.getInclusion();
 
@@ -265,22 +280,40 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         );
     }
 
+    @SuppressWarnings("unchecked")
     private <ENTITY> Predicate in(
         final Criteria<ENTITY, ?> criteria,
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
-        final Object value = Cast.castOrFail(fieldPredicate, HasArg0.class).get0();
+        final Set<?> set = inValues(fieldPredicate);
 
-        if (!(value instanceof Set)) {
-            throw new JPAStreamerException();
+        if (set.isEmpty()) {
+            return criteria.getBuilder().disjunction();
         }
 
         final Field<ENTITY> field = fieldPredicate.getField();
         final String column = field.columnName();
 
-        final Set<?> set = (Set<?>) value;
+        final Class<Object> type = (Class<Object>) set.stream()
+            .filter(Objects::nonNull)
+            .findFirst()
+            .<Class<?>>map(DefaultPredicateMapper::parameterType)
+            .orElse(Object.class);
 
-        return criteria.getRoot().get(column).in(set);
+        // Pads the number of parameters so that only a few distinct statements are produced
+        final List<ParameterExpression<Object>> parameters = new ArrayList<>();
+        for (int i = 0; i < CriteriaParameter.inListSize(set.size()); i++) {
+            parameters.add(criteria.getBuilder().parameter(type));
+        }
+
+        criteria.addParameter(new InternalCriteriaParameter<>(fieldPredicate, (query, source) -> {
+            final Object[] values = inValues(source).toArray();
+            for (int i = 0; i < parameters.size(); i++) {
+                query.setParameter(parameters.get(i), values[Math.min(i, values.length - 1)]);
+            }
+        }));
+
+        return criteria.getRoot().get(column).in(parameters.toArray(new Expression<?>[0]));
     }
 
     private <ENTITY> Predicate notIn(
@@ -296,9 +329,10 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return singleBoundRangeComparisonMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().gt(criteria.getRoot().get(column), value),
-            (column, value) -> criteria.getBuilder().greaterThan(criteria.getRoot().get(column), value)
+            (column, parameter) -> criteria.getBuilder().gt(criteria.getRoot().get(column), parameter),
+            (column, parameter) -> criteria.getBuilder().greaterThan(criteria.getRoot().get(column), parameter)
         );
     }
 
@@ -308,9 +342,10 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return singleBoundRangeComparisonMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().ge(criteria.getRoot().get(column), value),
-            (column, value) -> criteria.getBuilder().greaterThanOrEqualTo(criteria.getRoot().get(column), value)
+            (column, parameter) -> criteria.getBuilder().ge(criteria.getRoot().get(column), parameter),
+            (column, parameter) -> criteria.getBuilder().greaterThanOrEqualTo(criteria.getRoot().get(column), parameter)
         );
     }
 
@@ -319,10 +354,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().equal(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), value.toLowerCase()),
-            String.class
+            (column, parameter) -> criteria.getBuilder().equal(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            String::toLowerCase
         );
     }
 
@@ -331,10 +368,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notEqual(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), value.toLowerCase()),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notEqual(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            String::toLowerCase
         );
     }
 
@@ -343,9 +382,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().like(criteria.getRoot().get(column), value + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().like(criteria.getRoot().get(column), parameter),
+            String.class,
+            value -> value + "%"
         );
     }
 
@@ -354,9 +395,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notLike(criteria.getRoot().get(column), value + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notLike(criteria.getRoot().get(column), parameter),
+            String.class,
+            value -> value + "%"
         );
     }
 
@@ -365,10 +408,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().like(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), value.toLowerCase() + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().like(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            value -> value.toLowerCase() + "%"
         );
     }
 
@@ -377,10 +422,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notLike(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), value.toLowerCase() + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notLike(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            value -> value.toLowerCase() + "%"
         );
     }
 
@@ -389,9 +436,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().like(criteria.getRoot().get(column), "%" + value),
-            String.class
+            (column, parameter) -> criteria.getBuilder().like(criteria.getRoot().get(column), parameter),
+            String.class,
+            value -> "%" + value
         );
     }
 
@@ -400,9 +449,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notLike(criteria.getRoot().get(column), "%" + value),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notLike(criteria.getRoot().get(column), parameter),
+            String.class,
+            value -> "%" + value
         );
     }
 
@@ -411,10 +462,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().like(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), "%" + value.toLowerCase()),
-            String.class
+            (column, parameter) -> criteria.getBuilder().like(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            value -> "%" + value.toLowerCase()
         );
     }
 
@@ -423,10 +476,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notLike(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), "%" + value.toLowerCase()),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notLike(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            value -> "%" + value.toLowerCase()
         );
     }
 
@@ -435,9 +490,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().like(criteria.getRoot().get(column), "%" + value + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().like(criteria.getRoot().get(column), parameter),
+            String.class,
+            value -> "%" + value + "%"
         );
     }
 
@@ -446,9 +503,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notLike(criteria.getRoot().get(column), "%" + value + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notLike(criteria.getRoot().get(column), parameter),
+            String.class,
+            value -> "%" + value + "%"
         );
     }
 
@@ -457,10 +516,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().like(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), "%" + value.toLowerCase() + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().like(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            value -> "%" + value.toLowerCase() + "%"
         );
     }
 
@@ -469,10 +530,12 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         final FieldPredicate<ENTITY> fieldPredicate
     ) {
         return typeMapping(
+            criteria,
             fieldPredicate,
-            (column, value) -> criteria.getBuilder().notLike(
-                criteria.getBuilder().lower(criteria.getRoot().get(column)), "%" + value.toLowerCase() + "%"),
-            String.class
+            (column, parameter) -> criteria.getBuilder().notLike(
+                criteria.getBuilder().lower(criteria.getRoot().get(column)), parameter),
+            String.class,
+            value -> "%" + value.toLowerCase() + "%"
         );
     }
 
@@ -510,16 +573,18 @@ public final class DefaultPredicateMapper implements PredicateMapper {
     }
 
     @SuppressWarnings("unchecked")
-    private <ENTITY, S> Predicate typeMapping(
+    private <ENTITY, S, V> Predicate typeMapping(
+        final Criteria<ENTITY, ?> criteria,
         final FieldPredicate<ENTITY> fieldPredicate,
-        final BiFunction<String, S, Predicate> callback,
-        final Class<S> clazz
+        final BiFunction<String, ParameterExpression<V>, Predicate> callback,
+        final Class<S> clazz,
+        final Function<S, V> valueMapper
     ) {
         final String column = fieldPredicate.getField().columnName();
         final Object value = Cast.castOrFail(fieldPredicate, HasArg0.class).get0();
 
         if (clazz.isInstance(value)) {
-            return callback.apply(column, (S) value);
+            return callback.apply(column, parameter(criteria, fieldPredicate, source -> valueMapper.apply((S) arg0(source))));
         }
 
         throw new JPAStreamerException();
@@ -527,23 +592,24 @@ public final class DefaultPredicateMapper implements PredicateMapper {
 
     @SuppressWarnings("rawtypes")
     private <ENTITY> Predicate singleBoundRangeComparisonMapping(
+        final Criteria<ENTITY, ?> criteria,
         final FieldPredicate<ENTITY> fieldPredicate,
-        final BiFunction<String, Number, Predicate> callback,
-        final BiFunction<String, Comparable, Predicate> comparableCallback
+        final BiFunction<String, ParameterExpression<Number>, Predicate> callback,
+        final BiFunction<String, ParameterExpression<Comparable>, Predicate> comparableCallback
     ) {
         final String column = fieldPredicate.getField().columnName();
         final Object value = Cast.castOrFail(fieldPredicate, HasArg0.class).get0();
 
         if (value instanceof Number) {
-            return callback.apply(column, (Number) value);
+            return callback.apply(column, parameter(criteria, fieldPredicate, source -> (Number) arg0(source)));
         }
 
         if (value instanceof Character) {
-            return callback.apply(column, (int) (char) value);
+            return callback.apply(column, parameter(criteria, fieldPredicate, source -> (int) (Character) arg0(source)));
         }
 
         if (value instanceof Comparable) {
-            return comparableCallback.apply(column, (Comparable) value);
+            return comparableCallback.apply(column, parameter(criteria, fieldPredicate, source -> (Comparable) arg0(source)));
         }
 
         throw new JPAStreamerException("Illegal comparison value [" + value + "]");
@@ -551,6 +617,7 @@ public final class DefaultPredicateMapper implements PredicateMapper {
 
     @SuppressWarnings("unchecked")
     private <ENTITY, S extends Comparable<? super S>> Predicate doubleBoundRangeComparisonMapping(
+            final Criteria<ENTITY, ?> criteria,
             final FieldPredicate<ENTITY> fieldPredicate,
             final BiFunction<String, RangeInformation<S>, Predicate> callback
     ) {
@@ -563,8 +630,9 @@ public final class DefaultPredicateMapper implements PredicateMapper {
             .orElse(Inclusion.START_INCLUSIVE_END_INCLUSIVE);
 
         if (arg0 instanceof Comparable && arg1 instanceof Comparable) {
-            final RangeInformation<S> rangeInformation = new RangeInformation<>((S) arg0, (S) arg1,
-                    inclusion);
+            final ParameterExpression<S> lowerBound = parameter(criteria, fieldPredicate, source -> (S) arg0(source));
+            final ParameterExpression<S> upperBound = parameter(criteria, fieldPredicate, source -> (S) arg1(source));
+            final RangeInformation<S> rangeInformation = new RangeInformation<>(lowerBound, upperBound, inclusion);
 
             return callback.apply(column, rangeInformation);
         }
@@ -572,6 +640,52 @@ public final class DefaultPredicateMapper implements PredicateMapper {
         throw new JPAStreamerException("Illegal comparison values [" + arg0 + "," + arg1 + "]");
     }
 
+    /*
+     * Creates a parameter whose value is extracted from a FieldPredicate
+     * every time a query created from the Criteria is bound.
+     */
+    @SuppressWarnings("unchecked")
+    private <ENTITY, V> ParameterExpression<V> parameter(
+        final Criteria<ENTITY, ?> criteria,
+        final FieldPredicate<ENTITY> fieldPredicate,
+        final Function<FieldPredicate<?>, V> valueExtractor
+    ) {
+        final Class<V> type = (Class<V>) parameterType(valueExtractor.apply(fieldPredicate));
+        final ParameterExpression<V> parameter = criteria.getBuilder().parameter(type);
+
+        criteria.addParameter(new InternalCriteriaParameter<>(
+            fieldPredicate,
+            (query, source) -> query.setParameter(parameter, valueExtractor.apply(source))
+        ));
+
+        return parameter;
+    }
+
+    private static Class<?> parameterType(final Object value) {
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).getDeclaringClass();
+        }
+        return value.getClass();
+    }
+
+    private static Object arg0(final FieldPredicate<?> fieldPredicate) {
+        return Cast.castOrFail(fieldPredicate, HasArg0.class).get0();
+    }
+
+    private static Object arg1(final FieldPredicate<?> fieldPredicate) {
+        return Cast.castOrFail(fieldPredicate, HasArg1.class).get1();
+    }
+
+    private static Set<?> inValues(final FieldPredicate<?> fieldPredicate) {
+        final Object value = arg0(fieldPredicate);
+
+        if (!(value instanceof Set)) {
+            throw new JPAStreamerException();
+        }
+
+        return (Set<?>) value;
+    }
+
     /*
      * Mapping Helpers - End
      */
@@ -651,13 +765,13 @@ public final class DefaultPredicateMapper implements PredicateMapper {
 
     private static final class RangeInformation<S extends Comparable<? super S>> {
 
-        private final S lowerBound;
-        private final S upperBound;
+        private final ParameterExpression<S> lowerBound;
+        private final ParameterExpression<S> upperBound;
         private final Inclusion inclusion;
 
         private RangeInformation(
-            final S lowerBound,
-            final S upperBound,
+            final ParameterExpression<S> lowerBound,
+            final ParameterExpression<S> upperBound,
             final Inclusion inclusion
         ) {
             this.lowerBound = requireNonNull(lowerBound);
@@ -665,11 +779,11 @@ public final class DefaultPredicateMapper implements PredicateMapper {
             this.inclusion = requireNonNull(inclusion);
         }
 
-        public S getLowerBound() {
+        public ParameterExpression<S> getLowerBound() {
             return lowerBound;
         }
 
-        public S getUpperBound() {
+        public ParameterExpression<S> getUpperBound() {
             return upperBound;
         }
 
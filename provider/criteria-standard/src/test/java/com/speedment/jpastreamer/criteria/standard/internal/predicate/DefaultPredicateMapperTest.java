@@ -0,0 +1,97 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.criteria.standard.internal.predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaParameter;
+import com.speedment.jpastreamer.criteria.standard.internal.InternalCriteria;
+import com.speedment.jpastreamer.field.StringField;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.Expression;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Root;
+
+final class DefaultPredicateMapperTest {
+
+    private static final StringField<String> FIELD = StringField.create(String.class, "value", String::toString, false);
+
+    private final PredicateMapper predicateMapper = new DefaultPredicateMapper();
+
+    @Test
+    void inListSize() {
+        assertEquals(0, CriteriaParameter.inListSize(0));
+        assertEquals(1, CriteriaParameter.inListSize(1));
+        assertEquals(2, CriteriaParameter.inListSize(2));
+        assertEquals(4, CriteriaParameter.inListSize(3));
+        assertEquals(4, CriteriaParameter.inListSize(4));
+        assertEquals(8, CriteriaParameter.inListSize(5));
+        assertEquals(1024, CriteriaParameter.inListSize(1000));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void bindsValues() {
+        final ParameterExpression<Object> parameter = mock(ParameterExpression.class);
+        final Criteria<String, String> criteria = criteria(parameter);
+
+        predicateMapper.mapPredicate(criteria, (FieldPredicate<String>) FIELD.startsWith("a"));
+        assertEquals(1, criteria.getParameters().size());
+
+        final Query query = mock(Query.class);
+        criteria.getParameters().get(0).bind(query);
+        verify(query).setParameter(parameter, "a%");
+
+        criteria.getParameters().get(0).bind(query, (FieldPredicate<String>) FIELD.startsWith("b"));
+        verify(query).setParameter(parameter, "b%");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void padsInList() {
+        final ParameterExpression<Object> parameter = mock(ParameterExpression.class);
+        final Criteria<String, String> criteria = criteria(parameter);
+
+        predicateMapper.mapPredicate(criteria, (FieldPredicate<String>) FIELD.in("a", "b", "c"));
+        assertEquals(1, criteria.getParameters().size());
+
+        final Query query = mock(Query.class);
+        criteria.getParameters().get(0).bind(query);
+        verify(query, times(4)).setParameter(any(ParameterExpression.class), any());
+    }
+
+    @SuppressWarnings("unchecked")
+    private Criteria<String, String> criteria(final ParameterExpression<Object> parameter) {
+        final CriteriaBuilder builder = mock(CriteriaBuilder.class);
+        final Root<String> root = mock(Root.class);
+        final Path<Object> path = mock(Path.class);
+
+        when(builder.parameter(any())).thenReturn(parameter);
+        when(root.get(anyString())).thenReturn(path);
+        when(path.in(any(Expression[].class))).thenReturn(null);
+
+        return new InternalCriteria<>(builder, null, root);
+    }
+}
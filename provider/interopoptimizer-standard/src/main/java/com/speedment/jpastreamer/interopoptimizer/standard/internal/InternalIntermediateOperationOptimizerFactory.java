@@ -16,7 +16,9 @@ import static java.util.Objects.requireNonNull;
 
 import com.speedment.jpastreamer.interopoptimizer.IntermediateOperationOptimizer;
 import com.speedment.jpastreamer.interopoptimizer.IntermediateOperationOptimizerFactory;
+import com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.HoistSpeedmentPredicates;
 import com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.RemoveOrderAffectingOperations;
+import com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.SimplifyPredicates;
 import com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.SquashDistinct;
 import com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.SquashFilter;
 import com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.SquashLimit;
@@ -53,6 +55,9 @@ public final class InternalIntermediateOperationOptimizerFactory implements Inte
         registerOptimizer(new SquashFilter<>(intermediateOperationFactory));
         registerOptimizer(new SquashSorted<>(intermediateOperationFactory));
         registerOptimizer(new SquashDistinct(intermediateOperationFactory));
+        // Run after the filters have been squashed so that each run of filters is rearranged and simplified at once
+        registerOptimizer(new HoistSpeedmentPredicates(intermediateOperationFactory), Priority.LOW);
+        registerOptimizer(new SimplifyPredicates(intermediateOperationFactory), Priority.LOW);
     }
 
     @Override
@@ -0,0 +1,167 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DISTINCT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.interopoptimizer.IntermediateOperationOptimizer;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * Moves the predicates that can be expressed in a query ahead of the other
+ * operations they commute with, i.e. filters, sorting and distinct, so that
+ * they are merged into the query as one filter.
+ * <p>
+ * Conjuncts of an {@code AND} that can be expressed in a query are moved on
+ * their own while the remaining conjuncts are left in place. Predicates that
+ * cannot be expressed in a query keep their relative order.
+ */
+public final class HoistSpeedmentPredicates implements IntermediateOperationOptimizer {
+
+    private static final Set<IntermediateOperationType> COMMUTING = EnumSet.of(FILTER, SORTED, DISTINCT);
+
+    private final IntermediateOperationFactory intermediateOperationFactory;
+
+    public HoistSpeedmentPredicates(final IntermediateOperationFactory intermediateOperationFactory) {
+        this.intermediateOperationFactory = requireNonNull(intermediateOperationFactory);
+    }
+
+    @Override
+    public <T> Pipeline<T> optimize(final Pipeline<T> pipeline) {
+        final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        int start = 0;
+        while (start < intermediateOperations.size()) {
+            int end = start;
+            while (end < intermediateOperations.size() && commutes(intermediateOperations.get(end))) {
+                end++;
+            }
+
+            if (end > start) {
+                end = hoist(intermediateOperations.subList(start, end)) + start;
+            }
+
+            start = end + 1;
+        }
+
+        return pipeline;
+    }
+
+    /**
+     * Rearranges the provided run of commuting operations and returns its new
+     * size.
+     */
+    @SuppressWarnings("unchecked")
+    private int hoist(final List<IntermediateOperation<?, ?>> run) {
+        final List<Predicate<Object>> hoisted = new ArrayList<>();
+        final List<IntermediateOperation<?, ?>> remaining = new ArrayList<>();
+        boolean changed = false;
+
+        for (int i = 0; i < run.size(); i++) {
+            final IntermediateOperation<?, ?> operation = run.get(i);
+            final Predicate<Object> predicate = predicate(operation);
+
+            if (predicate == null) {
+                remaining.add(operation);
+                continue;
+            }
+
+            final List<Predicate<Object>> residual = new ArrayList<>();
+            final int hoistedBefore = hoisted.size();
+            split(predicate, hoisted, residual);
+
+            if (hoisted.size() == hoistedBefore) {
+                remaining.add(operation);
+                continue;
+            }
+
+            // A leading filter that is hoisted as a whole is already in place
+            changed |= i > 0 || !residual.isEmpty() || hoistedBefore > 0;
+
+            if (!residual.isEmpty()) {
+                remaining.add(intermediateOperationFactory.createFilter(and(residual)));
+            }
+        }
+
+        if (!changed) {
+            return run.size();
+        }
+
+        run.clear();
+        run.add(intermediateOperationFactory.createFilter(and(hoisted)));
+        run.addAll(remaining);
+        return run.size();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void split(
+        final Predicate<Object> predicate,
+        final List<Predicate<Object>> hoisted,
+        final List<Predicate<Object>> residual
+    ) {
+        if (isExpressible(predicate)) {
+            hoisted.add(predicate);
+        } else if (predicate instanceof CombinedPredicate && ((CombinedPredicate<?>) predicate).getType() == CombinedPredicate.Type.AND) {
+            ((CombinedPredicate<Object>) predicate).stream()
+                .forEachOrdered(conjunct -> split((Predicate<Object>) conjunct, hoisted, residual));
+        } else {
+            residual.add(predicate);
+        }
+    }
+
+    private boolean isExpressible(final Object predicate) {
+        if (predicate instanceof FieldPredicate) {
+            return true;
+        }
+
+        if (predicate instanceof CombinedPredicate) {
+            return ((CombinedPredicate<?>) predicate).stream().allMatch(this::isExpressible);
+        }
+
+        return false;
+    }
+
+    private static Predicate<Object> and(final List<Predicate<Object>> predicates) {
+        return predicates.size() == 1
+            ? predicates.get(0)
+            : CombinedPredicate.and(new ArrayList<>(predicates));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> predicate(final IntermediateOperation<?, ?> operation) {
+        if (operation.type() != FILTER || operation.arguments().length != 1 || !(operation.arguments()[0] instanceof Predicate)) {
+            return null;
+        }
+        return (Predicate<Object>) operation.arguments()[0];
+    }
+
+    private static boolean commutes(final IntermediateOperation<?, ?> operation) {
+        return operation.streamType() == Stream.class && COMMUTING.contains(operation.type());
+    }
+
+}
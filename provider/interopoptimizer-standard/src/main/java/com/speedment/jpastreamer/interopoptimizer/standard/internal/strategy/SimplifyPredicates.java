@@ -0,0 +1,418 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.Inclusion;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.field.predicate.trait.HasInclusion;
+import com.speedment.jpastreamer.field.trait.HasArg0;
+import com.speedment.jpastreamer.field.trait.HasArg1;
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
+import com.speedment.jpastreamer.interopoptimizer.IntermediateOperationOptimizer;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Simplifies the {@link CombinedPredicate CombinedPredicates} of filters.
+ * <ul>
+ *     <li>Nested predicates of the same type are flattened and
+ *     {@code ALWAYS_TRUE} and {@code ALWAYS_FALSE} are folded.</li>
+ *     <li>Bounds on the same field in an {@code AND} are merged into a single
+ *     range, e.g. {@code x > 1 AND x <= 5} becomes {@code BETWEEN}, and an
+ *     empty range becomes {@code ALWAYS_FALSE}.</li>
+ *     <li>Equalities on the same field in an {@code OR} are merged into a
+ *     single {@code IN}.</li>
+ * </ul>
+ * Filters that always hold are removed. Ranges are only merged for numbers
+ * and temporal values, whose order is the same in the database as in Java.
+ */
+public final class SimplifyPredicates implements IntermediateOperationOptimizer {
+
+    private static final Set<PredicateType> BOUNDS = EnumSet.of(
+        PredicateType.EQUAL,
+        PredicateType.GREATER_THAN,
+        PredicateType.GREATER_OR_EQUAL,
+        PredicateType.LESS_THAN,
+        PredicateType.LESS_OR_EQUAL,
+        PredicateType.BETWEEN
+    );
+
+    private static final Set<PredicateType> EQUALITIES = EnumSet.of(PredicateType.EQUAL, PredicateType.IN);
+
+    private final IntermediateOperationFactory intermediateOperationFactory;
+
+    public SimplifyPredicates(final IntermediateOperationFactory intermediateOperationFactory) {
+        this.intermediateOperationFactory = requireNonNull(intermediateOperationFactory);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Pipeline<T> optimize(final Pipeline<T> pipeline) {
+        final ListIterator<IntermediateOperation<?, ?>> iterator = pipeline.intermediateOperations().listIterator();
+
+        while (iterator.hasNext()) {
+            final IntermediateOperation<?, ?> operation = iterator.next();
+
+            if (operation.type() != FILTER
+                || operation.streamType() != Stream.class
+                || operation.arguments().length != 1
+                || !(operation.arguments()[0] instanceof Predicate)) {
+                continue;
+            }
+
+            final Predicate<Object> predicate = (Predicate<Object>) operation.arguments()[0];
+            final Predicate<Object> simplified = simplify(predicate);
+
+            if (is(simplified, PredicateType.ALWAYS_TRUE)) {
+                iterator.remove();
+            } else if (simplified != predicate) {
+                iterator.set(intermediateOperationFactory.createFilter(simplified));
+            }
+        }
+
+        return pipeline;
+    }
+
+    /**
+     * Returns a simplified predicate that is equivalent to the provided
+     * predicate, or the provided predicate itself if it cannot be simplified.
+     *
+     * @param predicate to simplify
+     * @return a simplified predicate
+     */
+    @SuppressWarnings("unchecked")
+    static Predicate<Object> simplify(final Predicate<Object> predicate) {
+        if (!(predicate instanceof CombinedPredicate)) {
+            return predicate;
+        }
+
+        final CombinedPredicate<Object> combined = (CombinedPredicate<Object>) predicate;
+        final CombinedPredicate.Type type = combined.getType();
+
+        // The constant that decides the outcome and the one that does not affect it
+        final PredicateType dominant = type == CombinedPredicate.Type.AND ? PredicateType.ALWAYS_FALSE : PredicateType.ALWAYS_TRUE;
+        final PredicateType neutral = dominant.negate();
+
+        final List<Predicate<Object>> operands = new ArrayList<>();
+        Predicate<Object> neutralOperand = null;
+        boolean changed = false;
+
+        for (Predicate<? super Object> child : combined.stream().collect(Collectors.toList())) {
+            final Predicate<Object> operand = simplify((Predicate<Object>) child);
+            changed |= operand != child;
+
+            if (operand instanceof CombinedPredicate && ((CombinedPredicate<?>) operand).getType() == type) {
+                ((CombinedPredicate<Object>) operand).stream().forEachOrdered(p -> operands.add((Predicate<Object>) p));
+                changed = true;
+            } else if (is(operand, dominant)) {
+                return operand;
+            } else if (is(operand, neutral)) {
+                neutralOperand = operand;
+                changed = true;
+            } else {
+                operands.add(operand);
+            }
+        }
+
+        changed |= type == CombinedPredicate.Type.AND ? mergeRanges(operands) : mergeEqualities(operands);
+
+        for (Predicate<Object> operand : operands) {
+            if (is(operand, dominant)) {
+                return operand;
+            }
+        }
+
+        if (operands.isEmpty()) {
+            return neutralOperand == null ? predicate : neutralOperand;
+        }
+
+        if (operands.size() == 1) {
+            return operands.get(0);
+        }
+
+        if (!changed) {
+            return predicate;
+        }
+
+        return type == CombinedPredicate.Type.AND
+            ? CombinedPredicate.and(new ArrayList<>(operands))
+            : CombinedPredicate.or(new ArrayList<>(operands));
+    }
+
+    private static boolean mergeRanges(final List<Predicate<Object>> operands) {
+        boolean changed = false;
+
+        for (List<FieldPredicate<Object>> group : groups(operands, BOUNDS)) {
+            if (group.size() < 2 || !isOrdered(group)) {
+                continue;
+            }
+
+            Range range = Range.ALL;
+            for (FieldPredicate<Object> bound : group) {
+                range = range.intersect(Range.of(bound));
+            }
+
+            replace(operands, group, range.toPredicate(group.get(0).getField()));
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static boolean mergeEqualities(final List<Predicate<Object>> operands) {
+        boolean changed = false;
+
+        for (List<FieldPredicate<Object>> group : groups(operands, EQUALITIES)) {
+            if (group.size() < 2 || values(group) == null) {
+                continue;
+            }
+
+            final HasComparableOperators<Object, Comparable<Object>> field =
+                (HasComparableOperators<Object, Comparable<Object>>) group.get(0).getField();
+
+            replace(operands, group, field.in((Set<Comparable<Object>>) (Set<?>) values(group)));
+            changed = true;
+        }
+
+        return changed;
+    }
+
+    /**
+     * Groups the field predicates of the provided types by the comparable
+     * field they are of.
+     */
+    @SuppressWarnings("unchecked")
+    private static Collection<List<FieldPredicate<Object>>> groups(
+        final List<Predicate<Object>> operands,
+        final Set<PredicateType> types
+    ) {
+        final Map<Field<?>, List<FieldPredicate<Object>>> groups = new LinkedHashMap<>();
+
+        for (Predicate<Object> operand : operands) {
+            if (operand instanceof FieldPredicate) {
+                final FieldPredicate<Object> fieldPredicate = (FieldPredicate<Object>) operand;
+                if (types.contains(fieldPredicate.getPredicateType()) && fieldPredicate.getField() instanceof HasComparableOperators) {
+                    groups.computeIfAbsent(fieldPredicate.getField(), f -> new ArrayList<>()).add(fieldPredicate);
+                }
+            }
+        }
+
+        return groups.values();
+    }
+
+    private static void replace(
+        final List<Predicate<Object>> operands,
+        final List<FieldPredicate<Object>> group,
+        final Predicate<Object> replacement
+    ) {
+        operands.set(operands.indexOf(group.get(0)), replacement);
+        operands.removeAll(group.subList(1, group.size()));
+    }
+
+    private static boolean isOrdered(final List<FieldPredicate<Object>> group) {
+        Class<?> valueClass = null;
+
+        for (FieldPredicate<Object> bound : group) {
+            for (Object value : arguments(bound)) {
+                if (!(value instanceof Number || value instanceof Temporal) || !(value instanceof Comparable)) {
+                    return false;
+                }
+                if (value instanceof Double && ((Double) value).isNaN() || value instanceof Float && ((Float) value).isNaN()) {
+                    return false;
+                }
+                if (valueClass != null && valueClass != value.getClass()) {
+                    return false;
+                }
+                valueClass = value.getClass();
+            }
+        }
+
+        return true;
+    }
+
+    private static Set<Object> values(final List<FieldPredicate<Object>> group) {
+        final Set<Object> values = new LinkedHashSet<>();
+
+        for (FieldPredicate<Object> equality : group) {
+            final Object value = ((HasArg0<?>) equality).get0();
+            if (equality.getPredicateType() == PredicateType.IN) {
+                values.addAll((Collection<?>) value);
+            } else {
+                values.add(value);
+            }
+        }
+
+        // Null is never equal to a value
+        return values.contains(null) ? null : values;
+    }
+
+    private static List<Object> arguments(final FieldPredicate<?> fieldPredicate) {
+        final List<Object> arguments = new ArrayList<>();
+        if (fieldPredicate instanceof HasArg0) {
+            arguments.add(((HasArg0<?>) fieldPredicate).get0());
+        }
+        if (fieldPredicate instanceof HasArg1) {
+            arguments.add(((HasArg1<?>) fieldPredicate).get1());
+        }
+        return arguments;
+    }
+
+    private static boolean is(final Object predicate, final PredicateType predicateType) {
+        return predicate instanceof FieldPredicate && ((FieldPredicate<?>) predicate).getPredicateType() == predicateType;
+    }
+
+    /**
+     * A range of values of a field where an absent bound is unbounded.
+     */
+    private static final class Range {
+
+        static final Range ALL = new Range(null, false, null, false);
+
+        private final Comparable<Object> lower;
+        private final boolean lowerInclusive;
+        private final Comparable<Object> upper;
+        private final boolean upperInclusive;
+
+        private Range(
+            final Comparable<Object> lower,
+            final boolean lowerInclusive,
+            final Comparable<Object> upper,
+            final boolean upperInclusive
+        ) {
+            this.lower = lower;
+            this.lowerInclusive = lowerInclusive;
+            this.upper = upper;
+            this.upperInclusive = upperInclusive;
+        }
+
+        @SuppressWarnings("unchecked")
+        static Range of(final FieldPredicate<?> bound) {
+            final Comparable<Object> value = (Comparable<Object>) ((HasArg0<?>) bound).get0();
+
+            switch (bound.getPredicateType()) {
+                case EQUAL: return new Range(value, true, value, true);
+                case GREATER_THAN: return new Range(value, false, null, false);
+                case GREATER_OR_EQUAL: return new Range(value, true, null, false);
+                case LESS_THAN: return new Range(null, false, value, false);
+                case LESS_OR_EQUAL: return new Range(null, false, value, true);
+                case BETWEEN: {
+                    final Inclusion inclusion = ((HasInclusion) bound).getInclusion();
+                    final Comparable<Object> end = (Comparable<Object>) ((HasArg1<?>) bound).get1();
+                    return new Range(value, inclusion.isStartInclusive(), end, inclusion.isEndInclusive());
+                }
+                default: throw new IllegalArgumentException(bound.getPredicateType() + " is not a bound");
+            }
+        }
+
+        Range intersect(final Range other) {
+            final Comparable<Object> newLower;
+            final boolean newLowerInclusive;
+            if (lower == null || (other.lower != null && compare(other.lower, lower, !other.lowerInclusive, !lowerInclusive) > 0)) {
+                newLower = other.lower;
+                newLowerInclusive = other.lowerInclusive;
+            } else {
+                newLower = lower;
+                newLowerInclusive = lowerInclusive;
+            }
+
+            final Comparable<Object> newUpper;
+            final boolean newUpperInclusive;
+            if (upper == null || (other.upper != null && compare(other.upper, upper, other.upperInclusive, upperInclusive) < 0)) {
+                newUpper = other.upper;
+                newUpperInclusive = other.upperInclusive;
+            } else {
+                newUpper = upper;
+                newUpperInclusive = upperInclusive;
+            }
+
+            return new Range(newLower, newLowerInclusive, newUpper, newUpperInclusive);
+        }
+
+        boolean isEmpty() {
+            if (lower == null || upper == null) {
+                return false;
+            }
+            final int comparison = lower.compareTo(upper);
+            return comparison > 0 || (comparison == 0 && !(lowerInclusive && upperInclusive));
+        }
+
+        @SuppressWarnings("unchecked")
+        Predicate<Object> toPredicate(final Field<Object> field) {
+            final HasComparableOperators<Object, Comparable<Object>> comparableField =
+                (HasComparableOperators<Object, Comparable<Object>>) field;
+
+            if (isEmpty()) {
+                return FieldPredicate.alwaysFalse(field);
+            }
+            if (lower != null && upper != null) {
+                if (lower.compareTo(upper) == 0) {
+                    return comparableField.equal(lower);
+                }
+                return comparableField.between(lower, upper, inclusion(lowerInclusive, upperInclusive));
+            }
+            if (lower != null) {
+                return lowerInclusive ? comparableField.greaterOrEqual(lower) : comparableField.greaterThan(lower);
+            }
+            return upperInclusive ? comparableField.lessOrEqual(upper) : comparableField.lessThan(upper);
+        }
+
+        /**
+         * Compares two bounds where an equal value that is exclusive is
+         * considered to be the greater one.
+         */
+        private static int compare(
+            final Comparable<Object> first,
+            final Comparable<Object> second,
+            final boolean firstGreaterIfEqual,
+            final boolean secondGreaterIfEqual
+        ) {
+            final int comparison = first.compareTo(second);
+            if (comparison != 0) {
+                return comparison;
+            }
+            return Boolean.compare(firstGreaterIfEqual, secondGreaterIfEqual);
+        }
+
+        private static Inclusion inclusion(final boolean startInclusive, final boolean endInclusive) {
+            for (Inclusion inclusion : Inclusion.values()) {
+                if (inclusion.isStartInclusive() == startInclusive && inclusion.isEndInclusive() == endInclusive) {
+                    return inclusion;
+                }
+            }
+            throw new IllegalStateException();
+        }
+    }
+
+}
@@ -18,6 +18,7 @@ import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
 
 import java.util.LinkedList;
+import java.util.stream.Stream;
 
 public abstract class AbstractNoValueSquash implements NoValueSquash {
 
@@ -29,7 +30,10 @@ public abstract class AbstractNoValueSquash implements NoValueSquash {
 
         for (int i = intermediateOperations.size() - 1; i >= 0; i--) {
             final IntermediateOperation<?, ?> intermediateOperation = intermediateOperations.get(i);
-            final IntermediateOperationType type = intermediateOperation.type();
+            // The squashed operation is created for a Stream and can therefore not replace primitive stream operations
+            final IntermediateOperationType type = intermediateOperation.streamType() == Stream.class
+                ? intermediateOperation.type()
+                : null;
 
             if (type == operationType()) {
                 intermediateOperations.remove(i);
@@ -17,6 +17,7 @@ import com.speedment.jpastreamer.pipeline.Pipeline;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 
 import java.util.LinkedList;
+import java.util.stream.Stream;
 
 public abstract class AbstractSingleValueSquash<S> implements SingleValueSquash<S> {
 
@@ -30,7 +31,8 @@ public abstract class AbstractSingleValueSquash<S> implements SingleValueSquash<
         for (int i = intermediateOperations.size() - 1; i >= 0; i--) {
             final IntermediateOperation<?, ?> intermediateOperation = intermediateOperations.get(i);
 
-            if (intermediateOperation.type() == operationType()) {
+            // The squashed operation is created for a Stream and can therefore not replace primitive stream operations
+            if (intermediateOperation.type() == operationType() && intermediateOperation.streamType() == Stream.class) {
                 if (intermediateOperation.arguments().length == 0) {
                     if (result != checkValue()) {
                         final IntermediateOperation<?, ?> newOperation = operationProvider()
@@ -12,6 +12,10 @@
  */
 package com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy.squash.abstracts;
 
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+
+import java.util.Arrays;
 import java.util.function.BiFunction;
 import java.util.function.Predicate;
 
@@ -36,6 +40,11 @@ public abstract class PredicateSquash<T> extends AbstractSingleValueSquash<Predi
                 return value;
             }
 
+            // Predicate::and of a lambda would hide a SpeedmentPredicate that could otherwise be merged into the query
+            if (result instanceof SpeedmentPredicate && !(value instanceof SpeedmentPredicate)) {
+                return CombinedPredicate.and(Arrays.asList(value, result));
+            }
+
             return value.and(result);
         };
     }
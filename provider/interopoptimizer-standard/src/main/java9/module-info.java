@@ -13,6 +13,7 @@
 module jpastreamer.interopoptimizer.standard {
     requires transitive jpastreamer.interopoptimizer;
     requires jpastreamer.rootfactory;
+    requires jpastreamer.field;
 
     exports com.speedment.jpastreamer.interopoptimizer.standard;
 
@@ -0,0 +1,125 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.LIMIT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.speedment.jpastreamer.field.StringField;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+final class HoistSpeedmentPredicatesTest {
+
+    private static final StringField<String> VALUE = StringField.create(String.class, "value", s -> s, false);
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+    private final HoistSpeedmentPredicates optimizer = new HoistSpeedmentPredicates(operationFactory);
+
+    @Test
+    void hoistAcrossSorted() {
+        final Predicate<String> lambda = s -> s.length() > 1;
+        final SpeedmentPredicate<String> equal = VALUE.equal("a");
+
+        final Pipeline<String> pipeline = optimizer.optimize(pipeline(
+            operationFactory.createFilter(lambda),
+            operationFactory.createSorted(Comparator.naturalOrder()),
+            operationFactory.createFilter(equal)
+        ));
+
+        assertEquals(Arrays.asList(FILTER, FILTER, SORTED), types(pipeline));
+        assertSame(equal, argument(pipeline, 0));
+        assertSame(lambda, argument(pipeline, 1));
+    }
+
+    @Test
+    void splitConjunction() {
+        final Predicate<String> lambda = s -> s.length() > 1;
+        final SpeedmentPredicate<String> equal = VALUE.equal("a");
+        final SpeedmentPredicate<String> startsWith = VALUE.startsWith("b");
+
+        final Pipeline<String> pipeline = optimizer.optimize(pipeline(
+            operationFactory.createFilter(CombinedPredicate.and(Arrays.asList(lambda, equal))),
+            operationFactory.createFilter(startsWith)
+        ));
+
+        assertEquals(Arrays.asList(FILTER, FILTER), types(pipeline));
+        final CombinedPredicate<?> hoisted = (CombinedPredicate<?>) argument(pipeline, 0);
+        assertEquals(Arrays.asList(equal, startsWith), hoisted.stream().collect(Collectors.toList()));
+        assertSame(lambda, argument(pipeline, 1));
+    }
+
+    @Test
+    void notAcrossLimit() {
+        final Predicate<String> lambda = s -> s.length() > 1;
+        final SpeedmentPredicate<String> equal = VALUE.equal("a");
+
+        final Pipeline<String> pipeline = optimizer.optimize(pipeline(
+            operationFactory.createFilter(lambda),
+            operationFactory.createLimit(10),
+            operationFactory.createFilter(equal)
+        ));
+
+        assertEquals(Arrays.asList(FILTER, LIMIT, FILTER), types(pipeline));
+        assertSame(lambda, argument(pipeline, 0));
+        assertSame(equal, argument(pipeline, 2));
+    }
+
+    @Test
+    void alreadyInPlace() {
+        final IntermediateOperation<?, ?> filter = operationFactory.createFilter(VALUE.equal("a"));
+        final IntermediateOperation<?, ?> other = operationFactory.createFilter(s -> true);
+
+        final Pipeline<String> pipeline = optimizer.optimize(pipeline(filter, other));
+
+        assertSame(filter, pipeline.intermediateOperations().get(0));
+        assertSame(other, pipeline.intermediateOperations().get(1));
+        assertEquals(2, pipeline.intermediateOperations().size());
+    }
+
+    private Pipeline<String> pipeline(final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<String> pipeline = pipelineFactory.createPipeline(String.class);
+        pipeline.intermediateOperations().addAll(Arrays.asList(operations));
+        return pipeline;
+    }
+
+    private static List<IntermediateOperationType> types(final Pipeline<?> pipeline) {
+        return pipeline.intermediateOperations().stream()
+            .map(IntermediateOperation::type)
+            .collect(Collectors.toList());
+    }
+
+    private static Object argument(final Pipeline<?> pipeline, final int index) {
+        return pipeline.intermediateOperations().get(index).arguments()[0];
+    }
+
+}
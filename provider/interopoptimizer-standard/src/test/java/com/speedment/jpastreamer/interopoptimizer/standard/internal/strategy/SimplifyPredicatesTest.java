@@ -0,0 +1,134 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.field.IntField;
+import com.speedment.jpastreamer.field.StringField;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.Inclusion;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.field.predicate.trait.HasInclusion;
+import com.speedment.jpastreamer.field.trait.HasArg0;
+import com.speedment.jpastreamer.field.trait.HasArg1;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+
+final class SimplifyPredicatesTest {
+
+    private static final IntField<String> LENGTH = IntField.create(String.class, "length", String::length, false);
+    private static final StringField<String> VALUE = StringField.create(String.class, "value", s -> s, false);
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void mergeRange() {
+        final FieldPredicate<?> simplified = (FieldPredicate<?>) simplify(and(LENGTH.greaterThan(1), LENGTH.lessOrEqual(5), LENGTH.lessThan(7)));
+
+        assertEquals(PredicateType.BETWEEN, simplified.getPredicateType());
+        assertEquals(1, ((HasArg0<?>) simplified).get0());
+        assertEquals(5, ((HasArg1<?>) simplified).get1());
+        assertEquals(Inclusion.START_EXCLUSIVE_END_INCLUSIVE, ((HasInclusion) simplified).getInclusion());
+
+        final FieldPredicate<?> equal = (FieldPredicate<?>) simplify(and(LENGTH.greaterOrEqual(3), LENGTH.lessOrEqual(3)));
+        assertEquals(PredicateType.EQUAL, equal.getPredicateType());
+        assertEquals(3, ((HasArg0<?>) equal).get0());
+    }
+
+    @Test
+    void contradiction() {
+        assertEquals(PredicateType.ALWAYS_FALSE, type(simplify(and(LENGTH.greaterThan(5), LENGTH.lessThan(3)))));
+        assertEquals(PredicateType.ALWAYS_FALSE, type(simplify(and(LENGTH.equal(2), LENGTH.equal(3)))));
+        assertEquals(PredicateType.ALWAYS_FALSE, type(simplify(and(LENGTH.greaterThan(3), LENGTH.lessOrEqual(3)))));
+
+        // The contradiction decides the outcome of the enclosing conjunction
+        assertEquals(PredicateType.ALWAYS_FALSE, type(simplify(and(
+            VALUE.startsWith("a"),
+            and(LENGTH.greaterThan(5), LENGTH.lessThan(3))
+        ))));
+    }
+
+    @Test
+    void orToIn() {
+        final FieldPredicate<?> simplified = (FieldPredicate<?>) simplify(or(LENGTH.equal(1), LENGTH.equal(2), LENGTH.in(3, 4)));
+
+        assertEquals(PredicateType.IN, simplified.getPredicateType());
+        assertEquals(new HashSet<>(Arrays.asList(1, 2, 3, 4)), ((HasArg0<?>) simplified).get0());
+    }
+
+    @Test
+    void foldConstants() {
+        final Predicate<Object> equal = cast(LENGTH.equal(1));
+
+        assertSame(equal, simplify(and(FieldPredicate.alwaysTrue(LENGTH), equal)));
+        assertEquals(PredicateType.ALWAYS_TRUE, type(simplify(or(equal, FieldPredicate.alwaysTrue(LENGTH)))));
+        assertSame(equal, simplify(or(equal, FieldPredicate.alwaysFalse(LENGTH))));
+    }
+
+    @Test
+    void stringsAreNotOrdered() {
+        // The order of strings in the database depends on its collation
+        final Predicate<Object> predicate = and(VALUE.greaterThan("b"), VALUE.lessThan("a"));
+
+        assertSame(predicate, simplify(predicate));
+    }
+
+    @Test
+    void removeAlwaysTrue() {
+        final Pipeline<String> pipeline = pipelineFactory.createPipeline(String.class);
+        pipeline.intermediateOperations().add(operationFactory.createFilter(or(LENGTH.equal(1), FieldPredicate.alwaysTrue(LENGTH))));
+        pipeline.intermediateOperations().add(operationFactory.createLimit(1));
+
+        new SimplifyPredicates(operationFactory).optimize(pipeline);
+
+        assertEquals(1, pipeline.intermediateOperations().size());
+        assertTrue(pipeline.intermediateOperations().getFirst().arguments()[0] instanceof Long);
+    }
+
+    @SafeVarargs
+    private static Predicate<Object> and(final Predicate<? super String>... predicates) {
+        return cast(CombinedPredicate.<String>and(Arrays.asList(predicates)));
+    }
+
+    @SafeVarargs
+    private static Predicate<Object> or(final Predicate<? super String>... predicates) {
+        return cast(CombinedPredicate.<String>or(Arrays.asList(predicates)));
+    }
+
+    private static Predicate<Object> simplify(final Predicate<Object> predicate) {
+        return SimplifyPredicates.simplify(predicate);
+    }
+
+    private static PredicateType type(final Predicate<?> predicate) {
+        return ((FieldPredicate<?>) predicate).getPredicateType();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Predicate<Object> cast(final Predicate<?> predicate) {
+        return (Predicate<Object>) predicate;
+    }
+
+}
@@ -13,9 +13,13 @@
 package com.speedment.jpastreamer.interopoptimizer.standard.internal.strategy;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import com.speedment.jpastreamer.field.StringField;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
 import com.speedment.jpastreamer.pipeline.Pipeline;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import org.junit.jupiter.api.Test;
 
 import java.util.function.Predicate;
 import java.util.stream.IntStream;
@@ -110,6 +114,24 @@ final class SquashFilterTest extends SquashTest<String, SquashFilter<?>> {
         return new PipelineTestCase<>("Filter 2, Other, Filter 2", filter2OtherFilter2, filter2OtherFilter2Expected);
     }
 
+    @Test
+    void lambdaAndSpeedmentPredicate() {
+        final StringField<String> value = StringField.create(String.class, "value", s -> s, false);
+
+        final Pipeline<String> pipeline = createPipeline(
+            operationFactory.createFilter(x -> true),
+            operationFactory.createFilter(value.equal("a"))
+        );
+
+        getSquashInstance().optimize(pipeline);
+
+        // The SpeedmentPredicate remains visible so that it can be merged into the query
+        assertEquals(1, pipeline.intermediateOperations().size());
+        final Object predicate = pipeline.intermediateOperations().getFirst().arguments()[0];
+        assertTrue(predicate instanceof CombinedPredicate);
+        assertEquals(2, ((CombinedPredicate<?>) predicate).size());
+    }
+
     @Override
     @SuppressWarnings({"rawtypes", "unchecked"})
     protected void assertArguments(Object[] expected, Object[] actual) {
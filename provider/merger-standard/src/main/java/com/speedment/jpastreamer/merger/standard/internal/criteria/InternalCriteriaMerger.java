@@ -13,8 +13,14 @@
 package com.speedment.jpastreamer.merger.standard.internal.criteria;
 
 import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DISTINCT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DROP_WHILE;
 import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.LIMIT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.PEEK;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SKIP;
 import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.TAKE_WHILE;
+import static com.speedment.jpastreamer.pipeline.intermediate.Statement.PRESERVES_TYPE;
 import static java.util.Objects.requireNonNull;
 
 import com.speedment.jpastreamer.criteria.Criteria;
@@ -32,12 +38,18 @@ import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
 
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
 
 public final class InternalCriteriaMerger implements CriteriaMerger {
 
+    // Operations whose outcome depends on the elements that reach them, which pins subsequent operations in place
+    private static final Set<IntermediateOperationType> BARRIERS = EnumSet.of(SKIP, LIMIT, TAKE_WHILE, DROP_WHILE, PEEK);
+
     private final Map<IntermediateOperationType, CriteriaModifier> mergingStrategies = new HashMap<>();
 
     public InternalCriteriaMerger() {
@@ -62,6 +74,15 @@ public final class InternalCriteriaMerger implements CriteriaMerger {
             final IntermediateOperation<?, ?> operation = intermediateOperations.get(i);
             final IntermediateOperationType operationType = operation.type();
 
+            // Operations after a mapping or on a primitive stream act on mapped values rather than on entities
+            if (operation.streamType() != Stream.class || !operationType.statements().contains(PRESERVES_TYPE)) {
+                break;
+            }
+
+            if (BARRIERS.contains(operationType)) {
+                break;
+            }
+
             if (mergingTracker.mergedOperations().contains(operationType)) {
                 continue;
             }
@@ -78,6 +99,9 @@ public final class InternalCriteriaMerger implements CriteriaMerger {
             criteriaModifier.modifyCriteria(operationReference, criteria, mergingTracker);
         }
 
+        mergingTracker.forReplacement()
+            .forEach(intermediateOperations::set);
+
         mergingTracker.forRemoval()
             .stream()
             .sorted(Comparator.reverseOrder())
@@ -17,25 +17,42 @@ import static java.util.Objects.requireNonNull;
 
 import com.speedment.jpastreamer.criteria.Criteria;
 import com.speedment.jpastreamer.criteria.PredicateFactory;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
 import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
 import com.speedment.jpastreamer.merger.standard.internal.reference.IntermediateOperationReference;
 import com.speedment.jpastreamer.merger.standard.internal.tracker.MergingTracker;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
 import com.speedment.jpastreamer.rootfactory.RootFactory;
 
+import javax.persistence.criteria.CriteriaQuery;
 import javax.persistence.criteria.Predicate;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.ServiceLoader;
 
+/**
+ * Merges the {@link SpeedmentPredicate SpeedmentPredicates} of filters into
+ * the {@code WHERE} clause of the criteria.
+ * <p>
+ * Every filter that is merged is conjoined with the restriction of the
+ * criteria. If a filter is an {@code AND} of which only some conjuncts can
+ * be expressed in the criteria, those conjuncts are merged and the filter is
+ * replaced by a filter of the remaining conjuncts.
+ */
 public enum FilterCriteriaModifier implements CriteriaModifier {
 
     INSTANCE;
 
     private final PredicateFactory predicateFactory;
+    private final IntermediateOperationFactory intermediateOperationFactory;
 
     FilterCriteriaModifier() {
         this.predicateFactory = RootFactory.getOrThrow(PredicateFactory.class, ServiceLoader::load);
+        this.intermediateOperationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
     }
 
     @Override
@@ -57,13 +74,70 @@ public enum FilterCriteriaModifier implements CriteriaModifier {
         }
 
         this.<ENTITY>getPredicate(operation).ifPresent(speedmentPredicate -> {
-            final Predicate predicate = predicateFactory.createPredicate(criteria, speedmentPredicate);
-            criteria.getQuery().where(predicate);
-
-            mergingTracker.markAsMerged(operationType);
-            mergingTracker.markForRemoval(operationReference.index());
+            final List<SpeedmentPredicate<ENTITY>> merged = new ArrayList<>();
+            final List<java.util.function.Predicate<? super ENTITY>> remaining = new ArrayList<>();
+            split(speedmentPredicate, merged, remaining);
+
+            if (merged.isEmpty()) {
+                return;
+            }
+
+            final CriteriaQuery<?> query = criteria.getQuery();
+
+            final List<Predicate> restrictions = new ArrayList<>();
+            if (query.getRestriction() != null) {
+                restrictions.add(query.getRestriction());
+            }
+            merged.forEach(predicate -> restrictions.add(predicateFactory.createPredicate(criteria, predicate)));
+
+            query.where(restrictions.size() == 1
+                ? restrictions.get(0)
+                : criteria.getBuilder().and(restrictions.toArray(new Predicate[0])));
+
+            if (remaining.isEmpty()) {
+                mergingTracker.markForRemoval(operationReference.index());
+            } else {
+                final java.util.function.Predicate<? super ENTITY> residual = remaining.size() == 1
+                    ? remaining.get(0)
+                    : CombinedPredicate.and(remaining);
+                mergingTracker.markForReplacement(operationReference.index(), intermediateOperationFactory.createFilter(residual));
+            }
         });
     }
+
+    /**
+     * Splits the provided predicate into the predicates that can be expressed
+     * in the criteria and the predicates that must be applied by the stream.
+     * Only the conjuncts of an {@code AND} can be split.
+     */
+    @SuppressWarnings("unchecked")
+    private <ENTITY> void split(
+        final java.util.function.Predicate<? super ENTITY> predicate,
+        final List<SpeedmentPredicate<ENTITY>> merged,
+        final List<java.util.function.Predicate<? super ENTITY>> remaining
+    ) {
+        if (isMergeable(predicate)) {
+            merged.add((SpeedmentPredicate<ENTITY>) predicate);
+        } else if (predicate instanceof CombinedPredicate && ((CombinedPredicate<?>) predicate).getType() == CombinedPredicate.Type.AND) {
+            ((CombinedPredicate<? super ENTITY>) predicate).stream()
+                .forEachOrdered(conjunct -> split(conjunct, merged, remaining));
+        } else {
+            remaining.add(predicate);
+        }
+    }
+
+    private boolean isMergeable(final Object predicate) {
+        if (predicate instanceof FieldPredicate) {
+            return true;
+        }
+
+        if (predicate instanceof CombinedPredicate) {
+            return ((CombinedPredicate<?>) predicate).stream().allMatch(this::isMergeable);
+        }
+
+        return false;
+    }
+
     @SuppressWarnings("unchecked")
     private <T> Optional<SpeedmentPredicate<T>> getPredicate(final IntermediateOperation<?, ?> operation) {
         final Object[] arguments = operation.arguments();
@@ -70,7 +70,9 @@ public enum SortedCriteriaModifier implements CriteriaModifier {
             try {
                 orders = orderFactory.createOrder(criteria, optionalComparator.get());
             } catch (JPAStreamerException e) {
-                // don't merge operator in case we encounter an unsupported Comparator
+                // don't merge operator in case we encounter an unsupported Comparator, nor any
+                // subsequent one as the order it imposes in memory would take precedence
+                mergingTracker.markAsMerged(operationType);
                 return;
             }
 
@@ -14,6 +14,8 @@ package com.speedment.jpastreamer.merger.standard.internal.query;
 
 import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.LIMIT;
 import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SKIP;
+import static com.speedment.jpastreamer.pipeline.intermediate.Statement.PRESERVES_ORDER;
+import static com.speedment.jpastreamer.pipeline.intermediate.Statement.PRESERVES_SIZE;
 import static java.util.Objects.requireNonNull;
 
 import com.speedment.jpastreamer.merger.QueryMerger;
@@ -26,15 +28,20 @@ import com.speedment.jpastreamer.merger.standard.internal.tracker.MergingTracker
 import com.speedment.jpastreamer.pipeline.Pipeline;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.intermediate.Statement;
 
 import javax.persistence.Query;
 import java.util.Comparator;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 public final class InternalQueryMerger implements QueryMerger {
 
+    private static final Set<Statement> RETAINING = EnumSet.of(PRESERVES_SIZE, PRESERVES_ORDER);
+
     private final Map<IntermediateOperationType, QueryModifier> mergingStrategies = new HashMap<>();
 
     public InternalQueryMerger() {
@@ -55,6 +62,12 @@ public final class InternalQueryMerger implements QueryMerger {
             final IntermediateOperation<?, ?> operation = intermediateOperations.get(i);
             final IntermediateOperationType operationType = operation.type();
 
+            // The offset and limit of the query can only be moved ahead of operations that retain every element in place
+            if (operationType != SKIP && operationType != LIMIT
+                && !operationType.statements().containsAll(RETAINING)) {
+                break;
+            }
+
             if (mergingTracker.mergedOperations().contains(operationType)) {
                 continue;
             }
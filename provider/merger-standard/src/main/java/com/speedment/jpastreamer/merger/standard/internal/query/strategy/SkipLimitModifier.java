@@ -51,7 +51,16 @@ public enum SkipLimitModifier implements QueryModifier {
                 return;
             }
 
-            query.setFirstResult((int) getArgument(operation));
+            final long skip = getArgument(operation);
+            if (skip > Integer.MAX_VALUE) {
+                // The offset cannot be expressed in the query, hence both the skip and
+                // any subsequent limit are left to be applied by the Stream
+                mergingTracker.markAsMerged(SKIP);
+                mergingTracker.markAsMerged(LIMIT);
+                return;
+            }
+
+            query.setFirstResult((int) skip);
             mergingTracker.markAsMerged(operationType);
             mergingTracker.markForRemoval(operationReference.index());
 
@@ -61,7 +70,7 @@ public enum SkipLimitModifier implements QueryModifier {
                 final IntermediateOperationReference nextReference = optionalNext.get();
                 final IntermediateOperation<?, ?> next = nextReference.get();
 
-                if (next.type() == LIMIT) {
+                if (next.type() == LIMIT && getArgument(next) <= Integer.MAX_VALUE) {
                     query.setMaxResults((int) getArgument(next));
                     mergingTracker.markAsMerged(next.type());
                     mergingTracker.markForRemoval(nextReference.index());
@@ -70,7 +79,13 @@ public enum SkipLimitModifier implements QueryModifier {
                 query.setMaxResults(Integer.MAX_VALUE);
             }
         } else {
-            query.setMaxResults((int) getArgument(operation));
+            final long limit = getArgument(operation);
+            if (limit > Integer.MAX_VALUE) {
+                mergingTracker.markAsMerged(LIMIT);
+                return;
+            }
+
+            query.setMaxResults((int) limit);
             mergingTracker.markAsMerged(operationType);
             mergingTracker.markForRemoval(operationReference.index());
         }
@@ -12,8 +12,10 @@
  */
 package com.speedment.jpastreamer.merger.standard.internal.tracker;
 
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
 
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -56,6 +58,24 @@ public interface MergingTracker {
      */
     void markForRemoval(int idx);
 
+    /**
+     * Returns a {@code Map} of indices to the operations that should replace the
+     * operations at those indices after the merge cycle is finished.
+     *
+     * @return {@code Map} of indices to replacement operations
+     */
+    Map<Integer, IntermediateOperation<?, ?>> forReplacement();
+
+    /**
+     * Marks a specific operation for replacement by storing its index in the pipeline
+     * together with the operation that replaces it. This is used when only a part of
+     * an operation could be merged.
+     *
+     * @param idx to be marked for replacement
+     * @param replacement operation that retains the part that was not merged
+     */
+    void markForReplacement(int idx, IntermediateOperation<?, ?> replacement);
+
     /**
      * Creates and returns a new {@code MergingTracker} instance.
      *
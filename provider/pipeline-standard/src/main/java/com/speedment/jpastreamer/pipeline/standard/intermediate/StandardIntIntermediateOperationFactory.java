@@ -0,0 +1,105 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.pipeline.standard.intermediate;
+
+import com.speedment.jpastreamer.pipeline.intermediate.IntIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.standard.internal.intermediate.InternalIntIntermediateOperationFactory;
+
+import java.util.function.*;
+import java.util.stream.*;
+
+public final class StandardIntIntermediateOperationFactory implements IntIntermediateOperationFactory {
+
+    private final IntIntermediateOperationFactory delegate = new InternalIntIntermediateOperationFactory();
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createFilter(IntPredicate predicate) {
+        return delegate.createFilter(predicate);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createMap(IntUnaryOperator mapper) {
+        return delegate.createMap(mapper);
+    }
+
+    @Override
+    public <U> IntermediateOperation<IntStream, Stream<U>> createMapToObj(IntFunction<? extends U> mapper) {
+        return delegate.createMapToObj(mapper);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, LongStream> createMapToLong(IntToLongFunction mapper) {
+        return delegate.createMapToLong(mapper);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, DoubleStream> createMapToDouble(IntToDoubleFunction mapper) {
+        return delegate.createMapToDouble(mapper);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, LongStream> createAsLongStream() {
+        return delegate.createAsLongStream();
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, DoubleStream> createAsDoubleStream() {
+        return delegate.createAsDoubleStream();
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, Stream<Integer>> createBoxed() {
+        return delegate.createBoxed();
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createFlatMap(IntFunction<? extends IntStream> mapper) {
+        return delegate.createFlatMap(mapper);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createDistinct() {
+        return delegate.createDistinct();
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createSorted() {
+        return delegate.createSorted();
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createPeek(IntConsumer action) {
+        return delegate.createPeek(action);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createLimit(long maxSize) {
+        return delegate.createLimit(maxSize);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createSkip(long n) {
+        return delegate.createSkip(n);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createTakeWhile(IntPredicate predicate) {
+        return delegate.createTakeWhile(predicate);
+    }
+
+    @Override
+    public IntermediateOperation<IntStream, IntStream> createDropWhile(IntPredicate predicate) {
+        return delegate.createDropWhile(predicate);
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.pipeline.standard.internal.intermediate;
+
+import com.speedment.jpastreamer.javanine.Java9StreamUtil;
+import com.speedment.jpastreamer.pipeline.intermediate.LongIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+
+import java.util.function.*;
+import java.util.stream.*;
+
+import static java.util.Objects.requireNonNull;
+
+public final class InternalLongIntermediateOperationFactory implements LongIntermediateOperationFactory {
+
+    private static final IntermediateOperation<LongStream, DoubleStream> AS_DOUBLE_STREAM = new StandardIntermediateOperation<>(
+            IntermediateOperationType.AS,
+            LongStream.class,
+            DoubleStream.class,
+            (Function<LongStream, DoubleStream>) LongStream::asDoubleStream);
+
+    private static final IntermediateOperation<LongStream, Stream<Long>> BOXED = new StandardIntermediateOperation<>(
+            IntermediateOperationType.BOXED,
+            LongStream.class,
+            Stream.class,
+            (Function<LongStream, Stream<Long>>) LongStream::boxed);
+
+    private static final IntermediateOperation<LongStream, LongStream> DISTINCT = new StandardIntermediateOperation<>(
+            IntermediateOperationType.DISTINCT,
+            LongStream.class,
+            LongStream.class,
+            (Function<LongStream, LongStream>) LongStream::distinct);
+
+    private static final IntermediateOperation<LongStream, LongStream> SORTED = new StandardIntermediateOperation<>(
+            IntermediateOperationType.SORTED,
+            LongStream.class,
+            LongStream.class,
+            (Function<LongStream, LongStream>) LongStream::sorted);
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createFilter(final LongPredicate predicate) {
+        requireNonNull(predicate);
+        final Function<LongStream, LongStream> function = s -> s.filter(predicate);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.FILTER,
+                LongStream.class,
+                LongStream.class,
+                function,
+                predicate);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createMap(final LongUnaryOperator mapper) {
+        requireNonNull(mapper);
+        final Function<LongStream, LongStream> function = s -> s.map(mapper);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.MAP_TO_SAME,
+                LongStream.class,
+                LongStream.class,
+                function,
+                mapper);
+    }
+
+    @Override
+    public <U> IntermediateOperation<LongStream, Stream<U>> createMapToObj(final LongFunction<? extends U> mapper) {
+        requireNonNull(mapper);
+        final Function<LongStream, Stream<U>> function = s -> s.mapToObj(mapper);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.MAP_TO,
+                LongStream.class,
+                Stream.class,
+                function,
+                mapper);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, IntStream> createMapToInt(final LongToIntFunction mapper) {
+        requireNonNull(mapper);
+        final Function<LongStream, IntStream> function = s -> s.mapToInt(mapper);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.MAP_TO,
+                LongStream.class,
+                IntStream.class,
+                function,
+                mapper);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, DoubleStream> createMapToDouble(final LongToDoubleFunction mapper) {
+        requireNonNull(mapper);
+        final Function<LongStream, DoubleStream> function = s -> s.mapToDouble(mapper);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.MAP_TO,
+                LongStream.class,
+                DoubleStream.class,
+                function,
+                mapper);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, DoubleStream> createAsDoubleStream() {
+        return AS_DOUBLE_STREAM;
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, Stream<Long>> createBoxed() {
+        return BOXED;
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createFlatMap(final LongFunction<? extends LongStream> mapper) {
+        requireNonNull(mapper);
+        final Function<LongStream, LongStream> function = s -> s.flatMap(mapper);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.FLAT_MAP,
+                LongStream.class,
+                LongStream.class,
+                function,
+                mapper);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createDistinct() {
+        return DISTINCT;
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createSorted() {
+        return SORTED;
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createPeek(final LongConsumer action) {
+        requireNonNull(action);
+        final Function<LongStream, LongStream> function = s -> s.peek(action);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.PEEK,
+                LongStream.class,
+                LongStream.class,
+                function,
+                action);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createLimit(final long maxSize) {
+        if (maxSize < 0)
+            throw new IllegalArgumentException(Long.toString(maxSize));
+
+        final Function<LongStream, LongStream> function = s -> s.limit(maxSize);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.LIMIT,
+                LongStream.class,
+                LongStream.class,
+                function,
+                maxSize);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createSkip(final long n) {
+        if (n < 0)
+            throw new IllegalArgumentException(Long.toString(n));
+
+        final Function<LongStream, LongStream> function = s -> s.skip(n);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.SKIP,
+                LongStream.class,
+                LongStream.class,
+                function,
+                n);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createTakeWhile(final LongPredicate predicate) {
+        requireNonNull(predicate);
+        final Function<LongStream, LongStream> function = s -> Java9StreamUtil.takeWhile(s, predicate);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.TAKE_WHILE,
+                LongStream.class,
+                LongStream.class,
+                function,
+                predicate);
+    }
+
+    @Override
+    public IntermediateOperation<LongStream, LongStream> createDropWhile(final LongPredicate predicate) {
+        requireNonNull(predicate);
+        final Function<LongStream, LongStream> function = s -> Java9StreamUtil.dropWhile(s, predicate);
+        return new StandardIntermediateOperation<>(
+                IntermediateOperationType.DROP_WHILE,
+                LongStream.class,
+                LongStream.class,
+                function,
+                predicate);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.pipeline.standard.internal;
+
+import com.speedment.jpastreamer.pipeline.standard.internal.terminal.InternalIntTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.IntTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+import org.junit.jupiter.api.Test;
+
+import java.util.IntSummaryStatistics;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.function.IntBinaryOperator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InternalIntTerminalOperationFactoryTest {
+
+    private final IntTerminalOperationFactory factory = new InternalIntTerminalOperationFactory();
+
+    @Test
+    void acquireSum() {
+        final TerminalOperation<IntStream, Integer> sum = factory.acquireSum();
+
+        assertEquals(TerminalOperationType.SUM_INT, sum.type());
+        assertEquals(IntStream.class, sum.streamType());
+        assertEquals(int.class, sum.returnType());
+        assertEquals(0, sum.arguments().length);
+
+        assertEquals(6, sum.toIntFunction().applyAsInt(IntStream.of(1, 2, 3)));
+
+        assertThrows(ClassCastException.class, sum::function);
+        assertThrows(ClassCastException.class, sum::toLongFunction);
+    }
+
+    @Test
+    void acquireAverage() {
+        final TerminalOperation<IntStream, OptionalDouble> average = factory.acquireAverage();
+
+        assertEquals(TerminalOperationType.AVERAGE, average.type());
+        assertEquals(OptionalDouble.of(2), average.function().apply(IntStream.of(1, 2, 3)));
+        assertEquals(OptionalDouble.empty(), average.function().apply(IntStream.empty()));
+    }
+
+    @Test
+    void acquireSummaryStatistics() {
+        final TerminalOperation<IntStream, IntSummaryStatistics> summaryStatistics = factory.acquireSummaryStatistics();
+
+        final IntSummaryStatistics statistics = summaryStatistics.function().apply(IntStream.of(1, 2, 3));
+        assertEquals(3, statistics.getCount());
+        assertEquals(1, statistics.getMin());
+        assertEquals(3, statistics.getMax());
+    }
+
+    @Test
+    void createReduce() {
+        final IntBinaryOperator op = Integer::max;
+
+        final TerminalOperation<IntStream, OptionalInt> reduce = factory.createReduce(op);
+
+        assertEquals(TerminalOperationType.REDUCE, reduce.type());
+        assertEquals(1, reduce.arguments().length);
+        assertEquals(op, reduce.arguments()[0]);
+        assertEquals(OptionalInt.of(3), reduce.function().apply(IntStream.of(1, 3, 2)));
+    }
+
+    @Test
+    void createAnyMatch() {
+        final TerminalOperation<IntStream, Boolean> anyMatch = factory.createAnyMatch(i -> i > 2);
+
+        assertEquals(TerminalOperationType.ANY_MATCH, anyMatch.type());
+        assertTrue(anyMatch.predicate().test(IntStream.of(1, 3)));
+        assertFalse(anyMatch.predicate().test(IntStream.of(1, 2)));
+    }
+
+}
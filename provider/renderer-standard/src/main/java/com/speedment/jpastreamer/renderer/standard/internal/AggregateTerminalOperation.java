@@ -0,0 +1,104 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import java.util.stream.BaseStream;
+
+/**
+ * A terminal operation that returns a result that has already been computed
+ * by the database rather than computing it from the stream it is applied to.
+ *
+ * @param <S> the type of stream
+ * @param <R> the type of the result
+ */
+final class AggregateTerminalOperation<S extends BaseStream<?, S>, R> implements TerminalOperation<S, R> {
+
+    private final TerminalOperation<S, R> delegate;
+    private final R result;
+
+    AggregateTerminalOperation(final TerminalOperation<S, R> delegate, final R result) {
+        this.delegate = requireNonNull(delegate);
+        this.result = requireNonNull(result);
+    }
+
+    @Override
+    public TerminalOperationType type() {
+        return delegate.type();
+    }
+
+    @Override
+    public Class<? super S> streamType() {
+        return delegate.streamType();
+    }
+
+    @Override
+    public Class<? super R> returnType() {
+        return delegate.returnType();
+    }
+
+    @Override
+    public Object[] arguments() {
+        return delegate.arguments();
+    }
+
+    @Override
+    public Function<S, R> function() {
+        // Ensures that the operation has a function in the first place
+        delegate.function();
+        return stream -> result;
+    }
+
+    @Override
+    public ToLongFunction<S> toLongFunction() {
+        delegate.toLongFunction();
+        return stream -> (Long) result;
+    }
+
+    @Override
+    public ToIntFunction<S> toIntFunction() {
+        delegate.toIntFunction();
+        return stream -> (Integer) result;
+    }
+
+    @Override
+    public ToDoubleFunction<S> toDoubleFunction() {
+        delegate.toDoubleFunction();
+        return stream -> (Double) result;
+    }
+
+    @Override
+    public Predicate<S> predicate() {
+        return delegate.predicate();
+    }
+
+    @Override
+    public Consumer<S> consumer() {
+        return delegate.consumer();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.MAP_TO;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaFactory;
+import com.speedment.jpastreamer.field.DoubleField;
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.IntField;
+import com.speedment.jpastreamer.field.LongField;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.DoubleSummaryStatistics;
+import java.util.EnumSet;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedList;
+import java.util.LongSummaryStatistics;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.stream.BaseStream;
+import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Renders pipelines that end with an aggregate over a primitive field, e.g.
+ * {@code mapToInt(Film$.length).sum()}, as a single aggregate query rather
+ * than streaming the entities.
+ * <p>
+ * The aggregate query selects {@code COUNT}, {@code SUM}, {@code MIN} and
+ * {@code MAX} of the column, from which the result of any of the supported
+ * terminal operations can be derived. Primitive fields cannot be null so
+ * the aggregates cover the same rows as the stream would.
+ */
+enum AggregateUtil {;
+
+    private static final Set<TerminalOperationType> AGGREGATES = EnumSet.of(
+        TerminalOperationType.SUM_INT,
+        TerminalOperationType.SUM_LONG,
+        TerminalOperationType.SUM_DOUBLE,
+        TerminalOperationType.AVERAGE,
+        TerminalOperationType.SUMMARY_STATISTICS,
+        TerminalOperationType.MIN,
+        TerminalOperationType.MAX
+    );
+
+    // The constructors that take the aggregates were added in Java 10
+    private static final MethodHandle INT_SUMMARY_STATISTICS = summaryStatisticsConstructor(IntSummaryStatistics.class, int.class);
+    private static final MethodHandle LONG_SUMMARY_STATISTICS = summaryStatisticsConstructor(LongSummaryStatistics.class, long.class);
+    private static final MethodHandle DOUBLE_SUMMARY_STATISTICS = summaryStatisticsConstructor(DoubleSummaryStatistics.class, double.class);
+
+    /**
+     * Returns the field that is aggregated by the provided pipeline, or an
+     * empty {@code Optional} if the pipeline cannot be rendered as an
+     * aggregate query.
+     * <p>
+     * The pipeline is expected to have been merged with a query already, so
+     * that the only remaining operation is the mapping of the entities to
+     * the field values, possibly preceded by sorting which does not affect
+     * the aggregate.
+     *
+     * @param pipeline to examine
+     * @return the aggregated field
+     */
+    static Optional<Field<?>> aggregatedField(final Pipeline<?> pipeline) {
+        final TerminalOperation<?, ?> terminalOperation = pipeline.terminatingOperation();
+
+        if (!AGGREGATES.contains(terminalOperation.type()) || statisticsUnavailable(terminalOperation)) {
+            return Optional.empty();
+        }
+
+        final LinkedList<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (intermediateOperations.isEmpty() || intermediateOperations.stream()
+            .limit(intermediateOperations.size() - 1)
+            .anyMatch(io -> io.type() != SORTED)) {
+            return Optional.empty();
+        }
+
+        final IntermediateOperation<?, ?> mapping = intermediateOperations.getLast();
+
+        if (mapping.type() != MAP_TO || mapping.arguments().length != 1) {
+            return Optional.empty();
+        }
+
+        final Object mapper = mapping.arguments()[0];
+        final Class<?> returnType = mapping.returnType();
+
+        if ((returnType == IntStream.class && mapper instanceof IntField)
+            || (returnType == LongStream.class && mapper instanceof LongField)
+            || (returnType == DoubleStream.class && mapper instanceof DoubleField)) {
+            return Optional.of((Field<?>) mapper);
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Creates a query that selects the aggregates of the provided field
+     * among the entities selected by the provided criteria.
+     *
+     * @param criteriaFactory to create the query with
+     * @param entityManager to create the query with
+     * @param criteria that selects the entities
+     * @param field to aggregate
+     * @param <T> the entity type
+     * @return the aggregate query
+     */
+    static <T> Criteria<T, Object[]> createAggregateCriteria(
+        final CriteriaFactory criteriaFactory,
+        final EntityManager entityManager,
+        final Criteria<T, T> criteria,
+        final Field<?> field
+    ) {
+        final CriteriaQuery<T> criteriaQuery = criteria.getQuery();
+
+        final Criteria<T, Object[]> aggregateCriteria = criteriaFactory.createCriteria(
+            entityManager,
+            criteriaQuery.getResultType(),
+            Object[].class
+        );
+        aggregateCriteria.getRoot().alias(criteria.getRoot().getAlias());
+
+        final CriteriaBuilder builder = aggregateCriteria.getBuilder();
+        final Path<Number> path = aggregateCriteria.getRoot().get(field.columnName());
+
+        final CriteriaQuery<Object[]> aggregateQuery = aggregateCriteria.getQuery();
+
+        aggregateQuery.multiselect(builder.count(path), builder.sum(path), builder.min(path), builder.max(path));
+
+        if (criteriaQuery.getRestriction() != null) {
+            aggregateQuery.where(criteriaQuery.getRestriction());
+        }
+
+        return aggregateCriteria;
+    }
+
+    /**
+     * Returns a terminal operation that yields the result of the provided
+     * terminal operation as derived from the provided aggregates.
+     *
+     * @param terminalOperation to derive the result of
+     * @param aggregates the count, sum, min and max of the values
+     * @param <S> the type of stream
+     * @param <R> the type of the result
+     * @return a terminal operation that yields the derived result
+     */
+    @SuppressWarnings("unchecked")
+    static <S extends BaseStream<?, S>, R> TerminalOperation<S, R> aggregate(
+        final TerminalOperation<S, R> terminalOperation,
+        final Object[] aggregates
+    ) {
+        requireNonNull(terminalOperation);
+        requireNonNull(aggregates);
+        return new AggregateTerminalOperation<>(
+            terminalOperation,
+            (R) result(terminalOperation.type(), terminalOperation.streamType(), aggregates)
+        );
+    }
+
+    /**
+     * Returns an empty stream of the provided type.
+     *
+     * @param streamType of the stream
+     * @return an empty stream
+     */
+    static BaseStream<?, ?> emptyStream(final Class<?> streamType) {
+        if (streamType == IntStream.class) {
+            return IntStream.empty();
+        }
+        if (streamType == LongStream.class) {
+            return LongStream.empty();
+        }
+        return DoubleStream.empty();
+    }
+
+    static Object result(final TerminalOperationType type, final Class<?> streamType, final Object[] aggregates) {
+        final long count = aggregates[0] == null ? 0 : ((Number) aggregates[0]).longValue();
+        final Number sum = (Number) aggregates[1];
+        final Number min = (Number) aggregates[2];
+        final Number max = (Number) aggregates[3];
+
+        switch (type) {
+            // Integral sums are narrowed just like IntStream::sum overflows
+            case SUM_INT: return count == 0 ? 0 : (int) sum.longValue();
+            case SUM_LONG: return count == 0 ? 0L : sum.longValue();
+            case SUM_DOUBLE: return count == 0 ? 0d : sum.doubleValue();
+            case AVERAGE: {
+                if (count == 0) {
+                    return OptionalDouble.empty();
+                }
+                return OptionalDouble.of(streamType == DoubleStream.class
+                    ? sum.doubleValue() / count
+                    : (double) sum.longValue() / count);
+            }
+            case MIN: return optional(streamType, count, min);
+            case MAX: return optional(streamType, count, max);
+            case SUMMARY_STATISTICS: return summaryStatistics(streamType, count, sum, min, max);
+            default: throw new IllegalArgumentException(type + " is not an aggregate");
+        }
+    }
+
+    private static Object optional(final Class<?> streamType, final long count, final Number value) {
+        if (streamType == IntStream.class) {
+            return count == 0 ? OptionalInt.empty() : OptionalInt.of(value.intValue());
+        }
+        if (streamType == LongStream.class) {
+            return count == 0 ? OptionalLong.empty() : OptionalLong.of(value.longValue());
+        }
+        return count == 0 ? OptionalDouble.empty() : OptionalDouble.of(value.doubleValue());
+    }
+
+    private static Object summaryStatistics(
+        final Class<?> streamType,
+        final long count,
+        final Number sum,
+        final Number min,
+        final Number max
+    ) {
+        if (count == 0) {
+            if (streamType == IntStream.class) {
+                return new IntSummaryStatistics();
+            }
+            if (streamType == LongStream.class) {
+                return new LongSummaryStatistics();
+            }
+            return new DoubleSummaryStatistics();
+        }
+
+        try {
+            if (streamType == IntStream.class) {
+                return INT_SUMMARY_STATISTICS.invoke(count, min.intValue(), max.intValue(), sum.longValue());
+            }
+            if (streamType == LongStream.class) {
+                return LONG_SUMMARY_STATISTICS.invoke(count, min.longValue(), max.longValue(), sum.longValue());
+            }
+            return DOUBLE_SUMMARY_STATISTICS.invoke(count, min.doubleValue(), max.doubleValue(), sum.doubleValue());
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable t) {
+            throw new IllegalStateException(t);
+        }
+    }
+
+    private static boolean statisticsUnavailable(final TerminalOperation<?, ?> terminalOperation) {
+        if (terminalOperation.type() != TerminalOperationType.SUMMARY_STATISTICS) {
+            return false;
+        }
+
+        final Class<?> streamType = terminalOperation.streamType();
+
+        return (streamType == IntStream.class ? INT_SUMMARY_STATISTICS
+            : streamType == LongStream.class ? LONG_SUMMARY_STATISTICS
+            : DOUBLE_SUMMARY_STATISTICS) == null;
+    }
+
+    private static MethodHandle summaryStatisticsConstructor(final Class<?> statisticsClass, final Class<?> valueClass) {
+        final Class<?> sumClass = valueClass == double.class ? double.class : long.class;
+        try {
+            return MethodHandles.publicLookup().findConstructor(
+                statisticsClass,
+                MethodType.methodType(void.class, long.class, valueClass, valueClass, sumClass)
+            );
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,77 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.persistence.EntityManager;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator that clears the persistence context of an
+ * {@link EntityManager} each time a window of elements has been
+ * passed downstream, thereby detaching all entities materialized so far.
+ *
+ * @param <T> the type of elements
+ */
+final class ClearingSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<T> spliterator;
+    private final EntityManager entityManager;
+    private final int windowSize;
+
+    private int count;
+
+    ClearingSpliterator(
+        final Spliterator<T> spliterator,
+        final EntityManager entityManager,
+        final int windowSize
+    ) {
+        this.spliterator = requireNonNull(spliterator);
+        this.entityManager = requireNonNull(entityManager);
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        requireNonNull(action);
+        final boolean advanced = spliterator.tryAdvance(action);
+        if (advanced && ++count == windowSize) {
+            // The element has been processed downstream so the window can be released
+            count = 0;
+            entityManager.clear();
+        }
+        return advanced;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // Clearing is tied to a single EntityManager so splitting is not supported
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return spliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return spliterator.characteristics();
+    }
+
+}
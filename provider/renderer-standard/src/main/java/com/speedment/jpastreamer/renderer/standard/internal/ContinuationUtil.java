@@ -0,0 +1,105 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.comparator.FieldComparator;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration.ContinuationToken;
+
+import javax.persistence.metamodel.Metamodel;
+
+/**
+ * Rewrites a pipeline so that it continues after a {@link ContinuationToken}.
+ * <p>
+ * The position of the token is expressed as a filter on the unique sort key
+ * which, in turn, is merged into the WHERE clause of the query. Thus, the
+ * database can seek directly to the first element using an index instead of
+ * reading and discarding the elements of all preceding pages.
+ */
+enum ContinuationUtil {;
+
+    /**
+     * Inserts a filter that only accepts elements after the provided
+     * {@code token} at the beginning of the provided {@code pipeline}.
+     *
+     * @param pipeline to rewrite
+     * @param token to continue after
+     * @param metamodel used to determine if the token's field is the id
+     * @param operationFactory used to create the filter
+     * @throws IllegalStateException if the token's field is not unique or
+     *         if the pipeline is not sorted on the token's field
+     */
+    static <T> void applyContinuation(
+        final Pipeline<T> pipeline,
+        final ContinuationToken<T> token,
+        final Metamodel metamodel,
+        final IntermediateOperationFactory operationFactory
+    ) {
+        requireNonNull(pipeline);
+        requireNonNull(token);
+        requireNonNull(operationFactory);
+
+        final Field<T> field = token.field();
+
+        if (!field.isUnique() && !isId(metamodel, pipeline.root(), field.columnName())) {
+            throw new IllegalStateException(
+                "Unable to continue after " + token + " because " + field.columnName() + " is neither unique nor the id of " + pipeline.root().getSimpleName()
+            );
+        }
+
+        final FieldComparator<?> comparator = sortKey(pipeline, field);
+
+        pipeline.intermediateOperations().addFirst(operationFactory.createFilter(token.predicate(comparator.isReversed())));
+    }
+
+    private static <T> FieldComparator<?> sortKey(final Pipeline<T> pipeline, final Field<T> field) {
+        for (IntermediateOperation<?, ?> operation : pipeline.intermediateOperations()) {
+            if (operation.type() == IntermediateOperationType.FILTER) {
+                continue;
+            }
+
+            if (operation.type() == IntermediateOperationType.SORTED
+                && operation.arguments().length == 1
+                && operation.arguments()[0] instanceof FieldComparator) {
+
+                final FieldComparator<?> comparator = (FieldComparator<?>) operation.arguments()[0];
+                if (comparator.getField().columnName().equals(field.columnName())) {
+                    return comparator;
+                }
+            }
+
+            break;
+        }
+
+        throw new IllegalStateException(
+            "Unable to continue after a token because the Stream is not sorted on " + field.columnName() + " before " +
+                "any operation other than filter is applied"
+        );
+    }
+
+    private static boolean isId(final Metamodel metamodel, final Class<?> entityClass, final String columnName) {
+        if (metamodel == null) {
+            return false;
+        }
+
+        return metamodel.entity(entityClass).getSingularAttributes().stream()
+            .anyMatch(attribute -> attribute.isId() && attribute.getName().equals(columnName));
+    }
+
+}
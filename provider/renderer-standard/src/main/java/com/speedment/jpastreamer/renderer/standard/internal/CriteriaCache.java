@@ -0,0 +1,229 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaParameter;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+
+import javax.persistence.EntityManager;
+import javax.persistence.Query;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+
+/**
+ * A bounded, least-recently-used cache of merged {@link Criteria} keyed
+ * by {@link PipelineFingerprint}.
+ * <p>
+ * JPA providers are free to modify criteria objects when they are compiled
+ * into a query, e.g. by assigning aliases. A cached Criteria is therefore
+ * only reused with the {@link EntityManager} that compiled it first. As an
+ * EntityManager is leased by a single stream at a time, a cached Criteria is
+ * never compiled concurrently. The Criteria cached for an EntityManager are
+ * discarded once the EntityManager is no longer referenced.
+ */
+final class CriteriaCache {
+
+    static final String MAX_SIZE_PROPERTY = "jpastreamer.renderer.criteriacachesize";
+
+    private static final int DEFAULT_MAX_SIZE = 512;
+
+    private final Map<EntityManager, Map<PipelineFingerprint, CachedCriteria<?>>> caches;
+    private final int maxSize;
+
+    CriteriaCache() {
+        this(Integer.getInteger(MAX_SIZE_PROPERTY, DEFAULT_MAX_SIZE));
+    }
+
+    CriteriaCache(final int maxSize) {
+        if (maxSize < 0) {
+            throw new IllegalArgumentException("maxSize must not be negative: " + maxSize);
+        }
+        this.maxSize = maxSize;
+        this.caches = new WeakHashMap<>();
+    }
+
+    boolean isEnabled() {
+        return maxSize > 0;
+    }
+
+    /**
+     * Returns the Criteria cached for the provided {@code entityManager}
+     * under the provided {@code fingerprint}, or {@code null} if there is
+     * none.
+     *
+     * @param entityManager that the Criteria is to be compiled by
+     * @param fingerprint of the pipeline that is rendered
+     * @param <T> the entity type
+     * @return the cached Criteria, or {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    <T> CachedCriteria<T> get(final EntityManager entityManager, final PipelineFingerprint fingerprint) {
+        requireNonNull(entityManager);
+        requireNonNull(fingerprint);
+        synchronized (caches) {
+            final Map<PipelineFingerprint, CachedCriteria<?>> cache = caches.get(entityManager);
+            return cache == null ? null : (CachedCriteria<T>) cache.get(fingerprint);
+        }
+    }
+
+    void put(final EntityManager entityManager, final PipelineFingerprint fingerprint, final CachedCriteria<?> cachedCriteria) {
+        requireNonNull(entityManager);
+        requireNonNull(fingerprint);
+        requireNonNull(cachedCriteria);
+        if (!isEnabled()) {
+            return;
+        }
+        synchronized (caches) {
+            caches.computeIfAbsent(entityManager, key -> newCache()).put(fingerprint, cachedCriteria);
+        }
+    }
+
+    void clear() {
+        synchronized (caches) {
+            caches.clear();
+        }
+    }
+
+    private Map<PipelineFingerprint, CachedCriteria<?>> newCache() {
+        return new LinkedHashMap<PipelineFingerprint, CachedCriteria<?>>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<PipelineFingerprint, CachedCriteria<?>> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    /**
+     * A merged Criteria together with the indices of the intermediate
+     * operations that were merged into it and, for each of its parameters,
+     * the index of the field predicate the parameter value is obtained from.
+     *
+     * @param <T> the entity type
+     */
+    static final class CachedCriteria<T> {
+
+        private final Criteria<T, T> criteria;
+        private final int[] mergedIndices;
+        private final int[] parameterSources;
+
+        private CachedCriteria(final Criteria<T, T> criteria, final int[] mergedIndices, final int[] parameterSources) {
+            this.criteria = criteria;
+            this.mergedIndices = mergedIndices;
+            this.parameterSources = parameterSources;
+        }
+
+        Criteria<T, T> criteria() {
+            return criteria;
+        }
+
+        /**
+         * Binds the parameters of the cached Criteria to the provided
+         * {@code query} using the values of the field predicates of the
+         * provided {@code fingerprint}.
+         *
+         * @param query to bind parameters to
+         * @param fingerprint of the pipeline that is rendered
+         */
+        void bindParameters(final Query query, final PipelineFingerprint fingerprint) {
+            final List<CriteriaParameter<T>> parameters = criteria.getParameters();
+            final List<FieldPredicate<?>> fieldPredicates = fingerprint.fieldPredicates();
+            for (int i = 0; i < parameterSources.length; i++) {
+                parameters.get(i).bind(query, fieldPredicates.get(parameterSources[i]));
+            }
+        }
+
+        /**
+         * Removes the intermediate operations that are part of the cached
+         * Criteria from the provided {@code pipeline}.
+         *
+         * @param pipeline with the same fingerprint as the pipeline
+         *                 the Criteria was created from
+         */
+        void removeMergedOperations(final Pipeline<T> pipeline) {
+            final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+            for (int i = mergedIndices.length - 1; i >= 0; i--) {
+                intermediateOperations.remove(mergedIndices[i]);
+            }
+        }
+
+        /**
+         * Creates and returns a new CachedCriteria from the provided
+         * {@code criteria} by comparing the intermediate operations before and
+         * after they were merged into the criteria, or {@link Optional#empty()}
+         * if a parameter of the criteria does not originate from a field
+         * predicate of the provided {@code fingerprint}.
+         *
+         * @param criteria that was merged
+         * @param fingerprint of the pipeline before merging
+         * @param before the intermediate operations before merging
+         * @param after the intermediate operations after merging
+         * @param <T> the entity type
+         * @return a new CachedCriteria
+         */
+        static <T> Optional<CachedCriteria<T>> of(
+            final Criteria<T, T> criteria,
+            final PipelineFingerprint fingerprint,
+            final List<IntermediateOperation<?, ?>> before,
+            final List<IntermediateOperation<?, ?>> after
+        ) {
+            requireNonNull(criteria);
+            requireNonNull(fingerprint);
+
+            final List<CriteriaParameter<T>> parameters = criteria.getParameters();
+            final int[] parameterSources = new int[parameters.size()];
+            for (int i = 0; i < parameterSources.length; i++) {
+                parameterSources[i] = indexOf(fingerprint.fieldPredicates(), parameters.get(i).getSource());
+                if (parameterSources[i] < 0) {
+                    return Optional.empty();
+                }
+            }
+
+            final int[] mergedIndices = new int[before.size() - after.size()];
+            int merged = 0;
+            int remaining = 0;
+            for (int i = 0; i < before.size(); i++) {
+                if (remaining < after.size() && before.get(i) == after.get(remaining)) {
+                    remaining++;
+                } else if (merged < mergedIndices.length) {
+                    mergedIndices[merged++] = i;
+                } else {
+                    break;
+                }
+            }
+            if (remaining != after.size()) {
+                // An operation was replaced by one that retains the part that was not merged
+                return Optional.empty();
+            }
+            return Optional.of(new CachedCriteria<>(criteria, mergedIndices, parameterSources));
+        }
+
+        private static int indexOf(final List<FieldPredicate<?>> fieldPredicates, final FieldPredicate<?> fieldPredicate) {
+            for (int i = 0; i < fieldPredicates.size(); i++) {
+                if (fieldPredicates.get(i) == fieldPredicate) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator that reads a window of elements ahead and clears the
+ * persistence context of an {@link EntityManager} before any element of the
+ * window is passed downstream. Thus, no element that is passed downstream is
+ * managed by the EntityManager.
+ * <p>
+ * In contrast to {@link ClearingSpliterator}, the EntityManager is only used
+ * by the thread that advances this Spliterator, which makes it suitable to
+ * be read by a prefetching background thread.
+ *
+ * @param <T> the type of elements
+ */
+final class DetachingSpliterator<T> implements Spliterator<T> {
+
+    private final Spliterator<T> spliterator;
+    private final EntityManager entityManager;
+    private final int windowSize;
+    private final List<T> window;
+
+    private int next;
+
+    DetachingSpliterator(
+        final Spliterator<T> spliterator,
+        final EntityManager entityManager,
+        final int windowSize
+    ) {
+        this.spliterator = requireNonNull(spliterator);
+        this.entityManager = requireNonNull(entityManager);
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+        }
+        this.windowSize = windowSize;
+        this.window = new ArrayList<>(windowSize);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        requireNonNull(action);
+        if (next == window.size()) {
+            window.clear();
+            next = 0;
+            while (window.size() < windowSize) {
+                if (!spliterator.tryAdvance(window::add)) {
+                    break;
+                }
+            }
+            if (window.isEmpty()) {
+                return false;
+            }
+            entityManager.clear();
+        }
+        action.accept(window.get(next++));
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // Clearing is tied to a single EntityManager so splitting is not supported
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        final long size = spliterator.estimateSize();
+        return size == Long.MAX_VALUE ? size : size + window.size() - next;
+    }
+
+    @Override
+    public int characteristics() {
+        return spliterator.characteristics() & ~(SIZED | SUBSIZED);
+    }
+
+}
@@ -0,0 +1,108 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * A bounded pool of {@link EntityManager}s where each rendered stream
+ * leases an EntityManager of its own. Thus, the persistence context
+ * of one stream is never shared with another stream and entities
+ * materialized by a stream can be reclaimed once the stream is closed.
+ * <p>
+ * At most {@code maxIdle} released EntityManagers are retained for reuse.
+ * EntityManagers released beyond that are closed.
+ */
+final class EntityManagerPool implements AutoCloseable {
+
+    static final String MAX_IDLE_PROPERTY = "jpastreamer.renderer.entitymanagerpoolsize";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final BlockingQueue<EntityManager> idle;
+    private volatile boolean closed;
+
+    EntityManagerPool(final EntityManagerFactory entityManagerFactory) {
+        this(entityManagerFactory, Integer.getInteger(MAX_IDLE_PROPERTY, Runtime.getRuntime().availableProcessors()));
+    }
+
+    EntityManagerPool(final EntityManagerFactory entityManagerFactory, final int maxIdle) {
+        if (maxIdle < 1) {
+            throw new IllegalArgumentException("maxIdle must be positive: " + maxIdle);
+        }
+        this.entityManagerFactory = requireNonNull(entityManagerFactory);
+        this.idle = new ArrayBlockingQueue<>(maxIdle);
+    }
+
+    /**
+     * Returns an EntityManager that is exclusively owned by the caller
+     * until it is handed back via {@link #release(EntityManager)}.
+     *
+     * @return an EntityManager that is exclusively owned by the caller
+     * @throws IllegalStateException if this pool is closed
+     */
+    EntityManager lease() {
+        if (closed) {
+            throw new IllegalStateException("The EntityManager pool is closed");
+        }
+        EntityManager entityManager;
+        while ((entityManager = idle.poll()) != null) {
+            if (entityManager.isOpen()) {
+                return entityManager;
+            }
+        }
+        return entityManagerFactory.createEntityManager();
+    }
+
+    /**
+     * Hands back a previously leased EntityManager. The persistence context
+     * of the EntityManager is cleared so that all entities it manages
+     * become detached and can be garbage collected.
+     *
+     * @param entityManager to hand back
+     */
+    void release(final EntityManager entityManager) {
+        requireNonNull(entityManager);
+        if (!entityManager.isOpen()) {
+            return;
+        }
+        try {
+            entityManager.clear();
+        } catch (RuntimeException e) {
+            entityManager.close();
+            throw e;
+        }
+        if (closed || !idle.offer(entityManager)) {
+            entityManager.close();
+        } else if (closed && idle.remove(entityManager)) {
+            // The pool was closed concurrently
+            entityManager.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        EntityManager entityManager;
+        while ((entityManager = idle.poll()) != null) {
+            if (entityManager.isOpen()) {
+                entityManager.close();
+            }
+        }
+    }
+
+}
@@ -0,0 +1,207 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaFactory;
+import com.speedment.jpastreamer.field.DoubleField;
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.IntField;
+import com.speedment.jpastreamer.field.collector.AggregateCollector;
+import com.speedment.jpastreamer.field.collector.GroupingFieldCollector;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+/**
+ * Renders pipelines that end with collecting the entities using
+ * {@code FieldCollectors.groupingBy(field, downstream)}, where the downstream
+ * is one of the aggregates of {@code FieldCollectors}, as a single
+ * {@code GROUP BY} query rather than streaming the entities.
+ * <p>
+ * The query selects one row per group holding the key and the aggregates
+ * needed to derive the result of the downstream collector.
+ */
+enum GroupingUtil {;
+
+    /**
+     * Returns the collector that the provided pipeline is collected with, or
+     * an empty {@code Optional} if the pipeline cannot be rendered as a
+     * grouping query.
+     * <p>
+     * The pipeline is expected to have been merged with a query already, so
+     * that the only remaining operations, if any, are sorting operations
+     * which do not affect the grouping.
+     *
+     * @param pipeline to examine
+     * @return the grouping collector
+     */
+    static Optional<GroupingFieldCollector<?, ?, ?>> groupingCollector(final Pipeline<?> pipeline) {
+        final TerminalOperation<?, ?> terminalOperation = pipeline.terminatingOperation();
+
+        if (terminalOperation.type() != TerminalOperationType.COLLECT
+            || terminalOperation.streamType() != Stream.class
+            || terminalOperation.arguments().length != 1
+            || !(terminalOperation.arguments()[0] instanceof GroupingFieldCollector)) {
+            return Optional.empty();
+        }
+
+        if (pipeline.intermediateOperations().stream().anyMatch(io -> io.type() != SORTED)) {
+            return Optional.empty();
+        }
+
+        final GroupingFieldCollector<?, ?, ?> collector = (GroupingFieldCollector<?, ?, ?>) terminalOperation.arguments()[0];
+
+        return collector.getDownstream() instanceof AggregateCollector
+            ? Optional.of(collector)
+            : Optional.empty();
+    }
+
+    /**
+     * Creates a query that selects the key and the aggregates of each group
+     * of the entities selected by the provided criteria.
+     *
+     * @param criteriaFactory to create the query with
+     * @param entityManager to create the query with
+     * @param criteria that selects the entities
+     * @param collector to derive the groups and aggregates from
+     * @param <T> the entity type
+     * @return the grouping query
+     */
+    static <T> Criteria<T, Object[]> createGroupingCriteria(
+        final CriteriaFactory criteriaFactory,
+        final EntityManager entityManager,
+        final Criteria<T, T> criteria,
+        final GroupingFieldCollector<?, ?, ?> collector
+    ) {
+        final CriteriaQuery<T> criteriaQuery = criteria.getQuery();
+
+        final Criteria<T, Object[]> groupingCriteria = criteriaFactory.createCriteria(
+            entityManager,
+            criteriaQuery.getResultType(),
+            Object[].class
+        );
+        groupingCriteria.getRoot().alias(criteria.getRoot().getAlias());
+
+        final CriteriaBuilder builder = groupingCriteria.getBuilder();
+        final Path<?> key = groupingCriteria.getRoot().get(collector.getField().columnName());
+        final AggregateCollector<?, ?, ?> downstream = (AggregateCollector<?, ?, ?>) collector.getDownstream();
+
+        final CriteriaQuery<Object[]> groupingQuery = groupingCriteria.getQuery();
+
+        if (downstream.getField().isPresent()) {
+            final Path<Number> path = groupingCriteria.getRoot().get(downstream.getField().get().columnName());
+            groupingQuery.multiselect(key, builder.count(path), builder.sum(path), builder.min(path), builder.max(path));
+        } else {
+            groupingQuery.multiselect(key, builder.count(groupingCriteria.getRoot()));
+        }
+
+        groupingQuery.groupBy(key);
+
+        if (criteriaQuery.getRestriction() != null) {
+            groupingQuery.where(criteriaQuery.getRestriction());
+        }
+
+        return groupingCriteria;
+    }
+
+    /**
+     * Returns a terminal operation that yields the result of the provided
+     * terminal operation as derived from the provided groups.
+     *
+     * @param terminalOperation to derive the result of
+     * @param collector that the terminal operation collects with
+     * @param groups the key and the aggregates of each group
+     * @param <S> the type of stream
+     * @param <R> the type of the result
+     * @return a terminal operation that yields the derived result
+     */
+    @SuppressWarnings("unchecked")
+    static <S extends BaseStream<?, S>, R> TerminalOperation<S, R> group(
+        final TerminalOperation<S, R> terminalOperation,
+        final GroupingFieldCollector<?, ?, ?> collector,
+        final List<Object[]> groups
+    ) {
+        requireNonNull(terminalOperation);
+        requireNonNull(collector);
+        requireNonNull(groups);
+        return new AggregateTerminalOperation<>(
+            terminalOperation,
+            (R) result((AggregateCollector<?, ?, ?>) collector.getDownstream(), groups)
+        );
+    }
+
+    static Map<Object, Object> result(final AggregateCollector<?, ?, ?> downstream, final List<Object[]> groups) {
+        final Map<Object, Object> result = new HashMap<>();
+
+        for (Object[] group : groups) {
+            // Mirrors the in-memory collector which does not accept null keys
+            final Object key = requireNonNull(group[0], "element cannot be mapped to a null key");
+            result.put(key, value(downstream, group));
+        }
+
+        return result;
+    }
+
+    private static Object value(final AggregateCollector<?, ?, ?> downstream, final Object[] group) {
+        final long count = ((Number) group[1]).longValue();
+
+        if (downstream.getAggregate() == AggregateCollector.Aggregate.COUNT) {
+            return count;
+        }
+
+        // Primitive fields cannot be null so every group has all its aggregates
+        final Field<?> field = downstream.getField().orElseThrow(IllegalStateException::new);
+        final Number sum = (Number) group[2];
+        final Number min = (Number) group[3];
+        final Number max = (Number) group[4];
+
+        switch (downstream.getAggregate()) {
+            // Integral sums are narrowed just like Collectors::summingInt overflows
+            case SUM: return narrow(field, sum);
+            case AVERAGE: {
+                return field instanceof DoubleField
+                    ? sum.doubleValue() / count
+                    : (double) sum.longValue() / count;
+            }
+            case MIN: return Optional.of(narrow(field, min));
+            case MAX: return Optional.of(narrow(field, max));
+            default: throw new IllegalArgumentException(downstream.getAggregate() + " is not an aggregate");
+        }
+    }
+
+    private static Object narrow(final Field<?> field, final Number value) {
+        if (field instanceof IntField) {
+            return value.intValue();
+        }
+        if (field instanceof DoubleField) {
+            return value.doubleValue();
+        }
+        return value.longValue();
+    }
+
+}
@@ -0,0 +1,119 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.field.trait.HasArg0;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.invoke.MethodType;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Detects pipelines that look up a single entity by its id, e.g.
+ * {@code filter(Film$.id.equal(42)).findFirst()}, so that they can be
+ * rendered as a call to {@code EntityManager::find} rather than a query.
+ * <p>
+ * A lookup is served by the persistence context or the second-level cache
+ * when the entity is held there, and is never planned as a query.
+ */
+enum KeyLookupUtil {;
+
+    private static final Set<TerminalOperationType> LOOKUPS = EnumSet.of(
+        TerminalOperationType.FIND_FIRST,
+        TerminalOperationType.FIND_ANY,
+        TerminalOperationType.COLLECT
+    );
+
+    /**
+     * Returns the id of the entity that the provided pipeline looks up, or
+     * an empty {@code Optional} if the pipeline cannot be rendered as a
+     * lookup.
+     * <p>
+     * The pipeline is expected to have been optimized already, so that the
+     * filter on the id is the first operation. Any operation following the
+     * filter is applied to the entity that is found.
+     *
+     * @param pipeline to examine
+     * @param metamodel used to determine the id of the entity, may be null
+     * @return the id to look up
+     */
+    static Optional<Object> primaryKey(final Pipeline<?> pipeline, final Metamodel metamodel) {
+        if (metamodel == null) {
+            return Optional.empty();
+        }
+
+        final EntityType<?> entityType = metamodel.entity(pipeline.root());
+
+        // Composite ids are not expressed as a single field
+        if (!entityType.hasSingleIdAttribute()) {
+            return Optional.empty();
+        }
+
+        return entityType.getSingularAttributes().stream()
+            .filter(SingularAttribute::isId)
+            .findFirst()
+            .flatMap(id -> primaryKey(pipeline, id.getName(), id.getJavaType()));
+    }
+
+    static Optional<Object> primaryKey(final Pipeline<?> pipeline, final String idName, final Class<?> idType) {
+        if (!LOOKUPS.contains(pipeline.terminatingOperation().type())) {
+            return Optional.empty();
+        }
+
+        final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (intermediateOperations.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final IntermediateOperation<?, ?> filter = intermediateOperations.get(0);
+
+        if (filter.type() != FILTER || filter.streamType() != Stream.class || filter.arguments().length != 1) {
+            return Optional.empty();
+        }
+
+        final Object predicate = filter.arguments()[0];
+
+        if (!(predicate instanceof FieldPredicate) || !(predicate instanceof HasArg0)) {
+            return Optional.empty();
+        }
+
+        final Field<?> field = ((FieldPredicate<?>) predicate).getField();
+        final Object value = ((HasArg0<?>) predicate).get0();
+
+        // The provider rejects an id of another type than the declared one
+        if (((FieldPredicate<?>) predicate).getPredicateType() != PredicateType.EQUAL
+            || !field.table().isAssignableFrom(pipeline.root())
+            || !field.columnName().equals(idName)
+            || !MethodType.methodType(idType).wrap().returnType().isInstance(value)) {
+            return Optional.empty();
+        }
+
+        return Optional.of(value);
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Splits ranges of integral keys into partitions.
+ */
+enum KeyRangeUtil {;
+
+    /**
+     * Returns if values of the provided {@code type} can be partitioned.
+     *
+     * @param type of the key
+     * @return if values of the provided {@code type} can be partitioned
+     */
+    static boolean isIntegral(final Class<?> type) {
+        return type == Long.class || type == long.class
+            || type == Integer.class || type == int.class
+            || type == Short.class || type == short.class
+            || type == Byte.class || type == byte.class;
+    }
+
+    /**
+     * Splits the inclusive range [{@code min}, {@code max}] into at most
+     * {@code partitions} adjacent inclusive ranges of (almost) equal size.
+     *
+     * @param min the smallest key
+     * @param max the largest key
+     * @param partitions the maximum number of ranges
+     * @return the ranges as {lower, upper} pairs in ascending order
+     */
+    static List<long[]> split(final long min, final long max, final int partitions) {
+        if (min > max) {
+            return Collections.emptyList();
+        }
+
+        final long span;
+        try {
+            span = Math.addExact(Math.subtractExact(max, min), 1);
+        } catch (ArithmeticException e) {
+            // The range covers (almost) all longs, which is not worth partitioning
+            return Collections.singletonList(new long[]{min, max});
+        }
+
+        final long count = Math.min(Math.max(partitions, 1), span);
+        final long width = span / count + (span % count == 0 ? 0 : 1);
+
+        final List<long[]> ranges = new ArrayList<>();
+        for (long lower = min; lower <= max; lower += width) {
+            final long upper = max - lower < width ? max : lower + width - 1;
+            ranges.add(new long[]{lower, upper});
+            if (upper == max) {
+                break;
+            }
+        }
+        return ranges;
+    }
+
+    /**
+     * Converts the provided {@code key} to the provided integral {@code type}.
+     *
+     * @param key to convert
+     * @param type to convert to
+     * @return the converted key
+     */
+    static Object toKey(final long key, final Class<?> type) {
+        if (type == Integer.class || type == int.class) {
+            return (int) key;
+        }
+        if (type == Short.class || type == short.class) {
+            return (short) key;
+        }
+        if (type == Byte.class || type == byte.class) {
+            return (byte) key;
+        }
+        return key;
+    }
+
+}
@@ -0,0 +1,137 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * A Spliterator over a number of partitions, each of which is a Stream that
+ * is opened when the partition is first advanced and closed when it
+ * is exhausted.
+ * <p>
+ * Splitting hands over the first half of the partitions that are yet to be
+ * opened, whereby the encounter order of the partitions is retained and each
+ * partition is read by a single thread. Closing a Spliterator closes the open
+ * partitions of the Spliterators split off from it as well.
+ *
+ * @param <T> the type of elements
+ */
+final class PartitionedSpliterator<T> implements Spliterator<T>, AutoCloseable {
+
+    private final List<Supplier<Stream<T>>> partitions;
+    private final Set<Stream<T>> openStreams;
+    private final int fence;
+
+    private int index;
+    private Stream<T> currentStream;
+    private Spliterator<T> current;
+
+    PartitionedSpliterator(final List<Supplier<Stream<T>>> partitions) {
+        this(requireNonNull(partitions), 0, partitions.size(), ConcurrentHashMap.newKeySet());
+    }
+
+    private PartitionedSpliterator(
+        final List<Supplier<Stream<T>>> partitions,
+        final int index,
+        final int fence,
+        final Set<Stream<T>> openStreams
+    ) {
+        this.partitions = partitions;
+        this.index = index;
+        this.fence = fence;
+        this.openStreams = openStreams;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        requireNonNull(action);
+        while (true) {
+            if (current == null) {
+                if (index >= fence) {
+                    return false;
+                }
+                open(partitions.get(index++));
+            }
+            if (current.tryAdvance(action)) {
+                return true;
+            }
+            closeCurrent();
+        }
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        requireNonNull(action);
+        while (true) {
+            if (current == null) {
+                if (index >= fence) {
+                    return;
+                }
+                open(partitions.get(index++));
+            }
+            current.forEachRemaining(action);
+            closeCurrent();
+        }
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // A partition that has been opened is tied to its EntityManager and is not split further
+        final int remaining = fence - index;
+        if (current != null || remaining < 2) {
+            return null;
+        }
+        final int middle = index + remaining / 2;
+        final Spliterator<T> prefix = new PartitionedSpliterator<>(partitions, index, middle, openStreams);
+        index = middle;
+        return prefix;
+    }
+
+    @Override
+    public long estimateSize() {
+        return index >= fence && current == null ? 0 : Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | NONNULL;
+    }
+
+    @Override
+    public void close() {
+        openStreams.forEach(Stream::close);
+        openStreams.clear();
+    }
+
+    private void open(final Supplier<Stream<T>> partition) {
+        currentStream = partition.get();
+        openStreams.add(currentStream);
+        current = currentStream.spliterator();
+    }
+
+    private void closeCurrent() {
+        openStreams.remove(currentStream);
+        currentStream.close();
+        currentStream = null;
+        current = null;
+    }
+
+}
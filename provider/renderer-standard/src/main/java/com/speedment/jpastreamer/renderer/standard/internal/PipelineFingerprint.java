@@ -0,0 +1,249 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.criteria.CriteriaParameter;
+import com.speedment.jpastreamer.field.comparator.CombinedComparator;
+import com.speedment.jpastreamer.field.comparator.FieldComparator;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.field.predicate.trait.HasInclusion;
+import com.speedment.jpastreamer.field.trait.HasArg0;
+import com.speedment.jpastreamer.field.trait.HasArg1;
+import com.speedment.jpastreamer.field.trait.HasArg2;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * A structural fingerprint of an optimized {@link Pipeline} that
+ * captures everything the criteria merger uses when building a
+ * {@code CriteriaQuery}: the entity, the joins, the operation types,
+ * the field identities, the predicate types and the shapes of the
+ * comparators.
+ * <p>
+ * Two pipelines with equal fingerprints are rendered to
+ * equivalent {@code CriteriaQuery} instances that only differ in the
+ * values bound to their parameters. Values are therefore represented by
+ * their type only and are obtained from the {@link #fieldPredicates()}
+ * of a fingerprint when a cached {@code CriteriaQuery} is reused.
+ */
+final class PipelineFingerprint {
+
+    private enum Token {
+        /** A predicate or comparator that is never merged into the criteria */
+        OPAQUE,
+        /** Natural order, i.e. {@code Stream::sorted} without a comparator */
+        NATURAL
+    }
+
+    private final List<Object> tokens;
+    private final List<FieldPredicate<?>> fieldPredicates;
+    private final int hashCode;
+
+    private PipelineFingerprint(final List<Object> tokens, final List<FieldPredicate<?>> fieldPredicates) {
+        this.tokens = Collections.unmodifiableList(tokens);
+        this.fieldPredicates = Collections.unmodifiableList(fieldPredicates);
+        this.hashCode = tokens.hashCode();
+    }
+
+    /**
+     * Returns the field predicates of the pipeline in a deterministic order
+     * that is the same for all pipelines with equal fingerprints.
+     *
+     * @return the field predicates of the pipeline
+     */
+    List<FieldPredicate<?>> fieldPredicates() {
+        return fieldPredicates;
+    }
+
+    /**
+     * Creates and returns a fingerprint of the provided {@code pipeline} and
+     * {@code streamConfiguration}, or {@link Optional#empty()} if the pipeline
+     * contains elements that cannot be fingerprinted reliably.
+     *
+     * @param pipeline to fingerprint
+     * @param streamConfiguration used to render the pipeline
+     * @return a fingerprint of the provided {@code pipeline}
+     */
+    static Optional<PipelineFingerprint> of(final Pipeline<?> pipeline, final StreamConfiguration<?> streamConfiguration) {
+        requireNonNull(pipeline);
+        requireNonNull(streamConfiguration);
+
+        final List<Object> tokens = new ArrayList<>();
+        final List<FieldPredicate<?>> fieldPredicates = new ArrayList<>();
+        tokens.add(pipeline.root());
+        tokens.add(joins(streamConfiguration));
+        if (pipeline.terminatingOperation() != null) {
+            tokens.add(pipeline.terminatingOperation().type());
+        }
+
+        for (IntermediateOperation<?, ?> operation : pipeline.intermediateOperations()) {
+            tokens.add(operation.type());
+            switch (operation.type()) {
+                case FILTER: {
+                    if (!addPredicate(tokens, fieldPredicates, argument(operation))) {
+                        return Optional.empty();
+                    }
+                    break;
+                }
+                case SORTED: {
+                    addComparator(tokens, argument(operation));
+                    break;
+                }
+                default: {
+                    // The arguments of other operations are never merged into the criteria
+                }
+            }
+        }
+
+        return Optional.of(new PipelineFingerprint(tokens, fieldPredicates));
+    }
+
+    private static Set<List<Object>> joins(final StreamConfiguration<?> streamConfiguration) {
+        // The joins are compared by what is rendered rather than by the equality of their configurations
+        return streamConfiguration.joins().stream()
+            .map(join -> Arrays.<Object>asList(join.field(), join.joinType()))
+            .collect(Collectors.toSet());
+    }
+
+    private static Object argument(final IntermediateOperation<?, ?> operation) {
+        final Object[] arguments = operation.arguments();
+        return arguments.length == 1 ? arguments[0] : null;
+    }
+
+    private static boolean addPredicate(
+        final List<Object> tokens,
+        final List<FieldPredicate<?>> fieldPredicates,
+        final Object predicate
+    ) {
+        if (!(predicate instanceof SpeedmentPredicate)) {
+            tokens.add(Token.OPAQUE);
+            return true;
+        }
+
+        if (predicate instanceof FieldPredicate) {
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+            tokens.add(fieldPredicate.getField());
+            tokens.add(fieldPredicate.getPredicateType());
+            addValueTypes(tokens, fieldPredicate);
+            fieldPredicates.add(fieldPredicate);
+            return true;
+        }
+
+        if (predicate instanceof CombinedPredicate) {
+            final CombinedPredicate<?> combinedPredicate = (CombinedPredicate<?>) predicate;
+            tokens.add(combinedPredicate.getType());
+            tokens.add(combinedPredicate.size());
+            return combinedPredicate.stream()
+                .allMatch(child -> child instanceof SpeedmentPredicate && addPredicate(tokens, fieldPredicates, child));
+        }
+
+        return false;
+    }
+
+    private static void addValueTypes(final List<Object> tokens, final FieldPredicate<?> fieldPredicate) {
+        if (fieldPredicate instanceof HasArg0) {
+            addValueType(tokens, ((HasArg0<?>) fieldPredicate).get0());
+        }
+        if (fieldPredicate instanceof HasArg1) {
+            addValueType(tokens, ((HasArg1<?>) fieldPredicate).get1());
+        }
+        if (fieldPredicate instanceof HasArg2) {
+            addValueType(tokens, ((HasArg2<?>) fieldPredicate).get2());
+        }
+        if (fieldPredicate instanceof HasInclusion) {
+            tokens.add(((HasInclusion) fieldPredicate).getInclusion());
+        }
+    }
+
+    private static void addValueType(final List<Object> tokens, final Object value) {
+        if (value instanceof Collection) {
+            // IN lists of sizes that are padded to the same number of parameters share a Criteria
+            final Collection<?> values = (Collection<?>) value;
+            tokens.add(CriteriaParameter.inListSize(values.size()));
+            tokens.add(values.stream()
+                .filter(Objects::nonNull)
+                .findFirst()
+                .map(PipelineFingerprint::typeOf)
+                .orElse(null)
+            );
+        } else {
+            tokens.add(typeOf(value));
+        }
+    }
+
+    private static Class<?> typeOf(final Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).getDeclaringClass();
+        }
+        return value.getClass();
+    }
+
+    private static void addComparator(final List<Object> tokens, final Object comparator) {
+        if (comparator == null) {
+            tokens.add(Token.NATURAL);
+        } else if (comparator instanceof FieldComparator) {
+            addFieldComparator(tokens, (FieldComparator<?>) comparator);
+        } else if (comparator instanceof CombinedComparator) {
+            final CombinedComparator<?> combinedComparator = (CombinedComparator<?>) comparator;
+            tokens.add(combinedComparator.size());
+            combinedComparator.stream().forEachOrdered(fieldComparator -> addFieldComparator(tokens, fieldComparator));
+        } else if (comparator instanceof Comparator) {
+            tokens.add(Token.OPAQUE);
+        }
+    }
+
+    private static void addFieldComparator(final List<Object> tokens, final FieldComparator<?> fieldComparator) {
+        tokens.add(fieldComparator.getField());
+        tokens.add(fieldComparator.isReversed());
+        tokens.add(fieldComparator.getNullOrder());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final PipelineFingerprint that = (PipelineFingerprint) o;
+
+        return hashCode == that.hashCode && tokens.equals(that.tokens);
+    }
+
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+
+    @Override
+    public String toString() {
+        return "PipelineFingerprint{" + tokens + '}';
+    }
+}
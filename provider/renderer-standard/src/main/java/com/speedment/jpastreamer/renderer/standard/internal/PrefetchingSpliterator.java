@@ -0,0 +1,174 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Spliterator;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * A Spliterator that reads the elements of an underlying Spliterator on a
+ * background thread into a bounded buffer so that reading and consuming
+ * elements overlap.
+ * <p>
+ * The background thread is blocked whenever the buffer is full. Closing the
+ * Spliterator stops the background thread and waits for it to complete so
+ * that the underlying Spliterator can safely be closed afterwards.
+ *
+ * @param <T> the type of elements
+ */
+final class PrefetchingSpliterator<T> implements Spliterator<T>, AutoCloseable {
+
+    private static final Object NULL = new Object();
+    private static final Object END = new Object();
+    private static final long OFFER_TIMEOUT_MS = 100;
+
+    private final Spliterator<T> spliterator;
+    private final Executor executor;
+    private final BlockingQueue<Object> buffer;
+
+    private FutureTask<Void> producer;
+    private boolean exhausted;
+    private volatile boolean closed;
+
+    PrefetchingSpliterator(
+        final Spliterator<T> spliterator,
+        final Executor executor,
+        final int bufferSize
+    ) {
+        this.spliterator = requireNonNull(spliterator);
+        this.executor = requireNonNull(executor);
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+        this.buffer = new ArrayBlockingQueue<>(bufferSize);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean tryAdvance(final Consumer<? super T> action) {
+        requireNonNull(action);
+        if (exhausted) {
+            return false;
+        }
+        if (closed) {
+            throw new IllegalStateException("The Stream has been closed");
+        }
+        if (producer == null) {
+            // Defer the start so that a Stream that is never consumed does not occupy a thread
+            producer = new FutureTask<>(this::produce, null);
+            executor.execute(producer);
+        }
+
+        final Object element = take();
+        if (element == END) {
+            exhausted = true;
+            rethrowFailure();
+            return false;
+        }
+
+        action.accept(element == NULL ? null : (T) element);
+        return true;
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+        // Elements are read by a single background thread so splitting is not supported
+        return null;
+    }
+
+    @Override
+    public long estimateSize() {
+        return spliterator.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        return spliterator.characteristics() & ~(SIZED | SUBSIZED);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        // Make room so that a blocked producer observes the close promptly
+        buffer.clear();
+        if (producer != null) {
+            try {
+                producer.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException ignored) {
+                // The failure is of no interest once the Stream is closed
+            }
+        }
+    }
+
+    private void produce() {
+        try {
+            spliterator.forEachRemaining(element -> put(element == null ? NULL : element));
+        } finally {
+            // The end marker is always delivered, also when reading fails
+            if (!closed) {
+                put(END);
+            }
+        }
+    }
+
+    private void put(final Object element) {
+        try {
+            while (!buffer.offer(element, OFFER_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                if (closed) {
+                    throw new CancellationException();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException();
+        }
+    }
+
+    private Object take() {
+        try {
+            return buffer.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the next element", e);
+        }
+    }
+
+    private void rethrowFailure() {
+        try {
+            producer.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+}
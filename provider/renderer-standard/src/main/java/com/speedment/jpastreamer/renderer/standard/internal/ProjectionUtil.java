@@ -0,0 +1,340 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DISTINCT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.MAP;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static java.util.Collections.emptyMap;
+
+import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.criteria.CriteriaFactory;
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.method.Getter;
+import com.speedment.jpastreamer.field.projection.Projection;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Order;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Selection;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Renders pipelines that map the entities to the value of a field, e.g.
+ * {@code map(Film$.title)}, as a query that selects the column of the field
+ * rather than the entities.
+ * <p>
+ * A {@code distinct()} or {@code sorted()} directly following the mapping is
+ * expressed on the selected column as well.
+ * <p>
+ * Pipelines that map the entities to a {@link Projection} of several fields
+ * are rendered as a query that selects the columns of those fields, from
+ * which the projected objects are constructed.
+ */
+enum ProjectionUtil {;
+
+    // The getters of the fields of the generated metamodel class of each entity
+    private static final ClassValue<Map<Object, Field<?>>> METAMODEL_GETTERS = new ClassValue<Map<Object, Field<?>>>() {
+        @Override
+        protected Map<Object, Field<?>> computeValue(final Class<?> entityClass) {
+            return metamodelGetters(entityClass);
+        }
+    };
+
+    /**
+     * Returns the field that the entities of the provided pipeline are
+     * mapped to, or an empty {@code Optional} if the pipeline cannot be
+     * rendered as a projection.
+     * <p>
+     * The pipeline is expected to have been merged with a query already, so
+     * that the mapping is the first remaining operation.
+     *
+     * @param pipeline to examine
+     * @return the projected field
+     */
+    static Optional<Field<?>> projectedField(final Pipeline<?> pipeline) {
+        final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (intermediateOperations.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final IntermediateOperation<?, ?> mapping = intermediateOperations.get(0);
+
+        if (mapping.type() != MAP || mapping.arguments().length != 1) {
+            return Optional.empty();
+        }
+
+        return field(pipeline.root(), mapping.arguments()[0]);
+    }
+
+    /**
+     * Creates a query that selects the column of the provided field among the
+     * entities selected by the provided criteria.
+     * <p>
+     * The mapping to the field is removed from the provided pipeline together
+     * with any directly following operations that are expressed on the
+     * column.
+     *
+     * @param criteriaFactory to create the query with
+     * @param entityManager to create the query with
+     * @param criteria that selects the entities
+     * @param pipeline that maps the entities to the field
+     * @param field to select
+     * @param <T> the entity type
+     * @return the projection query
+     */
+    static <T> Criteria<T, Object> createProjectionCriteria(
+        final CriteriaFactory criteriaFactory,
+        final EntityManager entityManager,
+        final Criteria<T, T> criteria,
+        final Pipeline<T> pipeline,
+        final Field<?> field
+    ) {
+        final CriteriaQuery<T> criteriaQuery = criteria.getQuery();
+
+        final Criteria<T, Object> projectionCriteria = criteriaFactory.createCriteria(
+            entityManager,
+            criteriaQuery.getResultType(),
+            Object.class
+        );
+        projectionCriteria.getRoot().alias(criteria.getRoot().getAlias());
+
+        final CriteriaBuilder builder = projectionCriteria.getBuilder();
+        final Path<Object> path = projectionCriteria.getRoot().get(field.columnName());
+
+        final CriteriaQuery<Object> projectionQuery = projectionCriteria.getQuery();
+        projectionQuery.select(path);
+
+        if (criteriaQuery.getRestriction() != null) {
+            projectionQuery.where(criteriaQuery.getRestriction());
+        }
+
+        final LinkedList<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+        intermediateOperations.removeFirst();
+
+        List<Order> orders = new ArrayList<>(criteriaQuery.getOrderList());
+        boolean sortedByColumn = false;
+        boolean distinct = false;
+
+        while (!intermediateOperations.isEmpty()) {
+            final IntermediateOperation<?, ?> operation = intermediateOperations.getFirst();
+
+            if (operation.type() == SORTED && operation.arguments().length == 0) {
+                // The previous order only decides the order of equal values which are indistinguishable
+                orders = Collections.singletonList(builder.asc(path));
+                sortedByColumn = true;
+            } else if (operation.type() == DISTINCT && (sortedByColumn || orders.isEmpty())) {
+                // Databases only order distinct rows by the selected columns
+                distinct = true;
+            } else {
+                break;
+            }
+
+            intermediateOperations.removeFirst();
+        }
+
+        projectionQuery.distinct(distinct);
+        projectionQuery.orderBy(orders);
+
+        return projectionCriteria;
+    }
+
+    /**
+     * Returns the projection that the entities of the provided pipeline are
+     * mapped to, or an empty {@code Optional} if the pipeline cannot be
+     * rendered as a projection.
+     * <p>
+     * The pipeline is expected to have been merged with a query already, so
+     * that the mapping is the first remaining operation.
+     *
+     * @param pipeline to examine
+     * @return the projection
+     */
+    static Optional<Projection<?, ?>> projection(final Pipeline<?> pipeline) {
+        final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (intermediateOperations.isEmpty()) {
+            return Optional.empty();
+        }
+
+        final IntermediateOperation<?, ?> mapping = intermediateOperations.get(0);
+
+        if (mapping.type() != MAP || mapping.arguments().length != 1 || !(mapping.arguments()[0] instanceof Projection)) {
+            return Optional.empty();
+        }
+
+        final Projection<?, ?> projection = (Projection<?, ?>) mapping.arguments()[0];
+
+        return projection.fields().stream().allMatch(field -> field.table().isAssignableFrom(pipeline.root()))
+            ? Optional.of(projection)
+            : Optional.empty();
+    }
+
+    /**
+     * Creates a query that selects the columns of the fields of the provided
+     * projection among the entities selected by the provided criteria.
+     * <p>
+     * The mapping to the projection is removed from the provided pipeline.
+     * Operations following the mapping are left in the pipeline as the
+     * equality and order of the projected objects is not known to the
+     * database.
+     *
+     * @param criteriaFactory to create the query with
+     * @param entityManager to create the query with
+     * @param criteria that selects the entities
+     * @param pipeline that maps the entities to the projection
+     * @param projection to select
+     * @param <T> the entity type
+     * @return the projection query
+     */
+    static <T> Criteria<T, Object[]> createProjectionCriteria(
+        final CriteriaFactory criteriaFactory,
+        final EntityManager entityManager,
+        final Criteria<T, T> criteria,
+        final Pipeline<T> pipeline,
+        final Projection<?, ?> projection
+    ) {
+        final CriteriaQuery<T> criteriaQuery = criteria.getQuery();
+
+        final Criteria<T, Object[]> projectionCriteria = criteriaFactory.createCriteria(
+            entityManager,
+            criteriaQuery.getResultType(),
+            Object[].class
+        );
+        projectionCriteria.getRoot().alias(criteria.getRoot().getAlias());
+
+        final CriteriaQuery<Object[]> projectionQuery = projectionCriteria.getQuery();
+
+        final List<Selection<?>> selections = new ArrayList<>();
+        for (Field<?> field : projection.fields()) {
+            selections.add(projectionCriteria.getRoot().get(field.columnName()));
+        }
+        projectionQuery.multiselect(selections);
+
+        if (criteriaQuery.getRestriction() != null) {
+            projectionQuery.where(criteriaQuery.getRestriction());
+        }
+        projectionQuery.orderBy(criteriaQuery.getOrderList());
+
+        pipeline.intermediateOperations().removeFirst();
+
+        return projectionCriteria;
+    }
+
+    /**
+     * Creates a query that counts the rows selected by the provided
+     * projection.
+     *
+     * @param criteriaFactory to create the query with
+     * @param entityManager to create the query with
+     * @param projectionCriteria to count the rows of
+     * @param field that is selected by the projection
+     * @param <T> the entity type
+     * @return the count query
+     */
+    static <T> Criteria<T, Object[]> createCountCriteria(
+        final CriteriaFactory criteriaFactory,
+        final EntityManager entityManager,
+        final Criteria<T, Object> projectionCriteria,
+        final Field<?> field
+    ) {
+        final CriteriaQuery<Object> projectionQuery = projectionCriteria.getQuery();
+
+        final Criteria<T, Object[]> countCriteria = criteriaFactory.createCriteria(
+            entityManager,
+            projectionCriteria.getRoot().getModel().getJavaType(),
+            Object[].class
+        );
+        countCriteria.getRoot().alias(projectionCriteria.getRoot().getAlias());
+
+        final CriteriaBuilder builder = countCriteria.getBuilder();
+        final CriteriaQuery<Object[]> countQuery = countCriteria.getQuery();
+
+        if (projectionQuery.isDistinct()) {
+            // COUNT(DISTINCT column) disregards null whereas Stream::distinct retains it
+            final Path<?> path = countCriteria.getRoot().get(field.columnName());
+            countQuery.multiselect(builder.countDistinct(path), builder.count(countCriteria.getRoot()), builder.count(path));
+        } else {
+            countQuery.multiselect(builder.count(countCriteria.getRoot()));
+        }
+
+        if (projectionQuery.getRestriction() != null) {
+            countQuery.where(projectionQuery.getRestriction());
+        }
+
+        return countCriteria;
+    }
+
+    /**
+     * Returns the number of rows selected by a projection as derived from the
+     * result of the query created by {@link #createCountCriteria}.
+     *
+     * @param counts the result of the count query
+     * @return the number of rows
+     */
+    static long count(final Object[] counts) {
+        final long count = ((Number) counts[0]).longValue();
+
+        if (counts.length == 1) {
+            return count;
+        }
+
+        final boolean hasNull = ((Number) counts[1]).longValue() > ((Number) counts[2]).longValue();
+        return hasNull ? count + 1 : count;
+    }
+
+    static Optional<Field<?>> field(final Class<?> entityClass, final Object mapper) {
+        if (mapper instanceof Field) {
+            final Field<?> field = (Field<?>) mapper;
+            return field.table().isAssignableFrom(entityClass) ? Optional.of(field) : Optional.empty();
+        }
+
+        if (mapper instanceof Getter) {
+            return Optional.ofNullable(METAMODEL_GETTERS.get(entityClass).get(mapper));
+        }
+
+        return Optional.empty();
+    }
+
+    private static Map<Object, Field<?>> metamodelGetters(final Class<?> entityClass) {
+        final Map<Object, Field<?>> getters = new IdentityHashMap<>();
+        try {
+            final Class<?> metamodelClass = Class.forName(entityClass.getName() + "$", true, entityClass.getClassLoader());
+            for (java.lang.reflect.Field member : metamodelClass.getFields()) {
+                if (Modifier.isStatic(member.getModifiers()) && Field.class.isAssignableFrom(member.getType())) {
+                    final Field<?> field = (Field<?>) member.get(null);
+                    if (field != null && field.table().isAssignableFrom(entityClass)) {
+                        getters.put(field.getter(), field);
+                    }
+                }
+            }
+        } catch (ReflectiveOperationException | LinkageError | SecurityException e) {
+            // Without an accessible metamodel, getters are replayed in memory
+            return emptyMap();
+        }
+        return getters;
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+
+import javax.persistence.CacheRetrieveMode;
+import javax.persistence.CacheStoreMode;
+import javax.persistence.TypedQuery;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies the query hints of a {@link StreamConfiguration} to queries.
+ * <p>
+ * Vendor specific hints that are not recognized are silently
+ * ignored by the JPA provider.
+ */
+enum QueryHintUtil {;
+
+    static final String HINT_TIMEOUT = "javax.persistence.query.timeout";
+    static final String HINT_CACHE_RETRIEVE_MODE = "javax.persistence.cache.retrieveMode";
+    static final String HINT_CACHE_STORE_MODE = "javax.persistence.cache.storeMode";
+    static final String HINT_HIBERNATE_FETCH_SIZE = "org.hibernate.fetchSize";
+    static final String HINT_HIBERNATE_CACHEABLE = "org.hibernate.cacheable";
+    static final String HINT_HIBERNATE_READ_ONLY = "org.hibernate.readOnly";
+    static final String HINT_ECLIPSELINK_FETCH_SIZE = "eclipselink.jdbc.fetch-size";
+    static final String HINT_ECLIPSELINK_READ_ONLY = "eclipselink.read-only";
+
+    /**
+     * Applies the fetch size, query timeout, cache and flush mode
+     * settings of the provided {@code streamConfiguration} to the
+     * provided {@code query}.
+     *
+     * @param query to apply hints to
+     * @param streamConfiguration holding the hints
+     */
+    static void applyHints(final TypedQuery<?> query, final StreamConfiguration<?> streamConfiguration) {
+        requireNonNull(query);
+        requireNonNull(streamConfiguration);
+
+        streamConfiguration.fetchSize().ifPresent(fetchSize -> {
+            query.setHint(HINT_HIBERNATE_FETCH_SIZE, fetchSize);
+            query.setHint(HINT_ECLIPSELINK_FETCH_SIZE, Integer.toString(fetchSize));
+        });
+
+        streamConfiguration.queryTimeout().ifPresent(timeout ->
+            query.setHint(HINT_TIMEOUT, (int) Math.min(Integer.MAX_VALUE, Math.max(1, timeout.toMillis())))
+        );
+
+        streamConfiguration.cacheable().ifPresent(cacheable -> {
+            query.setHint(HINT_HIBERNATE_CACHEABLE, cacheable);
+            query.setHint(HINT_CACHE_RETRIEVE_MODE, cacheable ? CacheRetrieveMode.USE : CacheRetrieveMode.BYPASS);
+            query.setHint(HINT_CACHE_STORE_MODE, cacheable ? CacheStoreMode.USE : CacheStoreMode.BYPASS);
+        });
+
+        streamConfiguration.flushMode().ifPresent(query::setFlushMode);
+    }
+
+    /**
+     * Returns the cache settings of the provided {@code streamConfiguration}
+     * as properties of {@code EntityManager::find}.
+     *
+     * @param streamConfiguration holding the hints
+     * @return the properties of the lookup
+     */
+    static Map<String, Object> lookupProperties(final StreamConfiguration<?> streamConfiguration) {
+        requireNonNull(streamConfiguration);
+
+        final Map<String, Object> properties = new HashMap<>();
+
+        streamConfiguration.cacheable().ifPresent(cacheable -> {
+            properties.put(HINT_CACHE_RETRIEVE_MODE, cacheable ? CacheRetrieveMode.USE : CacheRetrieveMode.BYPASS);
+            properties.put(HINT_CACHE_STORE_MODE, cacheable ? CacheStoreMode.USE : CacheStoreMode.BYPASS);
+        });
+
+        return properties;
+    }
+
+    /**
+     * Applies hints so that entities produced by the provided
+     * {@code query} are not tracked for modifications.
+     *
+     * @param query to apply hints to
+     */
+    static void applyReadOnlyHints(final TypedQuery<?> query) {
+        requireNonNull(query);
+        query.setHint(HINT_HIBERNATE_READ_ONLY, true);
+        query.setHint(HINT_ECLIPSELINK_READ_ONLY, "true");
+    }
+
+}
@@ -15,17 +15,17 @@ package com.speedment.jpastreamer.renderer.standard.internal;
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
 import com.speedment.jpastreamer.renderer.RenderResult;
 
-import java.util.stream.Stream;
+import java.util.stream.BaseStream;
 
 public class StandardRenderResult<T> implements RenderResult<T> {
 
     private final Class<T> returnType;
-    private final Stream<T> stream;
+    private final BaseStream<?, ?> stream;
     private final TerminalOperation<?, ?> terminalOperation;
 
     public StandardRenderResult(
         final Class<T> returnType,
-        final Stream<T> stream,
+        final BaseStream<?, ?> stream,
         final TerminalOperation<?, ?> terminalOperation
     ) {
         this.stream = stream;
@@ -39,7 +39,7 @@ public class StandardRenderResult<T> implements RenderResult<T> {
     }
 
     @Override
-    public Stream<T> stream() {
+    public BaseStream<?, ?> stream() {
         return stream;
     }
 
@@ -20,73 +20,279 @@ import com.speedment.jpastreamer.interopoptimizer.IntermediateOperationOptimizer
 import com.speedment.jpastreamer.merger.CriteriaMerger;
 import com.speedment.jpastreamer.merger.MergerFactory;
 import com.speedment.jpastreamer.merger.QueryMerger;
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.collector.GroupingFieldCollector;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.field.projection.Projection;
 import com.speedment.jpastreamer.pipeline.Pipeline;
 import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
 import com.speedment.jpastreamer.renderer.RenderResult;
 import com.speedment.jpastreamer.renderer.Renderer;
+import com.speedment.jpastreamer.renderer.standard.internal.CriteriaCache.CachedCriteria;
 import com.speedment.jpastreamer.rootfactory.RootFactory;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import com.speedment.jpastreamer.termopmodifier.TerminalOperationModifier;
+import com.speedment.jpastreamer.termopmodifier.TerminalOperationModifierFactory;
+import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
+import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizerFactory;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
+import javax.persistence.Query;
 import javax.persistence.TypedQuery;
 import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.ParameterExpression;
+import javax.persistence.criteria.Path;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.BaseStream;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 public final class StandardRenderer implements Renderer {
 
-    private final EntityManager entityManager;
+    private final EntityManagerPool entityManagerPool;
     private final CriteriaFactory criteriaFactory;
 
+    private final IntermediateOperationFactory intermediateOperationFactory;
     private final IntermediateOperationOptimizerFactory intermediateOperationOptimizerFactory;
+    private final TerminalOperationOptimizer terminalOperationOptimizer;
+    private final TerminalOperationModifier terminalOperationModifier;
 
-    private final MergerFactory mergerFactory;
+    private final CriteriaMerger criteriaMerger;
+    private final QueryMerger queryMerger;
+
+    private final CriteriaCache criteriaCache;
+
+    private final ExecutorService prefetchExecutor;
 
     StandardRenderer(final EntityManagerFactory entityManagerFactory) {
-        this.entityManager = requireNonNull(entityManagerFactory).createEntityManager();
+        this.entityManagerPool = new EntityManagerPool(requireNonNull(entityManagerFactory));
         this.criteriaFactory = RootFactory.getOrThrow(CriteriaFactory.class, ServiceLoader::load);
+        this.intermediateOperationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
         this.intermediateOperationOptimizerFactory = RootFactory.getOrThrow(IntermediateOperationOptimizerFactory.class, ServiceLoader::load);
-        this.mergerFactory = RootFactory.getOrThrow(MergerFactory.class, ServiceLoader::load);
+        this.terminalOperationOptimizer = RootFactory.getOrThrow(TerminalOperationOptimizerFactory.class, ServiceLoader::load).get();
+        this.terminalOperationModifier = RootFactory.getOrThrow(TerminalOperationModifierFactory.class, ServiceLoader::load).get();
+
+        final MergerFactory mergerFactory = RootFactory.getOrThrow(MergerFactory.class, ServiceLoader::load);
+        this.criteriaMerger = mergerFactory.createCriteriaMerger();
+        this.queryMerger = mergerFactory.createQueryMerger();
+
+        this.criteriaCache = new CriteriaCache();
+
+        final AtomicInteger prefetchThreadCount = new AtomicInteger();
+        this.prefetchExecutor = Executors.newCachedThreadPool(runnable -> {
+            final Thread thread = new Thread(runnable, "jpastreamer-prefetch-" + prefetchThreadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
     }
 
     @Override
     public <T> RenderResult<?> render(final Pipeline<T> pipeline, final StreamConfiguration<T> streamConfiguration) {
-        optimizePipeline(pipeline);
+        // Each stream gets an EntityManager of its own that is handed back when the stream is closed
+        final EntityManager entityManager = entityManagerPool.lease();
+        try {
+            // The continuation is added before optimization so that it can be squashed with subsequent filters
+            streamConfiguration.continuation().ifPresent(token ->
+                ContinuationUtil.applyContinuation(pipeline, token, entityManager.getMetamodel(), intermediateOperationFactory)
+            );
 
-        final Class<T> entityClass = pipeline.root();
+            optimizePipeline(pipeline);
 
-        final CriteriaMerger criteriaMerger = mergerFactory.createCriteriaMerger();
-        final QueryMerger queryMerger = mergerFactory.createQueryMerger();
+            // A fetched association repeats the entities, which voids the guarantees of unique fields
+            if (streamConfiguration.joins().isEmpty()) {
+                UniqueFieldUtil.removeRedundantOperations(pipeline, entityManager.getMetamodel(), intermediateOperationFactory);
+            }
 
-        final Criteria<T, T> criteria = criteriaFactory.createCriteria(entityManager, entityClass);
-        criteria.getRoot().alias(pipeline.root().getSimpleName());
-        criteria.getQuery().select(criteria.getRoot());
+            return render(pipeline, streamConfiguration, entityManager);
+        } catch (RuntimeException e) {
+            entityManagerPool.release(entityManager);
+            throw e;
+        }
+    }
 
-        streamConfiguration.joins()
-                .forEach(joinConfiguration -> criteria.getRoot().fetch(joinConfiguration.field().columnName(), joinConfiguration.joinType()));
+    private <T> RenderResult<?> render(
+        final Pipeline<T> pipeline,
+        final StreamConfiguration<T> streamConfiguration,
+        final EntityManager entityManager
+    ) {
 
-        criteriaMerger.merge(pipeline, criteria);
+        final Class<T> entityClass = pipeline.root();
+
+        // A pipeline that cannot yield any elements is rendered without a round trip to the database
+        if (isEmpty(pipeline)) {
+            return new StandardRenderResult<>(
+                entityClass,
+                replay(Stream.<T>empty().onClose(() -> entityManagerPool.release(entityManager)), pipeline),
+                pipeline.terminatingOperation()
+            );
+        }
+
+        // Fetched associations can only be joined by a query
+        if (streamConfiguration.joins().isEmpty()) {
+            final Optional<Object> primaryKey = KeyLookupUtil.primaryKey(pipeline, entityManager.getMetamodel());
+            if (primaryKey.isPresent()) {
+                return renderLookup(pipeline, streamConfiguration, entityManager, primaryKey.get());
+            }
+        }
 
-        if (pipeline.terminatingOperation().type() == TerminalOperationType.COUNT && pipeline.intermediateOperations().size() == 0) {
-            final Criteria<T, Long> countCriteria = createCountCriteria(criteria);
+        final MergedCriteria<T> mergedCriteria = mergedCriteria(pipeline, streamConfiguration, entityManager);
+        final Criteria<T, T> criteria = mergedCriteria.criteria();
+
+        if (pipeline.terminatingOperation().type() == TerminalOperationType.COUNT && isCountable(pipeline)) {
+            final Criteria<T, Long> countCriteria = createCountCriteria(entityManager, criteria);
 
             final TypedQuery<Long> typedQuery = entityManager.createQuery(countCriteria.getQuery());
+            mergedCriteria.bindParameters(typedQuery);
+            QueryHintUtil.applyHints(typedQuery, streamConfiguration);
 
             return new StandardRenderResult<>(
                 Long.class,
-                typedQuery.getResultStream(),
+                typedQuery.getResultStream()
+                    .map(count -> adjustCount(count, pipeline))
+                    .onClose(() -> entityManagerPool.release(entityManager)),
                 pipeline.terminatingOperation()
             );
         }
 
+        final Optional<Field<?>> aggregatedField = AggregateUtil.aggregatedField(pipeline);
+        if (aggregatedField.isPresent()) {
+            final Criteria<T, Object[]> aggregateCriteria = AggregateUtil.createAggregateCriteria(
+                criteriaFactory,
+                entityManager,
+                criteria,
+                aggregatedField.get()
+            );
+
+            final TypedQuery<Object[]> typedQuery = entityManager.createQuery(aggregateCriteria.getQuery());
+            mergedCriteria.bindParameters(typedQuery);
+            QueryHintUtil.applyHints(typedQuery, streamConfiguration);
+
+            // The aggregates are read eagerly, leaving an empty stream for the terminal operation to be applied to
+            final TerminalOperation<?, ?> terminalOperation = AggregateUtil.aggregate(
+                pipeline.terminatingOperation(),
+                typedQuery.getSingleResult()
+            );
+
+            return new StandardRenderResult<>(
+                entityClass,
+                AggregateUtil.emptyStream(terminalOperation.streamType())
+                    .onClose(() -> entityManagerPool.release(entityManager)),
+                terminalOperation
+            );
+        }
+
+        final Optional<GroupingFieldCollector<?, ?, ?>> groupingCollector = GroupingUtil.groupingCollector(pipeline);
+        if (groupingCollector.isPresent()) {
+            final Criteria<T, Object[]> groupingCriteria = GroupingUtil.createGroupingCriteria(
+                criteriaFactory,
+                entityManager,
+                criteria,
+                groupingCollector.get()
+            );
+
+            final TypedQuery<Object[]> typedQuery = entityManager.createQuery(groupingCriteria.getQuery());
+            mergedCriteria.bindParameters(typedQuery);
+            QueryHintUtil.applyHints(typedQuery, streamConfiguration);
+
+            // The groups are read eagerly, leaving an empty stream for the terminal operation to be applied to
+            final TerminalOperation<?, ?> terminalOperation = GroupingUtil.group(
+                pipeline.terminatingOperation(),
+                groupingCollector.get(),
+                typedQuery.getResultList()
+            );
+
+            return new StandardRenderResult<>(
+                entityClass,
+                Stream.<T>empty().onClose(() -> entityManagerPool.release(entityManager)),
+                terminalOperation
+            );
+        }
+
+        // Fetched associations can only be joined when the entities are selected
+        if (streamConfiguration.joins().isEmpty()) {
+            final Optional<Field<?>> projectedField = ProjectionUtil.projectedField(pipeline);
+            if (projectedField.isPresent()) {
+                return renderProjection(pipeline, streamConfiguration, entityManager, mergedCriteria, projectedField.get());
+            }
+
+            final Optional<Projection<?, ?>> projection = ProjectionUtil.projection(pipeline);
+            if (projection.isPresent()) {
+                final Criteria<T, Object[]> projectionCriteria = ProjectionUtil.createProjectionCriteria(
+                    criteriaFactory,
+                    entityManager,
+                    criteria,
+                    pipeline,
+                    projection.get()
+                );
+                final TypedQuery<Object[]> typedQuery = entityManager.createQuery(projectionCriteria.getQuery());
+                return renderValues(pipeline, streamConfiguration, entityManager, mergedCriteria, typedQuery, projection.get()::fromValues);
+            }
+        }
+
+        if (pipeline.isParallel()) {
+            final Optional<Stream<T>> partitioned = partitioned(pipeline, streamConfiguration, entityManager, mergedCriteria);
+            if (partitioned.isPresent()) {
+                return new StandardRenderResult<>(
+                    entityClass,
+                    replay(partitioned.get().onClose(() -> entityManagerPool.release(entityManager)), pipeline),
+                    pipeline.terminatingOperation()
+                );
+            }
+        }
+
         final TypedQuery<T> typedQuery = entityManager.createQuery(criteria.getQuery());
+        mergedCriteria.bindParameters(typedQuery);
 
         queryMerger.merge(pipeline, typedQuery);
 
-        final Stream<T> baseStream = typedQuery.getResultStream();
-        final Stream<T> replayed = replay(baseStream, pipeline);
+        QueryHintUtil.applyHints(typedQuery, streamConfiguration);
+
+        if (streamConfiguration.isReadOnly()) {
+            QueryHintUtil.applyReadOnlyHints(typedQuery);
+        }
+
+        final Stream<T> queryStream = typedQuery.getResultStream();
+        final Stream<T> resultStream;
+
+        if (streamConfiguration.isPrefetching()) {
+            // Elements are detached by the background thread so that the consumer never uses its EntityManager
+            resultStream = prefetching(
+                detaching(
+                    queryStream,
+                    entityManager,
+                    streamConfiguration.isReadOnly()
+                        ? streamConfiguration.readOnlyWindowSize()
+                        : streamConfiguration.prefetchBufferSize()
+                ),
+                streamConfiguration.prefetchBufferSize()
+            );
+        } else {
+            resultStream = streamConfiguration.isReadOnly()
+                ? clearing(queryStream, entityManager, streamConfiguration.readOnlyWindowSize())
+                : queryStream;
+        }
+
+        final Stream<T> baseStream = resultStream
+            .onClose(() -> entityManagerPool.release(entityManager));
+        final BaseStream<?, ?> replayed = replay(baseStream, pipeline);
 
         return new StandardRenderResult<>(
             entityClass,
@@ -95,7 +301,267 @@ public final class StandardRenderer implements Renderer {
         );
     }
 
-    private <T> Criteria<T, Long> createCountCriteria(final Criteria<T, T> criteria) {
+    /**
+     * Looks up the entity with the provided id rather than querying for it.
+     */
+    private <T> RenderResult<?> renderLookup(
+        final Pipeline<T> pipeline,
+        final StreamConfiguration<T> streamConfiguration,
+        final EntityManager entityManager,
+        final Object primaryKey
+    ) {
+        // The filter on the id is fulfilled by the lookup
+        pipeline.intermediateOperations().removeFirst();
+
+        final T entity = entityManager.find(pipeline.root(), primaryKey, QueryHintUtil.lookupProperties(streamConfiguration));
+
+        if (entity != null && streamConfiguration.isReadOnly()) {
+            entityManager.detach(entity);
+        }
+
+        final Stream<T> stream = entity == null ? Stream.empty() : Stream.of(entity);
+
+        return new StandardRenderResult<>(
+            pipeline.root(),
+            replay(stream.onClose(() -> entityManagerPool.release(entityManager)), pipeline),
+            pipeline.terminatingOperation()
+        );
+    }
+
+    /**
+     * Selects the column of the projected field rather than the entities.
+     */
+    private <T> RenderResult<?> renderProjection(
+        final Pipeline<T> pipeline,
+        final StreamConfiguration<T> streamConfiguration,
+        final EntityManager entityManager,
+        final MergedCriteria<T> mergedCriteria,
+        final Field<?> projectedField
+    ) {
+        final Criteria<T, Object> projectionCriteria = ProjectionUtil.createProjectionCriteria(
+            criteriaFactory,
+            entityManager,
+            mergedCriteria.criteria(),
+            pipeline,
+            projectedField
+        );
+
+        if (pipeline.terminatingOperation().type() == TerminalOperationType.COUNT && isCountable(pipeline)) {
+            final Criteria<T, Object[]> countCriteria = ProjectionUtil.createCountCriteria(
+                criteriaFactory,
+                entityManager,
+                projectionCriteria,
+                projectedField
+            );
+
+            final TypedQuery<Object[]> typedQuery = entityManager.createQuery(countCriteria.getQuery());
+            mergedCriteria.bindParameters(typedQuery);
+            QueryHintUtil.applyHints(typedQuery, streamConfiguration);
+
+            return new StandardRenderResult<>(
+                Long.class,
+                typedQuery.getResultStream()
+                    .map(counts -> adjustCount(ProjectionUtil.count(counts), pipeline))
+                    .onClose(() -> entityManagerPool.release(entityManager)),
+                pipeline.terminatingOperation()
+            );
+        }
+
+        final TypedQuery<Object> typedQuery = entityManager.createQuery(projectionCriteria.getQuery());
+        return renderValues(pipeline, streamConfiguration, entityManager, mergedCriteria, typedQuery, Function.identity());
+    }
+
+    /**
+     * Streams the values selected by the provided query, converted by the
+     * provided mapper, in place of the entities they were mapped from.
+     */
+    @SuppressWarnings("unchecked")
+    private <T, V> RenderResult<?> renderValues(
+        final Pipeline<T> pipeline,
+        final StreamConfiguration<T> streamConfiguration,
+        final EntityManager entityManager,
+        final MergedCriteria<T> mergedCriteria,
+        final TypedQuery<V> typedQuery,
+        final Function<? super V, ?> mapper
+    ) {
+        mergedCriteria.bindParameters(typedQuery);
+
+        queryMerger.merge(pipeline, typedQuery);
+
+        // The selected values are not managed so there is nothing to clear in read-only mode
+        QueryHintUtil.applyHints(typedQuery, streamConfiguration);
+
+        final Stream<V> queryStream = streamConfiguration.isPrefetching()
+            ? prefetching(typedQuery.getResultStream(), streamConfiguration.prefetchBufferSize())
+            : typedQuery.getResultStream();
+
+        // The remaining operations act on the values, just as they did after the mapping
+        final Stream<T> baseStream = (Stream<T>) queryStream
+            .map(mapper)
+            .onClose(() -> entityManagerPool.release(entityManager));
+
+        return new StandardRenderResult<>(
+            pipeline.root(),
+            replay(baseStream, pipeline),
+            pipeline.terminatingOperation()
+        );
+    }
+
+    private <T> MergedCriteria<T> mergedCriteria(
+        final Pipeline<T> pipeline,
+        final StreamConfiguration<T> streamConfiguration,
+        final EntityManager entityManager
+    ) {
+        final Optional<PipelineFingerprint> fingerprint = criteriaCache.isEnabled()
+            ? PipelineFingerprint.of(pipeline, streamConfiguration)
+            : Optional.empty();
+
+        if (fingerprint.isPresent()) {
+            final CachedCriteria<T> cachedCriteria = criteriaCache.get(entityManager, fingerprint.get());
+            if (cachedCriteria != null) {
+                cachedCriteria.removeMergedOperations(pipeline);
+                return new MergedCriteria<>(
+                    cachedCriteria.criteria(),
+                    query -> cachedCriteria.bindParameters(query, fingerprint.get())
+                );
+            }
+        }
+
+        final List<IntermediateOperation<?, ?>> unmerged = fingerprint.isPresent()
+            ? new ArrayList<>(pipeline.intermediateOperations())
+            : null;
+
+        final Criteria<T, T> criteria = criteriaFactory.createCriteria(entityManager, pipeline.root());
+        criteria.getRoot().alias(pipeline.root().getSimpleName());
+        criteria.getQuery().select(criteria.getRoot());
+
+        streamConfiguration.joins()
+                .forEach(joinConfiguration -> criteria.getRoot().fetch(joinConfiguration.field().columnName(), joinConfiguration.joinType()));
+
+        criteriaMerger.merge(pipeline, criteria);
+
+        fingerprint.ifPresent(key ->
+            CachedCriteria.of(criteria, key, unmerged, pipeline.intermediateOperations())
+                .ifPresent(cachedCriteria -> criteriaCache.put(entityManager, key, cachedCriteria))
+        );
+
+        return new MergedCriteria<>(
+            criteria,
+            query -> criteria.getParameters().forEach(parameter -> parameter.bind(query))
+        );
+    }
+
+    /**
+     * Splits the query into ranges of an integral key where each range is read
+     * by a query of its own using an EntityManager of its own.
+     */
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <T> Optional<Stream<T>> partitioned(
+        final Pipeline<T> pipeline,
+        final StreamConfiguration<T> streamConfiguration,
+        final EntityManager entityManager,
+        final MergedCriteria<T> mergedCriteria
+    ) {
+        final Criteria<T, T> criteria = mergedCriteria.criteria();
+
+        // Offsets and orders span all partitions and can therefore not be pushed down
+        if (!criteria.getQuery().getOrderList().isEmpty() || pipeline.intermediateOperations().stream()
+            .anyMatch(operation -> operation.type() == IntermediateOperationType.SKIP || operation.type() == IntermediateOperationType.LIMIT)) {
+            return Optional.empty();
+        }
+
+        final Optional<SingularAttribute<? super T, ?>> partitionAttribute = partitionAttribute(criteria.getRoot().getModel(), streamConfiguration);
+        if (!partitionAttribute.isPresent()) {
+            return Optional.empty();
+        }
+
+        final String keyName = partitionAttribute.get().getName();
+        final Class<?> keyType = partitionAttribute.get().getJavaType();
+
+        final Criteria<T, Object[]> rangeCriteria = criteriaFactory.createCriteria(entityManager, pipeline.root(), Object[].class);
+        rangeCriteria.getRoot().alias(criteria.getRoot().getAlias());
+        final Path<Number> rangeKey = rangeCriteria.getRoot().get(keyName);
+        rangeCriteria.getQuery().multiselect(rangeCriteria.getBuilder().min(rangeKey), rangeCriteria.getBuilder().max(rangeKey));
+        if (criteria.getQuery().getRestriction() != null) {
+            rangeCriteria.getQuery().where(criteria.getQuery().getRestriction());
+        }
+
+        final TypedQuery<Object[]> rangeQuery = entityManager.createQuery(rangeCriteria.getQuery());
+        mergedCriteria.bindParameters(rangeQuery);
+        QueryHintUtil.applyHints(rangeQuery, streamConfiguration);
+        final Object[] range = rangeQuery.getSingleResult();
+
+        if (range[0] == null || range[1] == null) {
+            return Optional.of(Stream.empty());
+        }
+
+        final Criteria<T, T> partitionCriteria = criteriaFactory.createCriteria(entityManager, pipeline.root());
+        partitionCriteria.getRoot().alias(criteria.getRoot().getAlias());
+        partitionCriteria.getQuery().select(partitionCriteria.getRoot());
+        partitionCriteria.getQuery().distinct(criteria.getQuery().isDistinct());
+        streamConfiguration.joins()
+            .forEach(joinConfiguration -> partitionCriteria.getRoot().fetch(joinConfiguration.field().columnName(), joinConfiguration.joinType()));
+
+        final ParameterExpression lower = partitionCriteria.getBuilder().parameter(keyType);
+        final ParameterExpression upper = partitionCriteria.getBuilder().parameter(keyType);
+        final Predicate keyRange = partitionCriteria.getBuilder().between(partitionCriteria.getRoot().get(keyName), lower, upper);
+        partitionCriteria.getQuery().where(criteria.getQuery().getRestriction() == null
+            ? keyRange
+            : partitionCriteria.getBuilder().and(criteria.getQuery().getRestriction(), keyRange)
+        );
+
+        final List<Supplier<Stream<T>>> partitions = new ArrayList<>();
+        for (long[] keys : KeyRangeUtil.split(((Number) range[0]).longValue(), ((Number) range[1]).longValue(), streamConfiguration.partitions())) {
+            partitions.add(() -> {
+                final EntityManager partitionEntityManager = entityManagerPool.lease();
+                try {
+                    final TypedQuery<T> typedQuery = partitionEntityManager.createQuery(partitionCriteria.getQuery());
+                    mergedCriteria.bindParameters(typedQuery);
+                    typedQuery.setParameter(lower, KeyRangeUtil.toKey(keys[0], keyType));
+                    typedQuery.setParameter(upper, KeyRangeUtil.toKey(keys[1], keyType));
+
+                    QueryHintUtil.applyHints(typedQuery, streamConfiguration);
+
+                    if (streamConfiguration.isReadOnly()) {
+                        QueryHintUtil.applyReadOnlyHints(typedQuery);
+                    }
+
+                    final Stream<T> partitionStream = streamConfiguration.isReadOnly()
+                        ? clearing(typedQuery.getResultStream(), partitionEntityManager, streamConfiguration.readOnlyWindowSize())
+                        : typedQuery.getResultStream();
+
+                    return partitionStream.onClose(() -> entityManagerPool.release(partitionEntityManager));
+                } catch (RuntimeException e) {
+                    entityManagerPool.release(partitionEntityManager);
+                    throw e;
+                }
+            });
+        }
+
+        final PartitionedSpliterator<T> spliterator = new PartitionedSpliterator<>(partitions);
+        return Optional.of(StreamSupport.stream(spliterator, true).onClose(spliterator::close));
+    }
+
+    private <T> Optional<SingularAttribute<? super T, ?>> partitionAttribute(
+        final EntityType<T> entityType,
+        final StreamConfiguration<T> streamConfiguration
+    ) {
+        final Optional<SingularAttribute<? super T, ?>> attribute;
+        if (streamConfiguration.partitionField().isPresent()) {
+            final String columnName = streamConfiguration.partitionField().get().columnName();
+            attribute = entityType.getSingularAttributes().stream()
+                .filter(candidate -> candidate.getName().equals(columnName))
+                .findFirst();
+        } else {
+            attribute = entityType.hasSingleIdAttribute()
+                ? entityType.getSingularAttributes().stream().filter(SingularAttribute::isId).findFirst()
+                : Optional.empty();
+        }
+
+        return attribute.filter(candidate -> KeyRangeUtil.isIntegral(candidate.getJavaType()));
+    }
+
+    private <T> Criteria<T, Long> createCountCriteria(final EntityManager entityManager, final Criteria<T, T> criteria) {
         final CriteriaQuery<T> criteriaQuery = criteria.getQuery();
 
         final Criteria<T, Long> countCriteria = criteriaFactory.createCriteria(
@@ -119,12 +585,76 @@ public final class StandardRenderer implements Renderer {
         return countCriteria;
     }
 
-     @SuppressWarnings({"rawtypes", "unchecked"})
-    private <T> Stream<T> replay(final Stream<T> stream, final Pipeline<T> pipeline) {
-        Stream<T> decorated = stream;
+    private static boolean isEmpty(final Pipeline<?> pipeline) {
+        for (IntermediateOperation<?, ?> intermediateOperation : pipeline.intermediateOperations()) {
+            final IntermediateOperationType type = intermediateOperation.type();
+            final Object[] arguments = intermediateOperation.arguments();
+
+            if (type == IntermediateOperationType.PEEK) {
+                // The elements that reach a peek are observed and must therefore be read
+                return false;
+            }
+
+            if (type == IntermediateOperationType.LIMIT && arguments.length == 1 && Long.valueOf(0).equals(arguments[0])) {
+                return true;
+            }
+
+            if (type == IntermediateOperationType.FILTER && arguments.length == 1 && arguments[0] instanceof FieldPredicate
+                && ((FieldPredicate<?>) arguments[0]).getPredicateType() == PredicateType.ALWAYS_FALSE) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean isCountable(final Pipeline<?> pipeline) {
+        // Any remaining skip and limit operations are folded into the count
+        return pipeline.intermediateOperations().stream()
+            .allMatch(io -> io.type() == IntermediateOperationType.SKIP || io.type() == IntermediateOperationType.LIMIT);
+    }
+
+    private static long adjustCount(final long count, final Pipeline<?> pipeline) {
+        long adjusted = count;
+
+        for (IntermediateOperation<?, ?> intermediateOperation : pipeline.intermediateOperations()) {
+            final long n = (Long) intermediateOperation.arguments()[0];
+
+            if (intermediateOperation.type() == IntermediateOperationType.SKIP) {
+                adjusted = Math.max(0, adjusted - n);
+            } else {
+                adjusted = Math.min(adjusted, n);
+            }
+        }
+
+        return adjusted;
+    }
+
+    private <T> Stream<T> clearing(final Stream<T> stream, final EntityManager entityManager, final int windowSize) {
+        return StreamSupport.stream(new ClearingSpliterator<>(stream.spliterator(), entityManager, windowSize), false)
+            .onClose(stream::close);
+    }
+
+    private <T> Stream<T> detaching(final Stream<T> stream, final EntityManager entityManager, final int windowSize) {
+        return StreamSupport.stream(new DetachingSpliterator<>(stream.spliterator(), entityManager, windowSize), false)
+            .onClose(stream::close);
+    }
+
+    private <T> Stream<T> prefetching(final Stream<T> stream, final int bufferSize) {
+        final PrefetchingSpliterator<T> spliterator = new PrefetchingSpliterator<>(stream.spliterator(), prefetchExecutor, bufferSize);
+        // The background thread must have stopped before the underlying stream is closed
+        return StreamSupport.stream(spliterator, false)
+            .onClose(spliterator::close)
+            .onClose(stream::close);
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    private <T> BaseStream<?, ?> replay(final Stream<T> stream, final Pipeline<T> pipeline) {
+        // The residual operations may map the entities to a primitive stream
+        BaseStream<?, ?> decorated = stream;
 
         for (IntermediateOperation intermediateOperation : pipeline.intermediateOperations()) {
-            decorated = (Stream<T>) intermediateOperation.function().apply(decorated);
+            decorated = (BaseStream<?, ?>) intermediateOperation.function().apply(decorated);
         }
 
         return decorated;
@@ -132,10 +662,33 @@ public final class StandardRenderer implements Renderer {
 
     private <T> void optimizePipeline(final Pipeline<T> pipeline) {
         intermediateOperationOptimizerFactory.stream().forEach(intermediateOperationOptimizer -> intermediateOperationOptimizer.optimize(pipeline));
+        terminalOperationOptimizer.optimize(pipeline);
+        terminalOperationModifier.modify(pipeline);
     }
 
     @Override
     public void close() {
-        entityManager.close();
+        criteriaCache.clear();
+        prefetchExecutor.shutdownNow();
+        entityManagerPool.close();
+    }
+
+    private static final class MergedCriteria<T> {
+
+        private final Criteria<T, T> criteria;
+        private final Consumer<Query> parameterBinder;
+
+        private MergedCriteria(final Criteria<T, T> criteria, final Consumer<Query> parameterBinder) {
+            this.criteria = criteria;
+            this.parameterBinder = parameterBinder;
+        }
+
+        Criteria<T, T> criteria() {
+            return criteria;
+        }
+
+        void bindParameters(final Query query) {
+            parameterBinder.accept(query);
+        }
     }
 }
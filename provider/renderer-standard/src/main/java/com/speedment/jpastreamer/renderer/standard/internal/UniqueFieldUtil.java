@@ -0,0 +1,273 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DISTINCT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DROP_WHILE;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FLAT_MAP;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FLAT_MAP_TO;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.LIMIT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.MAP;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.MAP_TO;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.PEEK;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SKIP;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.TAKE_WHILE;
+import static java.util.Collections.emptySet;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.ReferenceField;
+import com.speedment.jpastreamer.field.comparator.CombinedComparator;
+import com.speedment.jpastreamer.field.comparator.FieldComparator;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.field.trait.HasArg0;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+
+import javax.persistence.metamodel.Attribute;
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Removes the operations of a pipeline that are made redundant by a unique
+ * field, i.e. a field that is either declared unique or is the single id
+ * attribute of the entity:
+ * <ul>
+ *     <li>A filter on the equality of a unique field selects at most one
+ *     entity. Sorting, distinct and any positive limit that follow do not
+ *     affect a single element.</li>
+ *     <li>The values of a unique field that cannot be null are distinct. A
+ *     distinct following a mapping to such a field is removed.</li>
+ *     <li>Sorting on a unique field that cannot be null orders the entities
+ *     completely. Comparators following that field are never consulted and
+ *     are removed, as are the sorts preceding the complete one.</li>
+ * </ul>
+ * A fetched association repeats each entity once for every associated
+ * entity, so these rewrites only apply when no associations are joined.
+ */
+enum UniqueFieldUtil {;
+
+    // Operations after which the elements of the stream are still the selected entities
+    private static final Set<IntermediateOperationType> ENTITY_PRESERVING = EnumSet.of(FILTER, SORTED, DISTINCT, LIMIT, SKIP, PEEK);
+
+    // Operations that retain a subset of the elements of the stream, in any order
+    private static final Set<IntermediateOperationType> VALUE_PRESERVING = EnumSet.of(FILTER, SORTED, DISTINCT, LIMIT, SKIP, PEEK, TAKE_WHILE, DROP_WHILE);
+
+    // Operations that do not observe the order of the entities and thus may be crossed by a sort
+    private static final Set<IntermediateOperationType> ORDER_INDEPENDENT = EnumSet.of(FILTER, SORTED, DISTINCT);
+
+    /**
+     * Removes the operations of the provided {@code pipeline} that are made
+     * redundant by a unique field.
+     *
+     * @param pipeline to rewrite
+     * @param metamodel used to determine the id of the entity, may be null
+     * @param operationFactory used to create shortened sorts
+     */
+    static <T> void removeRedundantOperations(
+        final Pipeline<T> pipeline,
+        final Metamodel metamodel,
+        final IntermediateOperationFactory operationFactory
+    ) {
+        requireNonNull(pipeline);
+        requireNonNull(operationFactory);
+
+        final Uniqueness uniqueness = new Uniqueness(pipeline.root(), metamodel);
+        final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        boolean entities = true;
+        boolean single = false;
+        boolean distinctValues = false;
+        int unordered = 0;
+
+        for (int i = 0; i < intermediateOperations.size(); i++) {
+            final IntermediateOperation<?, ?> operation = intermediateOperations.get(i);
+            final IntermediateOperationType type = operation.type();
+
+            if (type == FLAT_MAP || type == FLAT_MAP_TO) {
+                // Each element may be replaced by any number of elements
+                return;
+            }
+
+            if ((single && (type == SORTED || type == DISTINCT || isPositiveLimit(operation)))
+                || (distinctValues && type == DISTINCT)) {
+                intermediateOperations.remove(i--);
+                continue;
+            }
+
+            if (!entities) {
+                distinctValues &= VALUE_PRESERVING.contains(type);
+                continue;
+            }
+
+            if (operation.streamType() != Stream.class || !ENTITY_PRESERVING.contains(type)) {
+                entities = false;
+                distinctValues = (type == MAP || type == MAP_TO) && operation.arguments().length == 1 && ProjectionUtil.field(pipeline.root(), operation.arguments()[0])
+                    .filter(uniqueness::isDistinct)
+                    .isPresent();
+                continue;
+            }
+
+            if (type == FILTER && operation.arguments().length == 1) {
+                single |= uniqueness.isSingle(operation.arguments()[0]);
+            } else if (type == SORTED && operation.arguments().length == 1) {
+                final Object comparator = operation.arguments()[0];
+                final int keys = uniqueness.completeKeys(comparator);
+
+                if (keys > 0) {
+                    if (comparator instanceof CombinedComparator && keys < ((CombinedComparator<?>) comparator).size()) {
+                        intermediateOperations.set(i, operationFactory.createSorted(prefix((CombinedComparator<?>) comparator, keys)));
+                    }
+
+                    // The preceding sorts only decide the order of entities that the complete sort tells apart anyway
+                    for (int j = i - 1; j >= unordered; j--) {
+                        if (intermediateOperations.get(j).type() == SORTED) {
+                            intermediateOperations.remove(j);
+                            i--;
+                        }
+                    }
+                }
+            }
+
+            if (!ORDER_INDEPENDENT.contains(type)) {
+                unordered = i + 1;
+            }
+        }
+    }
+
+    private static boolean isPositiveLimit(final IntermediateOperation<?, ?> operation) {
+        return operation.type() == LIMIT
+            && operation.arguments().length == 1
+            && operation.arguments()[0] instanceof Number
+            && ((Number) operation.arguments()[0]).longValue() > 0;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Comparator prefix(final CombinedComparator<?> comparator, final int keys) {
+        final List<FieldComparator> comparators = comparator.stream()
+            .limit(keys)
+            .collect(Collectors.toList());
+
+        Comparator result = comparators.get(0);
+        for (int i = 1; i < comparators.size(); i++) {
+            result = result.thenComparing(comparators.get(i));
+        }
+        return result;
+    }
+
+    private static final class Uniqueness {
+
+        private final Class<?> entityClass;
+        private final Set<String> ids;
+
+        Uniqueness(final Class<?> entityClass, final Metamodel metamodel) {
+            this.entityClass = entityClass;
+            this.ids = ids(entityClass, metamodel);
+        }
+
+        private static Set<String> ids(final Class<?> entityClass, final Metamodel metamodel) {
+            if (metamodel == null) {
+                return emptySet();
+            }
+
+            final EntityType<?> entityType = metamodel.entity(entityClass);
+
+            // Each part of a composite id may be shared by several entities
+            if (!entityType.hasSingleIdAttribute()) {
+                return emptySet();
+            }
+
+            return entityType.getSingularAttributes().stream()
+                .filter(SingularAttribute::isId)
+                .map(Attribute::getName)
+                .collect(Collectors.toSet());
+        }
+
+        /**
+         * Returns if the provided predicate accepts at most one entity.
+         */
+        boolean isSingle(final Object predicate) {
+            if (predicate instanceof CombinedPredicate) {
+                final CombinedPredicate<?> combined = (CombinedPredicate<?>) predicate;
+                return combined.getType() == CombinedPredicate.Type.AND && combined.stream().anyMatch(this::isSingle);
+            }
+
+            if (!(predicate instanceof FieldPredicate) || !(predicate instanceof HasArg0)) {
+                return false;
+            }
+
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+
+            // Several entities may have a unique field that is null
+            return fieldPredicate.getPredicateType() == PredicateType.EQUAL
+                && ((HasArg0<?>) predicate).get0() != null
+                && isUnique(fieldPredicate.getField());
+        }
+
+        /**
+         * Returns the number of leading keys of the provided comparator that
+         * order the entities completely, or 0 if the entities may compare
+         * equal.
+         */
+        int completeKeys(final Object comparator) {
+            if (comparator instanceof FieldComparator) {
+                return isDistinct(((FieldComparator<?>) comparator).getField()) ? 1 : 0;
+            }
+
+            if (comparator instanceof CombinedComparator) {
+                final List<FieldComparator<?>> comparators = ((CombinedComparator<?>) comparator).stream()
+                    .collect(Collectors.toList());
+
+                for (int i = 0; i < comparators.size(); i++) {
+                    if (isDistinct(comparators.get(i).getField())) {
+                        return i + 1;
+                    }
+                }
+            }
+
+            return 0;
+        }
+
+        /**
+         * Returns if the values of the provided field are distinct among all
+         * entities.
+         */
+        boolean isDistinct(final Field<?> field) {
+            final boolean nullable = field instanceof ReferenceField && !isId(field);
+            return !nullable && isUnique(field);
+        }
+
+        private boolean isUnique(final Field<?> field) {
+            return field.table().isAssignableFrom(entityClass) && (field.isUnique() || isId(field));
+        }
+
+        private boolean isId(final Field<?> field) {
+            return ids.contains(field.columnName());
+        }
+
+    }
+
+}
@@ -0,0 +1,123 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.IntTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.IntSummaryStatistics;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.ServiceLoader;
+import java.util.stream.IntStream;
+
+final class AggregateUtilTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final IntTerminalOperationFactory intTerminalOperationFactory = RootFactory.getOrThrow(IntTerminalOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void aggregatedField() {
+        assertEquals(
+            Optional.of(Film$.id),
+            AggregateUtil.aggregatedField(pipeline(intTerminalOperationFactory.acquireSum(), operationFactory.createMapToInt(Film$.id)))
+        );
+        assertEquals(
+            Optional.of(Film$.id),
+            AggregateUtil.aggregatedField(pipeline(
+                intTerminalOperationFactory.acquireAverage(),
+                operationFactory.createSorted(Film$.title),
+                operationFactory.createMapToInt(Film$.id)
+            ))
+        );
+    }
+
+    @Test
+    void notAggregated() {
+        // The mapper is not a field
+        assertFalse(AggregateUtil.aggregatedField(pipeline(
+            intTerminalOperationFactory.acquireSum(),
+            operationFactory.createMapToInt(Film::getId)
+        )).isPresent());
+
+        // A residual filter must be applied to the entities
+        assertFalse(AggregateUtil.aggregatedField(pipeline(
+            intTerminalOperationFactory.acquireSum(),
+            operationFactory.<Film>createFilter(f -> f.getId() > 1),
+            operationFactory.createMapToInt(Film$.id)
+        )).isPresent());
+
+        // The count is not an aggregate over the field
+        assertFalse(AggregateUtil.aggregatedField(pipeline(
+            intTerminalOperationFactory.acquireCount(),
+            operationFactory.createMapToInt(Film$.id)
+        )).isPresent());
+    }
+
+    @Test
+    void result() {
+        final Object[] aggregates = {3L, 6L, 1, 3};
+
+        assertEquals(6, AggregateUtil.result(TerminalOperationType.SUM_INT, IntStream.class, aggregates));
+        assertEquals(OptionalDouble.of(2), AggregateUtil.result(TerminalOperationType.AVERAGE, IntStream.class, aggregates));
+        assertEquals(OptionalInt.of(1), AggregateUtil.result(TerminalOperationType.MIN, IntStream.class, aggregates));
+        assertEquals(OptionalInt.of(3), AggregateUtil.result(TerminalOperationType.MAX, IntStream.class, aggregates));
+
+        final IntSummaryStatistics expected = IntStream.of(1, 2, 3).summaryStatistics();
+        final IntSummaryStatistics actual = (IntSummaryStatistics) AggregateUtil.result(TerminalOperationType.SUMMARY_STATISTICS, IntStream.class, aggregates);
+        assertEquals(expected.toString(), actual.toString());
+    }
+
+    @Test
+    void emptyResult() {
+        final Object[] aggregates = {0L, null, null, null};
+
+        assertEquals(0, AggregateUtil.result(TerminalOperationType.SUM_INT, IntStream.class, aggregates));
+        assertEquals(OptionalDouble.empty(), AggregateUtil.result(TerminalOperationType.AVERAGE, IntStream.class, aggregates));
+        assertEquals(OptionalInt.empty(), AggregateUtil.result(TerminalOperationType.MAX, IntStream.class, aggregates));
+        assertEquals(
+            new IntSummaryStatistics().toString(),
+            AggregateUtil.result(TerminalOperationType.SUMMARY_STATISTICS, IntStream.class, aggregates).toString()
+        );
+    }
+
+    @Test
+    void aggregate() {
+        final TerminalOperation<IntStream, Integer> sum = AggregateUtil.aggregate(intTerminalOperationFactory.acquireSum(), new Object[]{2L, 42L, 1, 41});
+
+        assertEquals(TerminalOperationType.SUM_INT, sum.type());
+        assertEquals(42, sum.toIntFunction().applyAsInt(IntStream.empty()));
+    }
+
+    private Pipeline<Film> pipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        for (IntermediateOperation<?, ?> operation : operations) {
+            pipeline.intermediateOperations().add(operation);
+        }
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+}
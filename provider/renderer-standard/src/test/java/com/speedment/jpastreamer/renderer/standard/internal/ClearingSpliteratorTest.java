@@ -0,0 +1,60 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.stream.IntStream;
+
+final class ClearingSpliteratorTest {
+
+    private final EntityManagerStub entityManager = new EntityManagerStub();
+
+    @Test
+    void clearsOncePerConsumedWindow() {
+        final Spliterator<Integer> spliterator = new ClearingSpliterator<>(
+            IntStream.range(0, 10).boxed().spliterator(),
+            entityManager.entityManager(),
+            3
+        );
+
+        // The number of clears observed while each element is processed
+        final List<Integer> clearsWhileProcessing = new ArrayList<>();
+        final List<Integer> clearsAfterProcessing = new ArrayList<>();
+        while (spliterator.tryAdvance(i -> clearsWhileProcessing.add(entityManager.clears()))) {
+            clearsAfterProcessing.add(entityManager.clears());
+        }
+
+        // An element is never detached while it is processed
+        assertEquals(asList(0, 0, 0, 1, 1, 1, 2, 2, 2, 3), clearsWhileProcessing);
+        assertEquals(asList(0, 0, 1, 1, 1, 2, 2, 2, 3, 3), clearsAfterProcessing);
+        assertFalse(spliterator.tryAdvance(i -> {}));
+        assertEquals(3, entityManager.clears());
+    }
+
+    @Test
+    void rejectsNonPositiveWindow() {
+        assertThrows(IllegalArgumentException.class, () ->
+            new ClearingSpliterator<>(IntStream.range(0, 10).boxed().spliterator(), entityManager.entityManager(), 0)
+        );
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration.ContinuationToken;
+import org.junit.jupiter.api.Test;
+
+import java.util.ServiceLoader;
+
+final class ContinuationUtilTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void ascending() {
+        final Pipeline<Film> pipeline = pipeline(operationFactory.createSorted(Film$.id), operationFactory.createLimit(10));
+
+        ContinuationUtil.applyContinuation(pipeline, token(42), null, operationFactory);
+
+        assertEquals(3, pipeline.intermediateOperations().size());
+        assertSeek(pipeline.intermediateOperations().getFirst(), PredicateType.GREATER_THAN);
+    }
+
+    @Test
+    void descending() {
+        final Pipeline<Film> pipeline = pipeline(
+            operationFactory.createFilter(Film$.title.startsWith("A")),
+            operationFactory.createSorted(Film$.id.reversed()),
+            operationFactory.createLimit(10)
+        );
+
+        ContinuationUtil.applyContinuation(pipeline, token(42), null, operationFactory);
+
+        assertSeek(pipeline.intermediateOperations().getFirst(), PredicateType.LESS_THAN);
+    }
+
+    @Test
+    void notSorted() {
+        assertThrows(IllegalStateException.class, () ->
+            ContinuationUtil.applyContinuation(pipeline(operationFactory.createLimit(10)), token(42), null, operationFactory)
+        );
+        assertThrows(IllegalStateException.class, () ->
+            ContinuationUtil.applyContinuation(pipeline(operationFactory.createSorted(Film$.title)), token(42), null, operationFactory)
+        );
+        assertThrows(IllegalStateException.class, () ->
+            ContinuationUtil.applyContinuation(
+                pipeline(operationFactory.createSkip(1), operationFactory.createSorted(Film$.id)),
+                token(42),
+                null,
+                operationFactory
+            )
+        );
+    }
+
+    @Test
+    void notUnique() {
+        final Film film = new Film();
+        film.length = 120;
+        final ContinuationToken<Film> token = ContinuationToken.after(Film$.length, film);
+
+        assertThrows(IllegalStateException.class, () ->
+            ContinuationUtil.applyContinuation(pipeline(operationFactory.createSorted(Film$.length)), token, null, operationFactory)
+        );
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertSeek(final IntermediateOperation<?, ?> operation, final PredicateType expectedType) {
+        assertEquals(IntermediateOperationType.FILTER, operation.type());
+        assertTrue(operation.arguments()[0] instanceof FieldPredicate);
+
+        final FieldPredicate<?> predicate = (FieldPredicate<?>) operation.arguments()[0];
+        assertEquals(expectedType, predicate.getPredicateType());
+        assertEquals("id", predicate.getField().columnName());
+
+        final Film before = new Film();
+        before.id = 42;
+        assertFalse(((FieldPredicate<Film>) predicate).test(before));
+    }
+
+    private ContinuationToken<Film> token(final int id) {
+        final Film film = new Film();
+        film.id = id;
+        return ContinuationToken.after(Film$.id, film);
+    }
+
+    private Pipeline<Film> pipeline(final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        for (IntermediateOperation<?, ?> operation : operations) {
+            pipeline.intermediateOperations().add(operation);
+        }
+        return pipeline;
+    }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.speedment.jpastreamer.criteria.Criteria;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.ServiceLoader;
+
+final class CriteriaCacheTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+    private final EntityManagerStub.Factory factory = new EntityManagerStub.Factory();
+
+    @Test
+    void perEntityManager() {
+        final CriteriaCache cache = new CriteriaCache(2);
+        final EntityManager first = factory.entityManagerFactory().createEntityManager();
+        final EntityManager second = factory.entityManagerFactory().createEntityManager();
+        final PipelineFingerprint fingerprint = fingerprint();
+        final CriteriaCache.CachedCriteria<Film> cachedCriteria = cachedCriteria(fingerprint);
+
+        cache.put(first, fingerprint, cachedCriteria);
+
+        assertSame(cachedCriteria, cache.get(first, fingerprint));
+        // A Criteria compiled by one EntityManager is never handed to another
+        assertNull(cache.get(second, fingerprint));
+    }
+
+    @Test
+    void disabled() {
+        final CriteriaCache cache = new CriteriaCache(0);
+        final EntityManager entityManager = factory.entityManagerFactory().createEntityManager();
+        final PipelineFingerprint fingerprint = fingerprint();
+
+        cache.put(entityManager, fingerprint, cachedCriteria(fingerprint));
+
+        assertFalse(cache.isEnabled());
+        assertNull(cache.get(entityManager, fingerprint));
+    }
+
+    private PipelineFingerprint fingerprint() {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        pipeline.intermediateOperations().add(operationFactory.createSorted(Film$.length));
+        return PipelineFingerprint.of(pipeline, StreamConfiguration.of(Film.class)).orElseThrow(AssertionError::new);
+    }
+
+    @SuppressWarnings("unchecked")
+    private CriteriaCache.CachedCriteria<Film> cachedCriteria(final PipelineFingerprint fingerprint) {
+        final Criteria<Film, Film> criteria = (Criteria<Film, Film>) Proxy.newProxyInstance(
+            Criteria.class.getClassLoader(),
+            new Class<?>[]{Criteria.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getParameters": return Collections.emptyList();
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return "CriteriaStub";
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+        return CriteriaCache.CachedCriteria.of(criteria, fingerprint, Collections.emptyList(), Collections.emptyList())
+            .orElseThrow(AssertionError::new);
+    }
+
+}
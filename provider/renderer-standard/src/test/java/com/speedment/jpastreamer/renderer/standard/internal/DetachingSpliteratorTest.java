@@ -0,0 +1,85 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class DetachingSpliteratorTest {
+
+    private final EntityManagerStub entityManager = new EntityManagerStub();
+
+    @Test
+    void clearsBeforeEachWindowIsPassedOn() {
+        final Spliterator<Integer> spliterator = new DetachingSpliterator<>(
+            Stream.of(0, 1, 2, 3, 4, 5, 6).spliterator(),
+            entityManager.entityManager(),
+            3
+        );
+
+        final List<Integer> clearsWhileProcessing = new ArrayList<>();
+        spliterator.forEachRemaining(i -> clearsWhileProcessing.add(entityManager.clears()));
+
+        // Every element has been detached before it is passed on
+        assertEquals(asList(1, 1, 1, 2, 2, 2, 3), clearsWhileProcessing);
+        assertEquals(3, entityManager.clears());
+    }
+
+    @Test
+    void detachesBeforePrefetchedElementsArePassedOn() {
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final PrefetchingSpliterator<Integer> spliterator = new PrefetchingSpliterator<>(
+                new DetachingSpliterator<>(Stream.of(0, 1, 2, 3, 4, 5, 6).spliterator(), entityManager.entityManager(), 3),
+                executor,
+                3
+            );
+
+            // The consumer never receives an element whose window the background thread has yet to detach
+            spliterator.forEachRemaining(i -> assertTrue(entityManager.clears() > i / 3));
+            spliterator.close();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(3, entityManager.clears());
+    }
+
+    @Test
+    void preservesElements() {
+        final List<String> elements = asList("a", null, "c", "d");
+        final Spliterator<String> spliterator = new DetachingSpliterator<>(elements.spliterator(), entityManager.entityManager(), 3);
+
+        assertEquals(elements, StreamSupport.stream(spliterator, false).collect(toList()));
+    }
+
+    @Test
+    void empty() {
+        final Spliterator<String> spliterator = new DetachingSpliterator<>(Stream.<String>empty().spliterator(), entityManager.entityManager(), 3);
+
+        assertEquals(0, StreamSupport.stream(spliterator, false).count());
+        assertEquals(0, entityManager.clears());
+    }
+
+}
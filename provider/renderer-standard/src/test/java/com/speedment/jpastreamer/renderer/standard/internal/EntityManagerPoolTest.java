@@ -0,0 +1,142 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+final class EntityManagerPoolTest {
+
+    private final EntityManagerStub.Factory factory = new EntityManagerStub.Factory();
+
+    @Test
+    void leasesAreExclusive() {
+        final EntityManagerPool pool = new EntityManagerPool(factory.entityManagerFactory(), 2);
+
+        assertNotSame(pool.lease(), pool.lease());
+        assertEquals(2, factory.created().size());
+    }
+
+    @Test
+    void reusesReleased() {
+        final EntityManagerPool pool = new EntityManagerPool(factory.entityManagerFactory(), 2);
+
+        final EntityManager entityManager = pool.lease();
+        pool.release(entityManager);
+
+        // The persistence context of the previous stream is not carried over
+        assertEquals(1, factory.stubOf(entityManager).clears());
+        assertSame(entityManager, pool.lease());
+        assertEquals(1, factory.created().size());
+    }
+
+    @Test
+    void closesBeyondMaxIdle() {
+        final EntityManagerPool pool = new EntityManagerPool(factory.entityManagerFactory(), 1);
+
+        final EntityManager first = pool.lease();
+        final EntityManager second = pool.lease();
+        pool.release(first);
+        pool.release(second);
+
+        assertFalse(factory.stubOf(first).isClosed());
+        assertTrue(factory.stubOf(second).isClosed());
+    }
+
+    @Test
+    void skipsClosed() {
+        final EntityManagerPool pool = new EntityManagerPool(factory.entityManagerFactory(), 2);
+
+        final EntityManager entityManager = pool.lease();
+        pool.release(entityManager);
+        entityManager.close();
+
+        assertNotSame(entityManager, pool.lease());
+
+        // A closed EntityManager is neither cleared nor retained
+        final EntityManager closed = pool.lease();
+        closed.close();
+        pool.release(closed);
+        assertEquals(0, factory.stubOf(closed).clears());
+    }
+
+    @Test
+    void closeWithOutstandingLease() {
+        final EntityManagerPool pool = new EntityManagerPool(factory.entityManagerFactory(), 2);
+
+        final EntityManager idle = pool.lease();
+        final EntityManager leased = pool.lease();
+        pool.release(idle);
+
+        pool.close();
+
+        assertTrue(factory.stubOf(idle).isClosed());
+        assertFalse(factory.stubOf(leased).isClosed());
+
+        // The stream that outlives the pool closes its EntityManager when it is released
+        pool.release(leased);
+        assertTrue(factory.stubOf(leased).isClosed());
+
+        assertThrows(IllegalStateException.class, pool::lease);
+    }
+
+    @Test
+    void concurrentReleaseAndClose() throws Exception {
+        final int threads = 8;
+        final EntityManagerPool pool = new EntityManagerPool(factory.entityManagerFactory(), threads);
+        final List<EntityManager> leased = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            leased.add(pool.lease());
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<?>> releases = new ArrayList<>();
+            for (EntityManager entityManager : leased) {
+                releases.add(executor.submit(() -> {
+                    start.await();
+                    pool.release(entityManager);
+                    return null;
+                }));
+            }
+
+            start.countDown();
+            pool.close();
+            for (Future<?> release : releases) {
+                release.get(10, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Whichever of release and close comes last closes each EntityManager
+        assertTrue(leased.stream().map(factory::stubOf).allMatch(EntityManagerStub::isClosed));
+    }
+
+}
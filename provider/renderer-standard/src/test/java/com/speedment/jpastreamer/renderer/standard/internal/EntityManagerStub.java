@@ -0,0 +1,108 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An {@link EntityManager} that only records how often it is cleared and
+ * whether it is closed, together with a factory of such EntityManagers.
+ */
+final class EntityManagerStub {
+
+    private final AtomicInteger clears = new AtomicInteger();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private final EntityManager entityManager;
+
+    EntityManagerStub() {
+        this.entityManager = (EntityManager) Proxy.newProxyInstance(
+            EntityManager.class.getClassLoader(),
+            new Class<?>[]{EntityManager.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "clear": clears.incrementAndGet(); return null;
+                    case "close": closed.set(true); return null;
+                    case "isOpen": return !closed.get();
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return "EntityManagerStub";
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+    }
+
+    EntityManager entityManager() {
+        return entityManager;
+    }
+
+    int clears() {
+        return clears.get();
+    }
+
+    boolean isClosed() {
+        return closed.get();
+    }
+
+    /**
+     * A factory that creates a new {@link EntityManagerStub} for every
+     * EntityManager it is asked for.
+     */
+    static final class Factory {
+
+        private final List<EntityManagerStub> created = Collections.synchronizedList(new ArrayList<>());
+        private final EntityManagerFactory entityManagerFactory = (EntityManagerFactory) Proxy.newProxyInstance(
+            EntityManagerFactory.class.getClassLoader(),
+            new Class<?>[]{EntityManagerFactory.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "createEntityManager": {
+                        final EntityManagerStub stub = new EntityManagerStub();
+                        created.add(stub);
+                        return stub.entityManager();
+                    }
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return "EntityManagerFactoryStub";
+                    default: throw new UnsupportedOperationException(method.getName());
+                }
+            }
+        );
+
+        EntityManagerFactory entityManagerFactory() {
+            return entityManagerFactory;
+        }
+
+        List<EntityManagerStub> created() {
+            return created;
+        }
+
+        EntityManagerStub stubOf(final EntityManager entityManager) {
+            synchronized (created) {
+                return created.stream()
+                    .filter(stub -> stub.entityManager() == entityManager)
+                    .findFirst()
+                    .orElseThrow(IllegalArgumentException::new);
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.field.collector.AggregateCollector;
+import com.speedment.jpastreamer.field.collector.FieldCollectors;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+final class GroupingUtilTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final TerminalOperationFactory terminalOperationFactory = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void groupingCollector() {
+        assertTrue(GroupingUtil.groupingCollector(pipeline(
+            terminalOperationFactory.createCollect(FieldCollectors.groupingBy(Film$.title, FieldCollectors.counting()))
+        )).isPresent());
+
+        assertTrue(GroupingUtil.groupingCollector(pipeline(
+            terminalOperationFactory.createCollect(FieldCollectors.groupingBy(Film$.title, FieldCollectors.summingInt(Film$.id))),
+            operationFactory.createSorted(Film$.id)
+        )).isPresent());
+    }
+
+    @Test
+    void notGrouped() {
+        // The groups are lists of entities
+        assertFalse(GroupingUtil.groupingCollector(pipeline(
+            terminalOperationFactory.createCollect(FieldCollectors.groupingBy(Film$.title))
+        )).isPresent());
+
+        // The downstream collector is opaque
+        assertFalse(GroupingUtil.groupingCollector(pipeline(
+            terminalOperationFactory.createCollect(FieldCollectors.groupingBy(Film$.title, Collectors.counting()))
+        )).isPresent());
+
+        // A residual filter must be applied to the entities
+        assertFalse(GroupingUtil.groupingCollector(pipeline(
+            terminalOperationFactory.createCollect(FieldCollectors.groupingBy(Film$.title, FieldCollectors.counting())),
+            operationFactory.<Film>createFilter(f -> f.getId() > 1)
+        )).isPresent());
+    }
+
+    @Test
+    void result() {
+        final List<Film> films = Arrays.asList(film(1, "a"), film(2, "a"), film(3, "b"));
+
+        assertResult(films, FieldCollectors.counting(), Arrays.asList(
+            new Object[]{"a", 2L},
+            new Object[]{"b", 1L}
+        ));
+
+        final List<Object[]> groups = Arrays.asList(
+            new Object[]{"a", 2L, 3L, 1, 2},
+            new Object[]{"b", 1L, 3L, 3, 3}
+        );
+
+        assertResult(films, FieldCollectors.summingInt(Film$.id), groups);
+        assertResult(films, FieldCollectors.averagingInt(Film$.id), groups);
+        assertResult(films, FieldCollectors.min(Film$.id), groups);
+        assertResult(films, FieldCollectors.max(Film$.id), groups);
+    }
+
+    @Test
+    void nullKey() {
+        assertThrows(NullPointerException.class, () ->
+            GroupingUtil.result(FieldCollectors.counting(), Collections.singletonList(new Object[]{null, 1L}))
+        );
+    }
+
+    private void assertResult(final List<Film> films, final AggregateCollector<Film, ?, ?> downstream, final List<Object[]> groups) {
+        final Map<String, ?> expected = films.stream().collect(FieldCollectors.groupingBy(Film$.title, downstream));
+        assertEquals(expected, GroupingUtil.result(downstream, groups), downstream.getAggregate().toString());
+    }
+
+    private Pipeline<Film> pipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        Stream.of(operations).forEach(pipeline.intermediateOperations()::add);
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+    private static Film film(final int id, final String title) {
+        final Film film = new Film();
+        film.id = id;
+        film.title = title;
+        return film;
+    }
+
+}
@@ -0,0 +1,86 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
+final class KeyLookupUtilTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final TerminalOperationFactory terminalOperationFactory = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void primaryKey() {
+        assertEquals(
+            Optional.of(42),
+            KeyLookupUtil.primaryKey(pipeline(terminalOperationFactory.acquireFindFirst(), operationFactory.createFilter(Film$.id.equal(42))), "id", int.class)
+        );
+
+        // The operations following the filter are applied to the entity that is found
+        assertEquals(
+            Optional.of(42),
+            KeyLookupUtil.primaryKey(pipeline(
+                terminalOperationFactory.createCollect(Collectors.toList()),
+                operationFactory.createFilter(Film$.id.equal(42)),
+                operationFactory.createMap(Film$.title)
+            ), "id", int.class)
+        );
+    }
+
+    @Test
+    void noPrimaryKey() {
+        // The terminal operation is not a lookup
+        assertFalse(KeyLookupUtil.primaryKey(pipeline(terminalOperationFactory.acquireCount(), operationFactory.createFilter(Film$.id.equal(42))), "id", int.class).isPresent());
+
+        // The field is not the id
+        assertFalse(KeyLookupUtil.primaryKey(pipeline(terminalOperationFactory.acquireFindFirst(), operationFactory.createFilter(Film$.title.equal("ACE GOLDFINGER"))), "id", int.class).isPresent());
+
+        // The predicate is not an equality
+        assertFalse(KeyLookupUtil.primaryKey(pipeline(terminalOperationFactory.acquireFindFirst(), operationFactory.createFilter(Film$.id.greaterThan(42))), "id", int.class).isPresent());
+
+        // The id is of another type
+        assertFalse(KeyLookupUtil.primaryKey(pipeline(terminalOperationFactory.acquireFindFirst(), operationFactory.createFilter(Film$.id.equal(42))), "id", long.class).isPresent());
+
+        // Another filter must be applied to the entities first
+        assertFalse(KeyLookupUtil.primaryKey(pipeline(
+            terminalOperationFactory.acquireFindFirst(),
+            operationFactory.<Film>createFilter(f -> f.getLength() != null),
+            operationFactory.createFilter(Film$.id.equal(42))
+        ), "id", int.class).isPresent());
+    }
+
+    private Pipeline<Film> pipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        for (IntermediateOperation<?, ?> operation : operations) {
+            pipeline.intermediateOperations().add(operation);
+        }
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+final class KeyRangeUtilTest {
+
+    @Test
+    void split() {
+        final List<long[]> ranges = KeyRangeUtil.split(1, 10, 3);
+        assertEquals(3, ranges.size());
+        assertArrayEquals(new long[]{1, 4}, ranges.get(0));
+        assertArrayEquals(new long[]{5, 8}, ranges.get(1));
+        assertArrayEquals(new long[]{9, 10}, ranges.get(2));
+    }
+
+    @Test
+    void fewerKeysThanPartitions() {
+        final List<long[]> ranges = KeyRangeUtil.split(7, 8, 4);
+        assertEquals(2, ranges.size());
+        assertArrayEquals(new long[]{7, 7}, ranges.get(0));
+        assertArrayEquals(new long[]{8, 8}, ranges.get(1));
+    }
+
+    @Test
+    void extremes() {
+        assertTrue(KeyRangeUtil.split(2, 1, 4).isEmpty());
+        assertEquals(1, KeyRangeUtil.split(Long.MIN_VALUE, Long.MAX_VALUE, 4).size());
+
+        final List<long[]> ranges = KeyRangeUtil.split(Long.MAX_VALUE - 9, Long.MAX_VALUE, 4);
+        assertEquals(Long.MAX_VALUE, ranges.get(ranges.size() - 1)[1]);
+    }
+
+    @Test
+    void toKey() {
+        assertEquals(42, KeyRangeUtil.toKey(42, Integer.class));
+        assertEquals(42L, KeyRangeUtil.toKey(42, long.class));
+        assertEquals((short) 42, KeyRangeUtil.toKey(42, Short.class));
+    }
+
+}
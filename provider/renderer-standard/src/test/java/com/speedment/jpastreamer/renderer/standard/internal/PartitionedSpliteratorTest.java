@@ -0,0 +1,74 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class PartitionedSpliteratorTest {
+
+    private final AtomicInteger open = new AtomicInteger();
+
+    @Test
+    void retainsOrder() {
+        final PartitionedSpliterator<Integer> spliterator = new PartitionedSpliterator<>(partitions(8));
+        try (Stream<Integer> stream = StreamSupport.stream(spliterator, true).onClose(spliterator::close)) {
+            assertEquals(IntStream.range(0, 80).boxed().collect(toList()), stream.map(i -> i).collect(toList()));
+        }
+        assertEquals(0, open.get());
+    }
+
+    @Test
+    void split() {
+        final PartitionedSpliterator<Integer> spliterator = new PartitionedSpliterator<>(partitions(3));
+        final PartitionedSpliterator<Integer> prefix = (PartitionedSpliterator<Integer>) spliterator.trySplit();
+        assertNotNull(prefix);
+        assertNull(prefix.trySplit());
+
+        spliterator.tryAdvance(i -> assertEquals(10, i));
+        // A partition that has been opened is not split
+        assertNull(spliterator.trySplit());
+        assertEquals(1, open.get());
+
+        prefix.tryAdvance(i -> assertEquals(0, i));
+        assertEquals(2, open.get());
+
+        spliterator.close();
+        assertEquals(0, open.get());
+    }
+
+    private List<Supplier<Stream<Integer>>> partitions(final int count) {
+        final List<Supplier<Stream<Integer>>> partitions = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            final int start = i * 10;
+            partitions.add(() -> {
+                open.incrementAndGet();
+                return IntStream.range(start, start + 10).boxed().onClose(open::decrementAndGet);
+            });
+        }
+        return partitions;
+    }
+
+}
@@ -0,0 +1,138 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import com.speedment.jpastreamer.field.trait.HasArg0;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.criteria.JoinType;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.function.Predicate;
+
+final class PipelineFingerprintTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+    private final StreamConfiguration<Film> configuration = StreamConfiguration.of(Film.class);
+
+    @Test
+    void sameShape() {
+        assertEquals(
+            fingerprint(operationFactory.createFilter(Film$.title.equal("A")), operationFactory.createSorted(Film$.length)),
+            fingerprint(operationFactory.createFilter(Film$.title.equal("A")), operationFactory.createSorted(Film$.length))
+        );
+    }
+
+    @Test
+    void opaqueArguments() {
+        final Predicate<Film> first = f -> true;
+        final Predicate<Film> second = f -> false;
+        final Comparator<Film> comparator = Comparator.comparing(Film::getTitle);
+        assertEquals(
+            fingerprint(operationFactory.createFilter(first), operationFactory.createSorted(comparator), operationFactory.createLimit(1)),
+            fingerprint(operationFactory.createFilter(second), operationFactory.createSorted(comparator.reversed()), operationFactory.createLimit(2))
+        );
+    }
+
+    @Test
+    void differentShape() {
+        assertNotEquals(
+            fingerprint(operationFactory.createFilter(Film$.title.equal("A"))),
+            fingerprint(operationFactory.createFilter(Film$.title.notEqual("A")))
+        );
+        assertNotEquals(
+            fingerprint(operationFactory.createFilter(Film$.title.in("A", "B"))),
+            fingerprint(operationFactory.createFilter(Film$.title.in("A", "B", "C")))
+        );
+        assertNotEquals(
+            fingerprint(operationFactory.createSorted(Film$.length)),
+            fingerprint(operationFactory.createSorted(Film$.length.reversed()))
+        );
+        assertNotEquals(
+            fingerprint(operationFactory.createSorted(Film$.length)),
+            fingerprint(operationFactory.createSorted(Film$.title))
+        );
+        assertNotEquals(
+            fingerprint(operationFactory.createFilter(Film$.title.equal("A"))),
+            PipelineFingerprint.of(pipeline(operationFactory.createFilter(Film$.title.equal("A"))), configuration.joining(Film$.title))
+        );
+    }
+
+    @Test
+    void valuesAreNotPartOfShape() {
+        final Optional<PipelineFingerprint> first = fingerprint(
+            operationFactory.createFilter(Film$.title.equal("A").or(Film$.length.between(1, 10)))
+        );
+        final Optional<PipelineFingerprint> second = fingerprint(
+            operationFactory.createFilter(Film$.title.equal("B").or(Film$.length.between(2, 20)))
+        );
+        assertEquals(first, second);
+        assertEquals(2, second.get().fieldPredicates().size());
+        assertEquals("B", ((HasArg0<?>) second.get().fieldPredicates().get(0)).get0());
+
+        // IN lists are padded to the same number of parameters
+        assertEquals(
+            fingerprint(operationFactory.createFilter(Film$.title.in("A", "B", "C"))),
+            fingerprint(operationFactory.createFilter(Film$.title.in("D", "E", "F", "G")))
+        );
+    }
+
+    @Test
+    void unsupportedCombination() {
+        final Predicate<Film> opaque = f -> true;
+        assertFalse(fingerprint(operationFactory.createFilter(Film$.title.equal("A").and(opaque))).isPresent());
+    }
+
+    @Test
+    void joins() {
+        // Separately created join configurations that render the same joins are equal
+        assertEquals(
+            PipelineFingerprint.of(pipeline(), StreamConfiguration.of(Film.class).joining(Film$.title, JoinType.LEFT).joining(Film$.length, JoinType.INNER)),
+            PipelineFingerprint.of(pipeline(), StreamConfiguration.of(Film.class).joining(Film$.length, JoinType.INNER).joining(Film$.title, JoinType.LEFT))
+        );
+        assertNotEquals(
+            PipelineFingerprint.of(pipeline(), configuration.joining(Film$.title, JoinType.LEFT)),
+            PipelineFingerprint.of(pipeline(), configuration.joining(Film$.title, JoinType.INNER))
+        );
+        assertNotEquals(
+            PipelineFingerprint.of(pipeline(), configuration.joining(Film$.title, JoinType.LEFT)),
+            PipelineFingerprint.of(pipeline(), configuration.joining(Film$.length, JoinType.LEFT))
+        );
+    }
+
+    private Optional<PipelineFingerprint> fingerprint(final IntermediateOperation<?, ?>... operations) {
+        return PipelineFingerprint.of(pipeline(operations), configuration);
+    }
+
+    private Pipeline<Film> pipeline(final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        for (IntermediateOperation<?, ?> operation : operations) {
+            pipeline.intermediateOperations().add(operation);
+        }
+        return pipeline;
+    }
+
+}
@@ -0,0 +1,85 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+final class PrefetchingSpliteratorTest {
+
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void preservesOrder() {
+        final List<Integer> expected = IntStream.range(0, 1_000).boxed().collect(toList());
+        assertEquals(expected, stream(expected.stream(), 7).collect(toList()));
+    }
+
+    @Test
+    void boundsBuffer() throws InterruptedException {
+        final AtomicInteger produced = new AtomicInteger();
+        final PrefetchingSpliterator<Integer> spliterator = new PrefetchingSpliterator<>(
+            IntStream.range(0, 1_000).boxed().peek(i -> produced.incrementAndGet()).spliterator(),
+            executor,
+            10
+        );
+
+        assertTrue(spliterator.tryAdvance(i -> {}));
+        Thread.sleep(200);
+        // One element consumed, at most ten buffered and one waiting to be offered
+        assertTrue(produced.get() <= 12, "produced " + produced.get());
+
+        spliterator.close();
+        final int afterClose = produced.get();
+        Thread.sleep(200);
+        assertEquals(afterClose, produced.get());
+    }
+
+    @Test
+    void propagatesFailure() {
+        final Stream<Integer> failing = Stream.of(1, 2, 3).map(i -> {
+            if (i == 3) {
+                throw new IllegalArgumentException("boom");
+            }
+            return i;
+        });
+
+        try (Stream<Integer> stream = stream(failing, 10)) {
+            assertThrows(IllegalArgumentException.class, () -> stream.forEach(i -> {}));
+        }
+    }
+
+    private <T> Stream<T> stream(final Stream<T> source, final int bufferSize) {
+        final PrefetchingSpliterator<T> spliterator = new PrefetchingSpliterator<>(source.spliterator(), executor, bufferSize);
+        return StreamSupport.stream(spliterator, false).onClose(spliterator::close);
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+import com.speedment.jpastreamer.field.StringField;
+import com.speedment.jpastreamer.field.projection.Projection;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.ServiceLoader;
+
+final class ProjectionUtilTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void projectedField() {
+        assertEquals(
+            Optional.of(Film$.title),
+            ProjectionUtil.projectedField(pipeline(operationFactory.createMap(Film$.title), operationFactory.acquireDistinct()))
+        );
+
+        // The getter is resolved to its field through the metamodel
+        assertEquals(
+            Optional.of(Film$.length),
+            ProjectionUtil.projectedField(pipeline(operationFactory.createMap(Film$.length.getter())))
+        );
+    }
+
+    @Test
+    void notProjected() {
+        assertFalse(ProjectionUtil.projectedField(pipeline(operationFactory.createMap(Film::getTitle))).isPresent());
+
+        // A residual filter must be applied to the entities
+        assertFalse(ProjectionUtil.projectedField(pipeline(
+            operationFactory.<Film>createFilter(f -> f.getId() > 1),
+            operationFactory.createMap(Film$.title)
+        )).isPresent());
+
+        // The field belongs to another entity
+        final StringField<String> other = StringField.create(String.class, "title", String::trim, false);
+        assertFalse(ProjectionUtil.projectedField(pipeline(operationFactory.createMap(other))).isPresent());
+    }
+
+    @Test
+    void projection() {
+        final Projection<Film, FilmDto> projection = Projection.of(FilmDto.class, Film$.id, Film$.title);
+
+        assertEquals(
+            Optional.of(projection),
+            ProjectionUtil.projection(pipeline(operationFactory.createMap(projection), operationFactory.acquireDistinct()))
+        );
+
+        // A residual filter must be applied to the entities
+        assertFalse(ProjectionUtil.projection(pipeline(
+            operationFactory.<Film>createFilter(f -> f.getId() > 1),
+            operationFactory.createMap(projection)
+        )).isPresent());
+
+        assertFalse(ProjectionUtil.projection(pipeline(operationFactory.createMap(Film$.title))).isPresent());
+    }
+
+    @Test
+    void count() {
+        assertEquals(3, ProjectionUtil.count(new Object[]{3L}));
+
+        // Stream::distinct counts null as a value of its own
+        assertEquals(3, ProjectionUtil.count(new Object[]{2L, 5L, 4L}));
+        assertEquals(2, ProjectionUtil.count(new Object[]{2L, 5L, 5L}));
+    }
+
+    public static final class FilmDto {
+
+        public FilmDto(int id, String title) {}
+    }
+
+    private Pipeline<Film> pipeline(final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        for (IntermediateOperation<?, ?> operation : operations) {
+            pipeline.intermediateOperations().add(operation);
+        }
+        return pipeline;
+    }
+
+}
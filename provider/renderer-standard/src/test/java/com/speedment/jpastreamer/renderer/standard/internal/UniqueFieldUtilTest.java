@@ -0,0 +1,274 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.renderer.standard.internal;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.DISTINCT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FILTER;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.FLAT_MAP;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.LIMIT;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.MAP;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.MAP_TO;
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.SORTED;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.speedment.jpastreamer.field.StringField;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import javax.persistence.metamodel.EntityType;
+import javax.persistence.metamodel.Metamodel;
+import javax.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+
+final class UniqueFieldUtilTest {
+
+    // A unique field that may be null
+    private static final StringField<Film> uniqueTitle = StringField.create(Film.class, "title", Film::getTitle, true);
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final IntIntermediateOperationFactory intOperationFactory = RootFactory.getOrThrow(IntIntermediateOperationFactory.class, ServiceLoader::load);
+
+    @Test
+    void single() {
+        assertTypes(
+            optimize(
+                operationFactory.createFilter(Film$.id.equal(1)),
+                operationFactory.createSorted(Film$.title.comparator()),
+                operationFactory.acquireDistinct(),
+                operationFactory.createLimit(1),
+                operationFactory.createMap(Film$.title),
+                operationFactory.acquireSorted()
+            ),
+            FILTER, MAP
+        );
+
+        // An equality that is a conjunct of the filter also selects at most one entity
+        assertTypes(
+            optimize(
+                operationFactory.createFilter(Film$.title.startsWith("A").and(uniqueTitle.equal("ACE GOLDFINGER"))),
+                operationFactory.createSorted(Film$.title.comparator())
+            ),
+            FILTER
+        );
+    }
+
+    @Test
+    void notSingle() {
+        assertTypes(
+            optimize(
+                operationFactory.createFilter(Film$.title.equal("ACE GOLDFINGER")),
+                operationFactory.createSorted(Film$.id.comparator()),
+                operationFactory.createLimit(1)
+            ),
+            FILTER, SORTED, LIMIT
+        );
+
+        // Elements may be repeated by a flat map
+        assertTypes(
+            optimize(
+                operationFactory.createFilter(Film$.id.equal(1)),
+                operationFactory.<Film, Film>createFlatMap(f -> Stream.of(f, f)),
+                operationFactory.acquireDistinct()
+            ),
+            FILTER, FLAT_MAP, DISTINCT
+        );
+    }
+
+    @Test
+    void distinctValues() {
+        assertTypes(
+            optimize(
+                operationFactory.createMapToInt(Film$.id),
+                intOperationFactory.createSorted(),
+                intOperationFactory.createDistinct()
+            ),
+            MAP_TO, SORTED
+        );
+
+        // Several entities may have a unique field that is null
+        assertTypes(
+            optimize(
+                operationFactory.createMap(uniqueTitle),
+                operationFactory.acquireDistinct()
+            ),
+            MAP, DISTINCT
+        );
+    }
+
+    @Test
+    void completeSort() {
+        final Pipeline<Film> pipeline = optimize(
+            operationFactory.createSorted(Film$.title.comparator()),
+            operationFactory.createFilter(Film$.title.startsWith("A")),
+            operationFactory.createSorted(Film$.id.comparator().reversed().thenComparing(Film$.title.comparator()))
+        );
+
+        assertTypes(pipeline, FILTER, SORTED);
+        assertEquals(Film$.id.comparator().reversed(), pipeline.intermediateOperations().getLast().arguments()[0]);
+
+        // The preceding sort decides which entities are retained by the limit
+        assertTypes(
+            optimize(
+                operationFactory.createSorted(Film$.title.comparator()),
+                operationFactory.createLimit(10),
+                operationFactory.createSorted(Film$.id.comparator())
+            ),
+            SORTED, LIMIT, SORTED
+        );
+
+        // Entities with a null value compare equal
+        assertTypes(
+            optimize(
+                operationFactory.createSorted(Film$.title.comparator()),
+                operationFactory.createSorted(uniqueTitle.comparator())
+            ),
+            SORTED, SORTED
+        );
+    }
+
+    @Test
+    void id() {
+        final Metamodel metamodel = metamodel("title");
+
+        assertTypes(
+            optimize(
+                metamodel,
+                operationFactory.createFilter(Film$.title.equal("ACE GOLDFINGER")),
+                operationFactory.createSorted(Film$.length.comparator()),
+                operationFactory.createLimit(10)
+            ),
+            FILTER
+        );
+
+        // An id is never null
+        assertTypes(
+            optimize(
+                metamodel,
+                operationFactory.createSorted(Film$.length.comparator()),
+                operationFactory.createSorted(Film$.title.comparator())
+            ),
+            SORTED
+        );
+    }
+
+    @Test
+    void compositeId() {
+        // Several entities share each part of the id
+        final Metamodel metamodel = metamodel("title", "length");
+
+        assertTypes(
+            optimize(
+                metamodel,
+                operationFactory.createFilter(Film$.title.equal("ACE GOLDFINGER")),
+                operationFactory.createSorted(Film$.length.comparator()),
+                operationFactory.createLimit(10)
+            ),
+            FILTER, SORTED, LIMIT
+        );
+
+        assertTypes(
+            optimize(
+                metamodel,
+                operationFactory.createSorted(Film$.title.comparator()),
+                operationFactory.createSorted(Film$.length.comparator())
+            ),
+            SORTED, SORTED
+        );
+    }
+
+    private Pipeline<Film> optimize(final IntermediateOperation<?, ?>... operations) {
+        return optimize(null, operations);
+    }
+
+    private Pipeline<Film> optimize(final Metamodel metamodel, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        for (IntermediateOperation<?, ?> operation : operations) {
+            pipeline.intermediateOperations().add(operation);
+        }
+        UniqueFieldUtil.removeRedundantOperations(pipeline, metamodel, operationFactory);
+        return pipeline;
+    }
+
+    /**
+     * Returns a Metamodel where the provided attributes of {@link Film} form
+     * its id.
+     */
+    private static Metamodel metamodel(final String... ids) {
+        final Set<SingularAttribute<?, ?>> attributes = new HashSet<>();
+        for (String id : ids) {
+            attributes.add(proxy(SingularAttribute.class, (method, args) -> {
+                switch (method) {
+                    case "isId": return true;
+                    case "getName": return id;
+                    default: throw new UnsupportedOperationException(method);
+                }
+            }));
+        }
+
+        final EntityType<?> entityType = proxy(EntityType.class, (method, args) -> {
+            switch (method) {
+                case "hasSingleIdAttribute": return ids.length == 1;
+                case "getSingularAttributes": return Collections.unmodifiableSet(attributes);
+                default: throw new UnsupportedOperationException(method);
+            }
+        });
+
+        return proxy(Metamodel.class, (method, args) -> {
+            if ("entity".equals(method) && args[0] == Film.class) {
+                return entityType;
+            }
+            throw new UnsupportedOperationException(method);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<?> type, final BiFunction<String, Object[], Object> handler) {
+        return (T) Proxy.newProxyInstance(
+            type.getClassLoader(),
+            new Class<?>[]{type},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode": return System.identityHashCode(proxy);
+                    case "equals": return proxy == args[0];
+                    case "toString": return type.getSimpleName() + "Stub";
+                    default: return handler.apply(method.getName(), args);
+                }
+            }
+        );
+    }
+
+    private static void assertTypes(final Pipeline<?> pipeline, final IntermediateOperationType... types) {
+        final List<IntermediateOperationType> actual = pipeline.intermediateOperations().stream()
+            .map(IntermediateOperation::type)
+            .collect(toList());
+
+        assertEquals(Arrays.asList(types), actual);
+    }
+
+}
@@ -12,8 +12,11 @@
  */
 package com.speedment.jpastreamer.streamconfiguration.standard;
 
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration.ContinuationToken;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfigurationFactory;
+import com.speedment.jpastreamer.streamconfiguration.standard.internal.StandardContinuationToken;
 import com.speedment.jpastreamer.streamconfiguration.standard.internal.StandardStreamConfiguration;
 
 import java.util.Collections;
@@ -26,4 +29,12 @@ public final class StandardStreamConfigurationFactory implements StreamConfigura
     public <T> StreamConfiguration<T> createStreamConfiguration(final Class<T> entityClass) {
         return new StandardStreamConfiguration<>(requireNonNull(entityClass));
     }
+
+    @Override
+    public <T, V extends Comparable<? super V>> ContinuationToken<T> createContinuationToken(
+        final HasComparableOperators<T, V> field,
+        final T entity
+    ) {
+        return new StandardContinuationToken<>(field, entity);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,69 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.streamconfiguration.standard.internal;
+
+import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+
+import static java.util.Objects.requireNonNull;
+
+public final class StandardContinuationToken<T, V extends Comparable<? super V>> implements StreamConfiguration.ContinuationToken<T> {
+
+    private final HasComparableOperators<T, V> field;
+    private final V key;
+
+    @SuppressWarnings("unchecked")
+    public StandardContinuationToken(final HasComparableOperators<T, V> field, final T entity) {
+        this.field = requireNonNull(field);
+        this.key = (V) field.getter().apply(requireNonNull(entity));
+        if (key == null) {
+            throw new IllegalArgumentException("The entity " + entity + " has no value for " + field.columnName() + " to continue after");
+        }
+    }
+
+    @Override
+    public Field<T> field() {
+        return field;
+    }
+
+    @Override
+    public SpeedmentPredicate<T> predicate(final boolean reversed) {
+        return reversed ? field.lessThan(key) : field.greaterThan(key);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        final StandardContinuationToken<?, ?> that = (StandardContinuationToken<?, ?>) o;
+
+        if (!field.equals(that.field)) return false;
+        return key.equals(that.key);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = field.hashCode();
+        result = 31 * result + key.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "after " + field.columnName() + " " + key;
+    }
+
+}
@@ -13,11 +13,17 @@
 package com.speedment.jpastreamer.streamconfiguration.standard.internal;
 
 import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
 
+import javax.persistence.FlushModeType;
 import javax.persistence.criteria.JoinType;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -27,15 +33,54 @@ public final class StandardStreamConfiguration<T> implements StreamConfiguration
 
     private final Class<T> entityClass;
     private final Set<JoinConfiguration<T>> joinConfigurations;
+    private final int readOnlyWindowSize;
+    private final int prefetchBufferSize;
+    private final Integer fetchSize;
+    private final Duration queryTimeout;
+    private final Boolean cacheable;
+    private final FlushModeType flushMode;
+    private final ContinuationToken<T> continuation;
+    private final Field<T> partitionField;
+    private final int partitions;
 
     public StandardStreamConfiguration(final Class<T> entityClass) {
         this.entityClass = requireNonNull(entityClass);
         this.joinConfigurations = Collections.emptySet();
+        this.readOnlyWindowSize = 0;
+        this.prefetchBufferSize = 0;
+        this.fetchSize = null;
+        this.queryTimeout = null;
+        this.cacheable = null;
+        this.flushMode = null;
+        this.continuation = null;
+        this.partitionField = null;
+        this.partitions = 0;
     }
 
-    private StandardStreamConfiguration(final Class<T> entityClass, final Set<JoinConfiguration<T>> joinConfigurations) {
+    private StandardStreamConfiguration(
+        final Class<T> entityClass,
+        final Set<JoinConfiguration<T>> joinConfigurations,
+        final int readOnlyWindowSize,
+        final int prefetchBufferSize,
+        final Integer fetchSize,
+        final Duration queryTimeout,
+        final Boolean cacheable,
+        final FlushModeType flushMode,
+        final ContinuationToken<T> continuation,
+        final Field<T> partitionField,
+        final int partitions
+    ) {
         this.entityClass = entityClass;
         this.joinConfigurations = new HashSet<>(joinConfigurations);
+        this.readOnlyWindowSize = readOnlyWindowSize;
+        this.prefetchBufferSize = prefetchBufferSize;
+        this.fetchSize = fetchSize;
+        this.queryTimeout = queryTimeout;
+        this.cacheable = cacheable;
+        this.flushMode = flushMode;
+        this.continuation = continuation;
+        this.partitionField = partitionField;
+        this.partitions = partitions;
     }
 
     @Override
@@ -54,7 +99,121 @@ public final class StandardStreamConfiguration<T> implements StreamConfiguration
         requireNonNull(joinType);
         final Set<JoinConfiguration<T>> newjoins = new HashSet<>(joinConfigurations);
         newjoins.add(new StandardJoinConfiguration<>(field, joinType));
-        return new StandardStreamConfiguration<>(entityClass, newjoins);
+        return new StandardStreamConfiguration<>(entityClass, newjoins, readOnlyWindowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public boolean isReadOnly() {
+        return readOnlyWindowSize > 0;
+    }
+
+    @Override
+    public int readOnlyWindowSize() {
+        return readOnlyWindowSize;
+    }
+
+    @Override
+    public StreamConfiguration<T> readOnly(final int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("The window size must be positive: " + windowSize);
+        }
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, windowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public boolean isPrefetching() {
+        return prefetchBufferSize > 0;
+    }
+
+    @Override
+    public int prefetchBufferSize() {
+        return prefetchBufferSize;
+    }
+
+    @Override
+    public StreamConfiguration<T> prefetching(final int bufferSize) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size must be positive: " + bufferSize);
+        }
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, bufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public OptionalInt fetchSize() {
+        return fetchSize == null ? OptionalInt.empty() : OptionalInt.of(fetchSize);
+    }
+
+    @Override
+    public StreamConfiguration<T> withFetchSize(final int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("The fetch size must be positive: " + fetchSize);
+        }
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public Optional<Duration> queryTimeout() {
+        return Optional.ofNullable(queryTimeout);
+    }
+
+    @Override
+    public StreamConfiguration<T> withQueryTimeout(final Duration timeout) {
+        requireNonNull(timeout);
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The query timeout must be positive: " + timeout);
+        }
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, prefetchBufferSize, fetchSize, timeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public Optional<Boolean> cacheable() {
+        return Optional.ofNullable(cacheable);
+    }
+
+    @Override
+    public StreamConfiguration<T> withCacheable(final boolean cacheable) {
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public Optional<FlushModeType> flushMode() {
+        return Optional.ofNullable(flushMode);
+    }
+
+    @Override
+    public StreamConfiguration<T> withFlushMode(final FlushModeType flushMode) {
+        requireNonNull(flushMode);
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, partitionField, partitions);
+    }
+
+    @Override
+    public Optional<ContinuationToken<T>> continuation() {
+        return Optional.ofNullable(continuation);
+    }
+
+    @Override
+    public StreamConfiguration<T> continuingAfter(final ContinuationToken<T> token) {
+        requireNonNull(token);
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, token, partitionField, partitions);
+    }
+
+    @Override
+    public Optional<Field<T>> partitionField() {
+        return Optional.ofNullable(partitionField);
+    }
+
+    @Override
+    public int partitions() {
+        return partitions == 0 ? Runtime.getRuntime().availableProcessors() : partitions;
+    }
+
+    @Override
+    public StreamConfiguration<T> partitionedBy(final HasComparableOperators<T, ?> field, final int partitions) {
+        requireNonNull(field);
+        if (partitions <= 0) {
+            throw new IllegalArgumentException("The number of partitions must be positive: " + partitions);
+        }
+        return new StandardStreamConfiguration<>(entityClass, joinConfigurations, readOnlyWindowSize, prefetchBufferSize, fetchSize, queryTimeout, cacheable, flushMode, continuation, field, partitions);
     }
 
     @Override
@@ -64,7 +223,16 @@ public final class StandardStreamConfiguration<T> implements StreamConfiguration
 
         final StandardStreamConfiguration<?> that = (StandardStreamConfiguration<?>) o;
 
+        if (readOnlyWindowSize != that.readOnlyWindowSize) return false;
+        if (prefetchBufferSize != that.prefetchBufferSize) return false;
         if (!entityClass.equals(that.entityClass)) return false;
+        if (!Objects.equals(fetchSize, that.fetchSize)) return false;
+        if (!Objects.equals(queryTimeout, that.queryTimeout)) return false;
+        if (!Objects.equals(cacheable, that.cacheable)) return false;
+        if (flushMode != that.flushMode) return false;
+        if (!Objects.equals(continuation, that.continuation)) return false;
+        if (!Objects.equals(partitionField, that.partitionField)) return false;
+        if (partitions != that.partitions) return false;
         return joinConfigurations.equals(that.joinConfigurations);
     }
 
@@ -72,6 +240,15 @@ public final class StandardStreamConfiguration<T> implements StreamConfiguration
     public int hashCode() {
         int result = entityClass.hashCode();
         result = 31 * result + joinConfigurations.hashCode();
+        result = 31 * result + readOnlyWindowSize;
+        result = 31 * result + prefetchBufferSize;
+        result = 31 * result + Objects.hashCode(fetchSize);
+        result = 31 * result + Objects.hashCode(queryTimeout);
+        result = 31 * result + Objects.hashCode(cacheable);
+        result = 31 * result + Objects.hashCode(flushMode);
+        result = 31 * result + Objects.hashCode(continuation);
+        result = 31 * result + Objects.hashCode(partitionField);
+        result = 31 * result + partitions;
         return result;
     }
 
@@ -88,6 +265,14 @@ public final class StandardStreamConfiguration<T> implements StreamConfiguration
         return "StandardStreamConfiguration{" +
                 "of " + entityClass.getSimpleName() +
                 joinText +
+                (isReadOnly() ? " read-only in windows of " + readOnlyWindowSize : "") +
+                (isPrefetching() ? " prefetching " + prefetchBufferSize : "") +
+                (fetchSize == null ? "" : " fetch size " + fetchSize) +
+                (queryTimeout == null ? "" : " query timeout " + queryTimeout) +
+                (cacheable == null ? "" : " cacheable " + cacheable) +
+                (flushMode == null ? "" : " flush mode " + flushMode) +
+                (continuation == null ? "" : " continuing " + continuation) +
+                (partitionField == null ? "" : " partitioned by " + partitionField.columnName() + " into " + partitions) +
                 '}';
     }
-}
\ No newline at end of file
+}
@@ -14,11 +14,15 @@ package com.speedment.jpastreamer.streamconfiguration.standard.internal;
 
 import com.speedment.jpastreamer.field.Field;
 import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration.ContinuationToken;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import javax.persistence.FlushModeType;
 import javax.persistence.criteria.JoinType;
+import java.time.Duration;
 import java.util.Collections;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -52,6 +56,88 @@ final class StandardStreamConfigurationTest {
         assertNotSame(j1, j2);
     }
 
+    @Test
+    void readOnly() {
+        assertFalse(initial.isReadOnly());
+        assertEquals(0, initial.readOnlyWindowSize());
+
+        final StreamConfiguration<Film> readOnly = initial.joining(Film$.title).readOnly();
+        assertTrue(readOnly.isReadOnly());
+        assertEquals(StreamConfiguration.DEFAULT_READ_ONLY_WINDOW_SIZE, readOnly.readOnlyWindowSize());
+        assertEquals(Collections.singleton(new StandardJoinConfiguration<>(Film$.title, JoinType.LEFT)), readOnly.joins());
+
+        assertEquals(100, readOnly.joining(Film$.length).readOnly(100).readOnlyWindowSize());
+        assertThrows(IllegalArgumentException.class, () -> initial.readOnly(0));
+        assertNotEquals(initial, initial.readOnly());
+    }
+
+    @Test
+    void hints() {
+        assertFalse(initial.fetchSize().isPresent());
+        assertFalse(initial.queryTimeout().isPresent());
+        assertFalse(initial.cacheable().isPresent());
+        assertFalse(initial.flushMode().isPresent());
+
+        final StreamConfiguration<Film> configuration = initial
+                .joining(Film$.title)
+                .withFetchSize(500)
+                .withQueryTimeout(Duration.ofSeconds(2))
+                .withCacheable(false)
+                .withFlushMode(FlushModeType.COMMIT)
+                .readOnly();
+
+        assertEquals(500, configuration.fetchSize().getAsInt());
+        assertEquals(Optional.of(Duration.ofSeconds(2)), configuration.queryTimeout());
+        assertEquals(Optional.of(false), configuration.cacheable());
+        assertEquals(Optional.of(FlushModeType.COMMIT), configuration.flushMode());
+        assertTrue(configuration.isReadOnly());
+        assertEquals(1, configuration.joins().size());
+
+        assertThrows(IllegalArgumentException.class, () -> initial.withFetchSize(0));
+        assertThrows(IllegalArgumentException.class, () -> initial.withQueryTimeout(Duration.ZERO));
+        assertNotEquals(initial, initial.withFetchSize(500));
+        assertEquals(initial.withFetchSize(500), initial.withFetchSize(500));
+    }
+
+    @Test
+    void prefetching() {
+        assertFalse(initial.isPrefetching());
+        assertEquals(StreamConfiguration.DEFAULT_PREFETCH_BUFFER_SIZE, initial.prefetching().prefetchBufferSize());
+        assertEquals(500, initial.withFetchSize(500).prefetching().prefetchBufferSize());
+        assertTrue(initial.prefetching(10).isPrefetching());
+        assertThrows(IllegalArgumentException.class, () -> initial.prefetching(0));
+        assertNotEquals(initial, initial.prefetching());
+    }
+
+    @Test
+    void partitioning() {
+        assertFalse(initial.partitionField().isPresent());
+        assertEquals(Runtime.getRuntime().availableProcessors(), initial.partitions());
+
+        final StreamConfiguration<Film> configuration = initial.partitionedBy(Film$.length, 16);
+        assertEquals(Optional.of(Film$.length), configuration.partitionField());
+        assertEquals(16, configuration.partitions());
+        assertThrows(IllegalArgumentException.class, () -> initial.partitionedBy(Film$.length, 0));
+    }
+
+    @Test
+    void continuation() {
+        assertFalse(initial.continuation().isPresent());
+
+        final Film film = new Film();
+        film.title = "ACADEMY DINOSAUR";
+        final ContinuationToken<Film> token = ContinuationToken.after(Film$.title, film);
+
+        final StreamConfiguration<Film> configuration = initial.continuingAfter(token);
+        assertEquals(Optional.of(token), configuration.continuation());
+        assertEquals(configuration, initial.continuingAfter(ContinuationToken.after(Film$.title, film)));
+        assertTrue(token.predicate(false).test(next("BEACH HEARTBREAKERS")));
+        assertFalse(token.predicate(true).test(next("BEACH HEARTBREAKERS")));
+        assertFalse(token.predicate(false).test(film));
+
+        assertThrows(IllegalArgumentException.class, () -> ContinuationToken.after(Film$.title, new Film()));
+    }
+
     @Test
     void testEquals() {
         final StreamConfiguration<Film> first = initial.joining(Film$.title).joining(Film$.length);
@@ -75,4 +161,10 @@ final class StandardStreamConfigurationTest {
         assertTrue(toString.contains(Film$.length.columnName()));
         System.out.println(toString);
     }
+
+    private static Film next(final String title) {
+        final Film film = new Film();
+        film.title = title;
+        return film;
+    }
 }
\ No newline at end of file
@@ -12,12 +12,23 @@
  */
 package com.speedment.jpastreamer.termopmodifier.standard.internal;
 
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
 import com.speedment.jpastreamer.termopmodifier.TerminalOperationModifier;
 import com.speedment.jpastreamer.termopmodifier.TerminalOperationModifierFactory;
 
+import java.util.ServiceLoader;
+
 public final class InternalTerminalOperatorModifierFactory implements TerminalOperationModifierFactory {
 
-    private final TerminalOperationModifier singleton = new StandardTerminalOperatorModifier();
+    private final TerminalOperationModifier singleton;
+
+    public InternalTerminalOperatorModifierFactory() {
+        final IntermediateOperationFactory intermediateOperationFactory = RootFactory
+            .getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+        this.singleton = new StandardTerminalOperatorModifier(intermediateOperationFactory);
+    }
 
     @Override
     public TerminalOperationModifier get() {
@@ -13,15 +13,30 @@
 package com.speedment.jpastreamer.termopmodifier.standard.internal;
 
 import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.termopmodifier.TerminalOperationModifier;
+import com.speedment.jpastreamer.termopmodifier.standard.internal.strategy.ImplicitLimit;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
-final class StandardTerminalOperatorModifier implements com.speedment.jpastreamer.termopmodifier.TerminalOperationModifier {
+final class StandardTerminalOperatorModifier implements TerminalOperationModifier {
+
+    private final List<TerminalOperationModifier> strategies = new ArrayList<>();
+
+    StandardTerminalOperatorModifier(final IntermediateOperationFactory intermediateOperationFactory) {
+        requireNonNull(intermediateOperationFactory);
+        strategies.add(new ImplicitLimit(intermediateOperationFactory));
+    }
 
     @Override
     public <T> Pipeline<T> modify(Pipeline<T> pipeline) {
         requireNonNull(pipeline);
-        // For now, just return whatever we get.
+        for (TerminalOperationModifier strategy : strategies) {
+            strategy.modify(pipeline);
+        }
         return pipeline;
     }
 }
\ No newline at end of file
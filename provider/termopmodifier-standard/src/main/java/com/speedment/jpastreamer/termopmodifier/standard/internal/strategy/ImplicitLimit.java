@@ -0,0 +1,159 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopmodifier.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.terminal.OrderPreservation.NOT_REQUIRED;
+import static com.speedment.jpastreamer.pipeline.terminal.OrderPreservation.NOT_REQUIRED_IF_PARALLEL;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.comparator.CombinedComparator;
+import com.speedment.jpastreamer.field.comparator.FieldComparator;
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.OrderPreservation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+import com.speedment.jpastreamer.termopmodifier.TerminalOperationModifier;
+
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * Adds an implicit {@code limit(1)} to pipelines terminated by
+ * {@code findFirst()} or {@code findAny()} when all intermediate operations
+ * can be merged into the query, so that at most one row is fetched.
+ * <p>
+ * If the terminal operation does not require the encounter order, sorting
+ * operations are removed as well.
+ */
+public final class ImplicitLimit implements TerminalOperationModifier {
+
+    private final IntermediateOperationFactory intermediateOperationFactory;
+
+    public ImplicitLimit(final IntermediateOperationFactory intermediateOperationFactory) {
+        this.intermediateOperationFactory = requireNonNull(intermediateOperationFactory);
+    }
+
+    @Override
+    public <T> Pipeline<T> modify(final Pipeline<T> pipeline) {
+        final TerminalOperationType terminalOperationType = pipeline.terminatingOperation().type();
+
+        if (terminalOperationType != TerminalOperationType.FIND_FIRST && terminalOperationType != TerminalOperationType.FIND_ANY) {
+            return pipeline;
+        }
+
+        final LinkedList<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (!isMergeable(intermediateOperations)) {
+            return pipeline;
+        }
+
+        final boolean sliced = intermediateOperations.stream()
+            .anyMatch(io -> io.type() == IntermediateOperationType.SKIP || io.type() == IntermediateOperationType.LIMIT);
+
+        // Without skip or limit, the ordering cannot affect which elements may be returned
+        if (!sliced && !isOrderRequired(pipeline)) {
+            intermediateOperations.removeIf(io -> io.type() == IntermediateOperationType.SORTED);
+        }
+
+        if (!intermediateOperations.isEmpty() && intermediateOperations.getLast().type() == IntermediateOperationType.LIMIT) {
+            final long limit = (Long) intermediateOperations.getLast().arguments()[0];
+
+            if (limit > 1) {
+                intermediateOperations.removeLast();
+                intermediateOperations.add(intermediateOperationFactory.createLimit(1));
+            }
+        } else {
+            intermediateOperations.add(intermediateOperationFactory.createLimit(1));
+        }
+
+        return pipeline;
+    }
+
+    private boolean isOrderRequired(final Pipeline<?> pipeline) {
+        final OrderPreservation orderPreservation = pipeline.terminatingOperation().type().orderPreservation();
+
+        return !(pipeline.isUnordered() || orderPreservation == NOT_REQUIRED ||
+            (pipeline.isParallel() && orderPreservation == NOT_REQUIRED_IF_PARALLEL));
+    }
+
+    /*
+     * The criteria merger merges every Speedment filter, the first distinct and the first
+     * sequence of sorted operations up to the first skip or limit, which are merged into the
+     * query instead. Any other arrangement leaves operations to be applied in memory, after
+     * the row limit.
+     */
+    private boolean isMergeable(final List<IntermediateOperation<?, ?>> intermediateOperations) {
+        boolean distinct = false;
+        boolean sorted = false;
+        boolean sliced = false;
+
+        IntermediateOperationType previous = null;
+
+        for (IntermediateOperation<?, ?> intermediateOperation : intermediateOperations) {
+            final IntermediateOperationType type = intermediateOperation.type();
+
+            switch (type) {
+                case FILTER:
+                    if (sliced || !isRenderablePredicate(intermediateOperation.arguments()[0])) {
+                        return false;
+                    }
+                    break;
+                case SORTED:
+                    if (sliced || (sorted && previous != IntermediateOperationType.SORTED)
+                        || intermediateOperation.arguments().length != 1
+                        || !isRenderableComparator(intermediateOperation.arguments()[0])) {
+                        return false;
+                    }
+                    sorted = true;
+                    break;
+                case DISTINCT:
+                    if (sliced || distinct) {
+                        return false;
+                    }
+                    distinct = true;
+                    break;
+                case SKIP:
+                case LIMIT:
+                    sliced = true;
+                    break;
+                default:
+                    return false;
+            }
+
+            previous = type;
+        }
+
+        return true;
+    }
+
+    private static boolean isRenderablePredicate(final Object predicate) {
+        if (predicate instanceof FieldPredicate) {
+            return true;
+        }
+
+        if (predicate instanceof CombinedPredicate) {
+            return ((CombinedPredicate<?>) predicate).stream().allMatch(ImplicitLimit::isRenderablePredicate);
+        }
+
+        return false;
+    }
+
+    private static boolean isRenderableComparator(final Object comparator) {
+        return comparator instanceof FieldComparator || comparator instanceof CombinedComparator;
+    }
+
+}
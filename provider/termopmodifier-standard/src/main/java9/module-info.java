@@ -12,6 +12,8 @@
  */
 module jpastreamer.termopmodifier.standard {
     requires transitive jpastreamer.termopmodifier;
+    requires jpastreamer.field;
+    requires jpastreamer.rootfactory;
 
     exports com.speedment.jpastreamer.termopmodifier.standard;
 
@@ -0,0 +1,163 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopmodifier.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.*;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+final class ImplicitLimitTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final TerminalOperationFactory terminalFactory = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+
+    private final ImplicitLimit modifier = new ImplicitLimit(operationFactory);
+
+    @Test
+    void findFirst() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindFirst(),
+            operationFactory.createFilter(Film$.title.startsWith("A")),
+            operationFactory.createSorted(Film$.id)
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, SORTED, LIMIT), types(pipeline));
+        assertEquals(1L, pipeline.intermediateOperations().getLast().arguments()[0]);
+    }
+
+    @Test
+    void filtersAroundSorted() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindFirst(),
+            operationFactory.createFilter(Film$.title.startsWith("A")),
+            operationFactory.createSorted(Film$.id),
+            operationFactory.createFilter(Film$.length.greaterThan(100))
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, SORTED, FILTER, LIMIT), types(pipeline));
+    }
+
+    @Test
+    void sortedAfterFilter() {
+        // Only the first sequence of sorted operations is merged
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindFirst(),
+            operationFactory.createSorted(Film$.id),
+            operationFactory.createFilter(Film$.title.startsWith("A")),
+            operationFactory.createSorted(Film$.title)
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(SORTED, FILTER, SORTED), types(pipeline));
+    }
+
+    @Test
+    void findAnyDropsOrder() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindAny(),
+            operationFactory.createSorted(Film$.id),
+            operationFactory.createFilter(Film$.title.startsWith("A"))
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, LIMIT), types(pipeline));
+    }
+
+    @Test
+    void findAnyKeepsOrderBeforeLimit() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindAny(),
+            operationFactory.createSorted(Film$.id),
+            operationFactory.createLimit(5)
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(SORTED, LIMIT), types(pipeline));
+        assertEquals(1L, pipeline.intermediateOperations().getLast().arguments()[0]);
+    }
+
+    @Test
+    void existingLimit() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindFirst(),
+            operationFactory.createSkip(2),
+            operationFactory.createLimit(0)
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(SKIP, LIMIT), types(pipeline));
+        assertEquals(0L, pipeline.intermediateOperations().getLast().arguments()[0]);
+    }
+
+    @Test
+    void unsupportedFilter() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindFirst(),
+            operationFactory.<Film>createFilter(f -> f.getId() > 10)
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(FILTER), types(pipeline));
+    }
+
+    @Test
+    void unsupportedComparator() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.acquireFindFirst(),
+            operationFactory.createSorted(Comparator.comparing(Film::getTitle))
+        );
+
+        modifier.modify(pipeline);
+
+        assertEquals(Arrays.asList(SORTED), types(pipeline));
+    }
+
+    private Pipeline<Film> createPipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        pipeline.intermediateOperations().addAll(Arrays.asList(operations));
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+    private List<IntermediateOperationType> types(final Pipeline<?> pipeline) {
+        return pipeline.intermediateOperations().stream()
+            .map(IntermediateOperation::type)
+            .collect(toList());
+    }
+
+}
@@ -16,7 +16,7 @@ import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
 import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizerFactory;
 import com.speedment.jpastreamer.termopoptimizer.standard.internal.InternalTerminalOperatorOptimizerFactory;
 
-public final class StandardTerminalOperatorModifierFactory implements TerminalOperationOptimizerFactory {
+public final class StandardTerminalOperatorOptimizerFactory implements TerminalOperationOptimizerFactory {
 
     private final TerminalOperationOptimizerFactory delegate = new InternalTerminalOperatorOptimizerFactory();
 
@@ -12,12 +12,27 @@
  */
 package com.speedment.jpastreamer.termopoptimizer.standard.internal;
 
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
 import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
 import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizerFactory;
 
+import java.util.ServiceLoader;
+
 public final class InternalTerminalOperatorOptimizerFactory implements TerminalOperationOptimizerFactory{
 
-    private final TerminalOperationOptimizer singleton = new StandardTerminalOperatorOptimizer();
+    private final TerminalOperationOptimizer singleton;
+
+    public InternalTerminalOperatorOptimizerFactory() {
+        final IntermediateOperationFactory intermediateOperationFactory = RootFactory
+            .getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+
+        final TerminalOperationFactory terminalOperationFactory = RootFactory
+            .getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+
+        this.singleton = new StandardTerminalOperatorOptimizer(intermediateOperationFactory, terminalOperationFactory);
+    }
 
     @Override
     public TerminalOperationOptimizer get() {
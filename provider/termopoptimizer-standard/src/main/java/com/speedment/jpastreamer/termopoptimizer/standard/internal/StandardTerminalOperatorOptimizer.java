@@ -13,16 +13,39 @@
 package com.speedment.jpastreamer.termopoptimizer.standard.internal;
 
 import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
 import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
+import com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy.MatchProbe;
+import com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy.MinMaxProbe;
+import com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy.RemoveSizePreservingOperations;
+
+import java.util.ArrayList;
+import java.util.List;
 
 import static java.util.Objects.requireNonNull;
 
 final class StandardTerminalOperatorOptimizer implements TerminalOperationOptimizer {
 
+    private final List<TerminalOperationOptimizer> strategies = new ArrayList<>();
+
+    StandardTerminalOperatorOptimizer(
+        final IntermediateOperationFactory intermediateOperationFactory,
+        final TerminalOperationFactory terminalOperationFactory
+    ) {
+        requireNonNull(intermediateOperationFactory);
+        requireNonNull(terminalOperationFactory);
+        strategies.add(new RemoveSizePreservingOperations(intermediateOperationFactory, terminalOperationFactory));
+        strategies.add(new MatchProbe(intermediateOperationFactory));
+        strategies.add(new MinMaxProbe(intermediateOperationFactory));
+    }
+
     @Override
     public <T> Pipeline<T> optimize(Pipeline<T> pipeline) {
         requireNonNull(pipeline);
-        // For now, just return whatever we get.
+        for (TerminalOperationOptimizer strategy : strategies) {
+            strategy.optimize(pipeline);
+        }
         return pipeline;
     }
 
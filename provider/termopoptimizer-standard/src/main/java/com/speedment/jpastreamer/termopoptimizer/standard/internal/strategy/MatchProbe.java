@@ -0,0 +1,125 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.field.trait.HasReferenceValue;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
+
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Rewrites {@code anyMatch}, {@code noneMatch} and {@code allMatch} into a
+ * single-row existence probe when the match predicate is a
+ * {@link SpeedmentPredicate}.
+ * <p>
+ * {@code anyMatch(p)} and {@code noneMatch(p)} are rendered as
+ * {@code filter(p).limit(1)} whereas {@code allMatch(p)} is rendered as
+ * {@code filter(p.negate()).limit(1)}. The terminal operation itself is
+ * retained and is evaluated on the (at most one) element returned.
+ */
+public final class MatchProbe implements TerminalOperationOptimizer {
+
+    private static final Set<TerminalOperationType> MATCH_OPERATIONS = EnumSet.of(
+        TerminalOperationType.ANY_MATCH,
+        TerminalOperationType.ALL_MATCH,
+        TerminalOperationType.NONE_MATCH
+    );
+
+    // Operations that cannot affect whether there is a matching element
+    private static final Set<IntermediateOperationType> IGNORABLE = EnumSet.of(
+        IntermediateOperationType.SORTED,
+        IntermediateOperationType.DISTINCT
+    );
+
+    // Predicate types whose negation is exact even if the field is null
+    private static final Set<PredicateType> NULL_SAFE = EnumSet.of(
+        PredicateType.ALWAYS_TRUE,
+        PredicateType.ALWAYS_FALSE,
+        PredicateType.IS_NULL,
+        PredicateType.IS_NOT_NULL
+    );
+
+    private final IntermediateOperationFactory intermediateOperationFactory;
+
+    public MatchProbe(final IntermediateOperationFactory intermediateOperationFactory) {
+        this.intermediateOperationFactory = requireNonNull(intermediateOperationFactory);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Pipeline<T> optimize(final Pipeline<T> pipeline) {
+        final TerminalOperationType terminalOperationType = pipeline.terminatingOperation().type();
+
+        if (!MATCH_OPERATIONS.contains(terminalOperationType)) {
+            return pipeline;
+        }
+
+        final Object matchPredicate = pipeline.terminatingOperation().arguments()[0];
+
+        if (!StrategyUtil.isRenderable(matchPredicate)) {
+            return pipeline;
+        }
+
+        SpeedmentPredicate<T> probe = (SpeedmentPredicate<T>) matchPredicate;
+
+        if (terminalOperationType == TerminalOperationType.ALL_MATCH) {
+            // A row where the predicate is unknown must still count as a mismatch
+            if (!isNullSafe(probe)) {
+                return pipeline;
+            }
+            probe = probe.negate();
+        }
+
+        final LinkedList<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (!StrategyUtil.isReducibleToFilter(intermediateOperations, IGNORABLE)) {
+            return pipeline;
+        }
+
+        final Optional<SpeedmentPredicate<T>> restriction = StrategyUtil.restriction(intermediateOperations);
+
+        intermediateOperations.clear();
+        intermediateOperations.add(intermediateOperationFactory.createFilter(restriction.isPresent() ? restriction.get().and(probe) : probe));
+        intermediateOperations.add(intermediateOperationFactory.createLimit(1));
+
+        return pipeline;
+    }
+
+    private static boolean isNullSafe(final Object predicate) {
+        if (predicate instanceof FieldPredicate) {
+            final FieldPredicate<?> fieldPredicate = (FieldPredicate<?>) predicate;
+            return NULL_SAFE.contains(fieldPredicate.getPredicateType()) || !(fieldPredicate.getField() instanceof HasReferenceValue);
+        }
+
+        if (predicate instanceof CombinedPredicate) {
+            return ((CombinedPredicate<?>) predicate).stream().allMatch(MatchProbe::isNullSafe);
+        }
+
+        return false;
+    }
+
+}
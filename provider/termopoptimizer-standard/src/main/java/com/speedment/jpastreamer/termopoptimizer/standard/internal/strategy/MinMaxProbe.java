@@ -0,0 +1,115 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.field.comparator.CombinedComparator;
+import com.speedment.jpastreamer.field.comparator.FieldComparator;
+import com.speedment.jpastreamer.field.comparator.NullOrder;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.field.trait.HasReferenceValue;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
+
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.LinkedList;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Rewrites {@code min(comparator)} and {@code max(comparator)} into a
+ * single-row ordered query when the comparator is a {@link FieldComparator}
+ * or a {@link CombinedComparator}.
+ * <p>
+ * {@code min(c)} is rendered as {@code sorted(c).limit(1)} and
+ * {@code max(c)} as {@code sorted(c.reversed()).limit(1)}. The terminal
+ * operation itself is retained and is evaluated on the (at most one) element
+ * returned.
+ * <p>
+ * As the placement of {@code null} values in an {@code ORDER BY} clause is
+ * database specific, only comparators whose {@link NullOrder} cannot affect
+ * the outcome (i.e. comparators on primitive fields) are rewritten.
+ */
+public final class MinMaxProbe implements TerminalOperationOptimizer {
+
+    // Operations that cannot affect which element is the least or the greatest. A sort
+    // is not ignorable as min and max return the first of several equal elements.
+    private static final Set<IntermediateOperationType> IGNORABLE = EnumSet.of(
+        IntermediateOperationType.DISTINCT
+    );
+
+    private final IntermediateOperationFactory intermediateOperationFactory;
+
+    public MinMaxProbe(final IntermediateOperationFactory intermediateOperationFactory) {
+        this.intermediateOperationFactory = requireNonNull(intermediateOperationFactory);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> Pipeline<T> optimize(final Pipeline<T> pipeline) {
+        final TerminalOperationType terminalOperationType = pipeline.terminatingOperation().type();
+
+        if (terminalOperationType != TerminalOperationType.MIN && terminalOperationType != TerminalOperationType.MAX) {
+            return pipeline;
+        }
+
+        final Object[] arguments = pipeline.terminatingOperation().arguments();
+
+        if (arguments.length != 1 || !isRenderable(arguments[0])) {
+            return pipeline;
+        }
+
+        final Comparator<T> comparator = (Comparator<T>) arguments[0];
+
+        final LinkedList<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        if (!StrategyUtil.isReducibleToFilter(intermediateOperations, IGNORABLE)) {
+            return pipeline;
+        }
+
+        final Optional<SpeedmentPredicate<T>> restriction = StrategyUtil.restriction(intermediateOperations);
+
+        intermediateOperations.clear();
+        restriction.ifPresent(predicate -> intermediateOperations.add(intermediateOperationFactory.createFilter(predicate)));
+        intermediateOperations.add(intermediateOperationFactory.createSorted(
+            terminalOperationType == TerminalOperationType.MIN ? comparator : comparator.reversed()
+        ));
+        intermediateOperations.add(intermediateOperationFactory.createLimit(1));
+
+        return pipeline;
+    }
+
+    private static boolean isRenderable(final Object comparator) {
+        if (comparator instanceof FieldComparator) {
+            return isNonNullable((FieldComparator<?>) comparator);
+        }
+
+        if (comparator instanceof CombinedComparator) {
+            return ((CombinedComparator<?>) comparator).stream().allMatch(MinMaxProbe::isNonNullable);
+        }
+
+        return false;
+    }
+
+    private static boolean isNonNullable(final FieldComparator<?> fieldComparator) {
+        // Fields of primitive type cannot hold null values
+        return !(fieldComparator.getField() instanceof HasReferenceValue);
+    }
+
+}
@@ -0,0 +1,136 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.Statement.MODIFIES_SIDE_EFFECT;
+import static com.speedment.jpastreamer.pipeline.intermediate.Statement.PRESERVES_SIZE;
+import static com.speedment.jpastreamer.pipeline.intermediate.Statement.PRESERVES_STREAM_TYPE;
+import static java.util.Objects.requireNonNull;
+
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationType;
+import com.speedment.jpastreamer.termopoptimizer.TerminalOperationOptimizer;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * Removes intermediate operations that cannot affect the result of a
+ * {@code count()} so that the pipeline can be rendered as a single
+ * aggregate query.
+ * <p>
+ * Operations that only look at the number of elements (skip and limit)
+ * are retained and are expected to be folded into the count arithmetic
+ * by the renderer. A pipeline with side effects, e.g. {@code peek()}, is
+ * left as it is since the side effects must be performed for every element.
+ * <p>
+ * Trailing operations that change the stream type, e.g.
+ * {@code mapToInt(Film$.length).count()}, are removed as well if they are
+ * applied to a {@code Stream}. In that case, the retained skip and limit
+ * operations and the {@code count()} are replaced by their {@code Stream}
+ * counterparts.
+ */
+public final class RemoveSizePreservingOperations implements TerminalOperationOptimizer {
+
+    // Operations that neither change the number of elements nor the elements themselves
+    private static final Set<IntermediateOperationType> ELEMENT_PRESERVING = EnumSet.of(
+        IntermediateOperationType.SORTED
+    );
+
+    // Operations whose outcome only depends on the number of elements
+    private static final Set<IntermediateOperationType> SIZE_DEPENDENT = EnumSet.of(
+        IntermediateOperationType.SKIP,
+        IntermediateOperationType.LIMIT
+    );
+
+    private final IntermediateOperationFactory intermediateOperationFactory;
+    private final TerminalOperationFactory terminalOperationFactory;
+
+    public RemoveSizePreservingOperations(
+        final IntermediateOperationFactory intermediateOperationFactory,
+        final TerminalOperationFactory terminalOperationFactory
+    ) {
+        this.intermediateOperationFactory = requireNonNull(intermediateOperationFactory);
+        this.terminalOperationFactory = requireNonNull(terminalOperationFactory);
+    }
+
+    @Override
+    public <T> Pipeline<T> optimize(final Pipeline<T> pipeline) {
+        if (pipeline.terminatingOperation().type() != TerminalOperationType.COUNT) {
+            return pipeline;
+        }
+
+        if (pipeline.intermediateOperations().stream().anyMatch(operation -> operation.type().statements().contains(MODIFIES_SIDE_EFFECT))) {
+            return pipeline;
+        }
+
+        final List<IntermediateOperation<?, ?>> intermediateOperations = pipeline.intermediateOperations();
+
+        // As long as all downstream operations only depend on the number of elements,
+        // mapping operations may be removed as well
+        int sizeDependentFrom = intermediateOperations.size();
+        while (sizeDependentFrom > 0 && isSizeDependentOnly(intermediateOperations.get(sizeDependentFrom - 1).type())) {
+            sizeDependentFrom--;
+        }
+
+        // If the size dependent operations are applied to a Stream, they can be carried out on that Stream altogether
+        final boolean onStream = sizeDependentFrom < intermediateOperations.size()
+            && intermediateOperations.get(sizeDependentFrom).streamType() == Stream.class;
+
+        final ListIterator<IntermediateOperation<?, ?>> iterator = intermediateOperations.listIterator();
+
+        while (iterator.hasNext()) {
+            final boolean sizeDependentOnly = iterator.nextIndex() >= sizeDependentFrom;
+            final IntermediateOperation<?, ?> operation = iterator.next();
+            final IntermediateOperationType type = operation.type();
+
+            if (!sizeDependentOnly) {
+                if (ELEMENT_PRESERVING.contains(type)) {
+                    iterator.remove();
+                }
+            } else if (SIZE_DEPENDENT.contains(type)) {
+                if (onStream && operation.streamType() != Stream.class) {
+                    iterator.set(onStream(operation));
+                }
+            } else if (onStream || type.statements().contains(PRESERVES_STREAM_TYPE)) {
+                // Otherwise, operations that change the stream type must be retained as the terminal operation depends on it
+                iterator.remove();
+            }
+        }
+
+        if (onStream) {
+            pipeline.terminatingOperation(terminalOperationFactory.acquireCount());
+        }
+
+        return pipeline;
+    }
+
+    private boolean isSizeDependentOnly(final IntermediateOperationType type) {
+        return type.statements().contains(PRESERVES_SIZE) || SIZE_DEPENDENT.contains(type);
+    }
+
+    private IntermediateOperation<?, ?> onStream(final IntermediateOperation<?, ?> operation) {
+        final long n = (Long) operation.arguments()[0];
+        return operation.type() == IntermediateOperationType.SKIP
+            ? intermediateOperationFactory.createSkip(n)
+            : intermediateOperationFactory.createLimit(n);
+    }
+
+}
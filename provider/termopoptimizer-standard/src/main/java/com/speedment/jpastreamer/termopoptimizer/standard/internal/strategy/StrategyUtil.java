@@ -0,0 +1,82 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+enum StrategyUtil {;
+
+    /**
+     * Returns {@code true} if the provided predicate can be rendered as a
+     * criteria predicate.
+     *
+     * @param predicate to examine
+     * @return {@code true} if the provided predicate can be rendered
+     */
+    static boolean isRenderable(final Object predicate) {
+        if (predicate instanceof FieldPredicate) {
+            return true;
+        }
+
+        if (predicate instanceof CombinedPredicate) {
+            return ((CombinedPredicate<?>) predicate).stream().allMatch(StrategyUtil::isRenderable);
+        }
+
+        return false;
+    }
+
+    /**
+     * Returns {@code true} if all the provided operations are either filters
+     * with renderable predicates or contained in the provided set of
+     * operations that may be disregarded.
+     *
+     * @param intermediateOperations to examine
+     * @param ignorable operation types that may be disregarded
+     * @return {@code true} if all the provided operations can be replaced
+     *         by a single filter
+     */
+    static boolean isReducibleToFilter(
+        final List<IntermediateOperation<?, ?>> intermediateOperations,
+        final Set<IntermediateOperationType> ignorable
+    ) {
+        return intermediateOperations.stream().allMatch(io ->
+            (io.type() == IntermediateOperationType.FILTER && isRenderable(io.arguments()[0])) || ignorable.contains(io.type())
+        );
+    }
+
+    /**
+     * Returns the predicates of all filters among the provided operations
+     * combined into a single predicate, or an empty {@code Optional} if
+     * there are no filters.
+     *
+     * @param intermediateOperations to examine
+     * @param <T> the entity type
+     * @return the combined predicate of all filters
+     */
+    @SuppressWarnings("unchecked")
+    static <T> Optional<SpeedmentPredicate<T>> restriction(final List<IntermediateOperation<?, ?>> intermediateOperations) {
+        return intermediateOperations.stream()
+            .filter(io -> io.type() == IntermediateOperationType.FILTER)
+            .map(io -> (SpeedmentPredicate<T>) io.arguments()[0])
+            .reduce(SpeedmentPredicate::and);
+    }
+
+}
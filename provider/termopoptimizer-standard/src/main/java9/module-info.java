@@ -12,6 +12,8 @@
  */
 module jpastreamer.termopoptimizer.standard {
     requires transitive jpastreamer.termopoptimizer;
+    requires jpastreamer.field;
+    requires jpastreamer.rootfactory;
 
     exports com.speedment.jpastreamer.termopoptimizer.standard;
 
@@ -0,0 +1,148 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.*;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.field.predicate.CombinedPredicate;
+import com.speedment.jpastreamer.field.predicate.FieldPredicate;
+import com.speedment.jpastreamer.field.predicate.PredicateType;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+
+final class MatchProbeTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final TerminalOperationFactory terminalFactory = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+
+    private final MatchProbe optimizer = new MatchProbe(operationFactory);
+
+    @Test
+    void anyMatch() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createAnyMatch(Film$.title.equal("A")),
+            operationFactory.createSorted(Film$.id)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, LIMIT), types(pipeline));
+        assertEquals(PredicateType.EQUAL, ((FieldPredicate<?>) pipeline.intermediateOperations().getFirst().arguments()[0]).getPredicateType());
+        assertEquals(1L, pipeline.intermediateOperations().getLast().arguments()[0]);
+    }
+
+    @Test
+    void noneMatchWithFilter() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createNoneMatch(Film$.title.equal("A")),
+            operationFactory.createFilter(Film$.length.greaterThan(60))
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, LIMIT), types(pipeline));
+        final Object predicate = pipeline.intermediateOperations().getFirst().arguments()[0];
+        assertTrue(predicate instanceof CombinedPredicate);
+        assertEquals(CombinedPredicate.Type.AND, ((CombinedPredicate<?>) predicate).getType());
+    }
+
+    @Test
+    void allMatchIsNegated() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createAllMatch(Film$.id.greaterThan(10))
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, LIMIT), types(pipeline));
+        assertEquals(PredicateType.LESS_OR_EQUAL, ((FieldPredicate<?>) pipeline.intermediateOperations().getFirst().arguments()[0]).getPredicateType());
+    }
+
+    @Test
+    void allMatchOnNullableField() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createAllMatch(Film$.title.equal("A"))
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(), types(pipeline));
+    }
+
+    @Test
+    void unsupportedPredicate() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.<Film>createAnyMatch(f -> f.getId() > 10)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(), types(pipeline));
+    }
+
+    @Test
+    void unsupportedOperation() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createAnyMatch(Film$.title.equal("A")),
+            operationFactory.<Film>createFilter(f -> f.getId() > 10),
+            operationFactory.createSorted(Comparator.comparing(Film::getTitle))
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, SORTED), types(pipeline));
+    }
+
+    @Test
+    void sideEffect() {
+        // The peek must see every element, not only the probed one
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createAnyMatch(Film$.title.equal("A")),
+            operationFactory.createPeek(f -> {})
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(PEEK), types(pipeline));
+    }
+
+    private Pipeline<Film> createPipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        pipeline.intermediateOperations().addAll(Arrays.asList(operations));
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+    private List<IntermediateOperationType> types(final Pipeline<?> pipeline) {
+        return pipeline.intermediateOperations().stream()
+            .map(IntermediateOperation::type)
+            .collect(toList());
+    }
+
+}
@@ -0,0 +1,171 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.*;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.speedment.jpastreamer.field.comparator.CombinedComparator;
+import com.speedment.jpastreamer.field.comparator.FieldComparator;
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.stream.Stream;
+
+final class MinMaxProbeTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final TerminalOperationFactory terminalFactory = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+
+    private final MinMaxProbe optimizer = new MinMaxProbe(operationFactory);
+
+    @Test
+    void min() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMin(Film$.id),
+            operationFactory.createFilter(Film$.title.startsWith("A")),
+            operationFactory.acquireDistinct()
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, SORTED, LIMIT), types(pipeline));
+        assertFalse(((FieldComparator<?>) pipeline.intermediateOperations().get(1).arguments()[0]).isReversed());
+    }
+
+    @Test
+    void max() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMax(Film$.id)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(SORTED, LIMIT), types(pipeline));
+        assertTrue(((FieldComparator<?>) pipeline.intermediateOperations().getFirst().arguments()[0]).isReversed());
+    }
+
+    @Test
+    void maxCombined() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMax(Film$.id.comparator().thenComparing(Film$.id.reversed()))
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(SORTED, LIMIT), types(pipeline));
+        final CombinedComparator<?> comparator = (CombinedComparator<?>) pipeline.intermediateOperations().getFirst().arguments()[0];
+        assertEquals(Arrays.asList(true, false), comparator.stream().map(FieldComparator::isReversed).collect(toList()));
+    }
+
+    @Test
+    void nullableField() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMin(Film$.title.comparator())
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(), types(pipeline));
+    }
+
+    @Test
+    void unsupportedComparator() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMin(Comparator.comparingInt(Film::getId))
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(), types(pipeline));
+    }
+
+    @Test
+    void unsupportedOperation() {
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMin(Film$.id),
+            operationFactory.createSkip(1)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(SKIP), types(pipeline));
+    }
+
+    @Test
+    void tiedKeys() {
+        final Film first = film(1, "ACADEMY DINOSAUR");
+        final Film second = film(1, "ACE GOLDFINGER");
+
+        // The preceding sort decides which of the films with the least id is returned
+        assertEquals(second, Stream.of(first, second).sorted(Film$.title.reversed()).min(Film$.id).orElse(null));
+
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMin(Film$.id),
+            operationFactory.createSorted(Film$.title.reversed())
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(SORTED), types(pipeline));
+    }
+
+    @Test
+    void sideEffect() {
+        // The peek must see every element, not only the least one
+        final Pipeline<Film> pipeline = createPipeline(
+            terminalFactory.createMin(Film$.id),
+            operationFactory.createPeek(f -> {})
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(PEEK), types(pipeline));
+    }
+
+    private static Film film(final int id, final String title) {
+        final Film film = new Film();
+        film.id = id;
+        film.title = title;
+        return film;
+    }
+
+    private Pipeline<Film> createPipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<Film> pipeline = pipelineFactory.createPipeline(Film.class);
+        pipeline.intermediateOperations().addAll(Arrays.asList(operations));
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+    private List<IntermediateOperationType> types(final Pipeline<?> pipeline) {
+        return pipeline.intermediateOperations().stream()
+            .map(IntermediateOperation::type)
+            .collect(toList());
+    }
+
+}
@@ -0,0 +1,198 @@
+/*
+ * JPAstreamer - Express JPA queries with Java Streams
+ * Copyright (c) 2020-2020, Speedment, Inc. All Rights Reserved.
+ *
+ * License: GNU Lesser General Public License (LGPL), version 2.1 or later.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT ANY WARRANTY;
+ * without even the implied warranty of MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+ * See the GNU Lesser General Public License for more details.
+ *
+ * See: https://github.com/speedment/jpa-streamer/blob/master/LICENSE
+ */
+package com.speedment.jpastreamer.termopoptimizer.standard.internal.strategy;
+
+import static com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType.*;
+import static java.util.stream.Collectors.toList;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import com.speedment.jpastreamer.pipeline.Pipeline;
+import com.speedment.jpastreamer.pipeline.PipelineFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntIntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperation;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationFactory;
+import com.speedment.jpastreamer.pipeline.intermediate.IntermediateOperationType;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
+import com.speedment.jpastreamer.pipeline.terminal.IntTerminalOperationFactory;
+import com.speedment.jpastreamer.pipeline.terminal.TerminalOperationFactory;
+import com.speedment.jpastreamer.rootfactory.RootFactory;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.BaseStream;
+import java.util.stream.Stream;
+
+final class RemoveSizePreservingOperationsTest {
+
+    private final PipelineFactory pipelineFactory = RootFactory.getOrThrow(PipelineFactory.class, ServiceLoader::load);
+    private final IntermediateOperationFactory operationFactory = RootFactory.getOrThrow(IntermediateOperationFactory.class, ServiceLoader::load);
+    private final IntIntermediateOperationFactory intOperationFactory = RootFactory.getOrThrow(IntIntermediateOperationFactory.class, ServiceLoader::load);
+    private final TerminalOperationFactory terminalFactory = RootFactory.getOrThrow(TerminalOperationFactory.class, ServiceLoader::load);
+    private final IntTerminalOperationFactory intTerminalFactory = RootFactory.getOrThrow(IntTerminalOperationFactory.class, ServiceLoader::load);
+
+    private final RemoveSizePreservingOperations optimizer = new RemoveSizePreservingOperations(operationFactory, terminalFactory);
+
+    @Test
+    void trailingOperations() {
+        final Pipeline<String> pipeline = createPipeline(
+            terminalFactory.acquireCount(),
+            operationFactory.<String>createFilter(String::isEmpty),
+            operationFactory.<String, Integer>createMap(String::length),
+            operationFactory.createSorted(Comparator.naturalOrder())
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER), types(pipeline));
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void sideEffectsArePerformed() {
+        final AtomicInteger counter = new AtomicInteger();
+        final Pipeline<String> pipeline = createPipeline(
+            terminalFactory.acquireCount(),
+            operationFactory.<String, Integer>createMap(String::length),
+            operationFactory.createPeek(i -> counter.incrementAndGet()),
+            operationFactory.createSorted(Comparator.naturalOrder())
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(MAP, PEEK, SORTED), types(pipeline));
+
+        // The results of a query are not SIZED so count() cannot skip the peek either
+        BaseStream<?, ?> stream = Stream.of("a", "bb", "ccc").filter(s -> true);
+        for (IntermediateOperation operation : pipeline.intermediateOperations()) {
+            stream = (BaseStream<?, ?>) operation.function().apply(stream);
+        }
+        assertEquals(3, ((Stream<?>) stream).count());
+        assertEquals(3, counter.get());
+    }
+
+    @Test
+    void skipAndLimitAreRetained() {
+        final Pipeline<String> pipeline = createPipeline(
+            terminalFactory.acquireCount(),
+            operationFactory.createSorted(Comparator.naturalOrder()),
+            operationFactory.createSkip(10),
+            operationFactory.<String, Integer>createMap(String::length),
+            operationFactory.createLimit(5)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(SKIP, LIMIT), types(pipeline));
+    }
+
+    @Test
+    void mappingBeforeFilterIsRetained() {
+        final Pipeline<String> pipeline = createPipeline(
+            terminalFactory.acquireCount(),
+            operationFactory.<String, Integer>createMap(String::length),
+            operationFactory.createSorted(Comparator.naturalOrder()),
+            operationFactory.<Integer>createFilter(i -> i > 0)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(MAP, FILTER), types(pipeline));
+    }
+
+    @Test
+    void streamTypeChange() {
+        final Pipeline<String> pipeline = createPipeline(
+            intTerminalFactory.acquireCount(),
+            operationFactory.<String, Integer>createMap(String::length),
+            operationFactory.createMapToInt(i -> 1)
+        );
+
+        optimizer.optimize(pipeline);
+
+        // The elements are counted before they are mapped
+        assertEquals(Arrays.asList(), types(pipeline));
+        assertSame(Stream.class, pipeline.terminatingOperation().streamType());
+    }
+
+    @Test
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    void skipAfterStreamTypeChange() {
+        final Pipeline<String> pipeline = createPipeline(
+            intTerminalFactory.acquireCount(),
+            operationFactory.<String>createFilter(s -> s.length() > 1),
+            operationFactory.createMapToInt(String::length),
+            intOperationFactory.createSkip(1)
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(FILTER, SKIP), types(pipeline));
+        assertEquals(
+            Arrays.asList(Stream.class, Stream.class),
+            pipeline.intermediateOperations().stream().map(IntermediateOperation::streamType).collect(toList())
+        );
+
+        BaseStream<?, ?> stream = Stream.of("a", "bb", "ccc");
+        for (IntermediateOperation operation : pipeline.intermediateOperations()) {
+            stream = (BaseStream<?, ?>) operation.function().apply(stream);
+        }
+        assertEquals(1, ((TerminalOperation) pipeline.terminatingOperation()).toLongFunction().applyAsLong(stream));
+    }
+
+    @Test
+    void streamTypeChangeIsRetained() {
+        final Pipeline<String> pipeline = createPipeline(
+            terminalFactory.acquireCount(),
+            operationFactory.createMapToInt(String::length),
+            intOperationFactory.createFilter(i -> i > 1),
+            intOperationFactory.createMap(i -> i * 2),
+            intOperationFactory.createAsLongStream()
+        );
+
+        optimizer.optimize(pipeline);
+
+        // The count is applied to a LongStream that is not produced by the query
+        assertEquals(Arrays.asList(MAP_TO, FILTER, AS), types(pipeline));
+    }
+
+    @Test
+    void otherTerminalOperation() {
+        final Pipeline<String> pipeline = createPipeline(
+            terminalFactory.createForEach(s -> {}),
+            operationFactory.createSorted(Comparator.naturalOrder())
+        );
+
+        optimizer.optimize(pipeline);
+
+        assertEquals(Arrays.asList(SORTED), types(pipeline));
+    }
+
+    private Pipeline<String> createPipeline(final TerminalOperation<?, ?> terminalOperation, final IntermediateOperation<?, ?>... operations) {
+        final Pipeline<String> pipeline = pipelineFactory.createPipeline(String.class);
+        pipeline.intermediateOperations().addAll(Arrays.asList(operations));
+        pipeline.terminatingOperation(terminalOperation);
+        return pipeline;
+    }
+
+    private List<IntermediateOperationType> types(final Pipeline<?> pipeline) {
+        return pipeline.intermediateOperations().stream()
+            .map(IntermediateOperation::type)
+            .collect(toList());
+    }
+
+}
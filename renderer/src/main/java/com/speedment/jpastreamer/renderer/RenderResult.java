@@ -14,13 +14,13 @@ package com.speedment.jpastreamer.renderer;
 
 import com.speedment.jpastreamer.pipeline.terminal.TerminalOperation;
 
-import java.util.stream.Stream;
+import java.util.stream.BaseStream;
 
 public interface RenderResult<T> {
 
     Class<T> root();
 
-    Stream<T> stream();
+    BaseStream<?, ?> stream();
 
     TerminalOperation<?, ?> terminalOperation();
 
@@ -21,6 +21,9 @@ public interface Renderer {
      * Creates and returns a new RenderResult whereby the provided {@code Pipeline}
      * is rendered to a stream using a {@code EntityManagerFactory}
      * provided via the {@code RendererFactory}.
+     * <p>
+     * The stream of the returned RenderResult may hold resources (e.g. an
+     * {@code EntityManager}) and must be closed once it has been consumed.
      *
      * @param pipeline describing the intended Stream
      * @param streamConfiguration containing additional information, such as joins
@@ -13,9 +13,15 @@
 package com.speedment.jpastreamer.streamconfiguration;
 
 import com.speedment.jpastreamer.field.Field;
+import com.speedment.jpastreamer.field.predicate.SpeedmentPredicate;
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
 import com.speedment.jpastreamer.rootfactory.RootFactory;
 
+import javax.persistence.FlushModeType;
 import javax.persistence.criteria.JoinType;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.ServiceLoader;
 import java.util.Set;
 
@@ -30,6 +36,18 @@ import java.util.Set;
  */
 public interface StreamConfiguration<T> {
 
+    /**
+     * The default number of elements after which the persistence context
+     * of a read-only Stream is cleared.
+     */
+    int DEFAULT_READ_ONLY_WINDOW_SIZE = 1_000;
+
+    /**
+     * The default number of elements that a prefetching Stream buffers
+     * ahead of its consumer if no fetch size is set.
+     */
+    int DEFAULT_PREFETCH_BUFFER_SIZE = 1_000;
+
     /**
      * Returns the entity class that is to appear in
      * a future Stream.
@@ -88,6 +106,323 @@ public interface StreamConfiguration<T> {
      */
     StreamConfiguration<T> joining(Field<T> field, JoinType joinType);
 
+    /**
+     * Returns if a future Stream is read-only.
+     * <p>
+     * Elements produced by a read-only Stream are not tracked for
+     * modifications and are detached from the persistence context
+     * in windows of {@link #readOnlyWindowSize()} elements. Hence, a
+     * read-only Stream can be consumed in constant memory regardless
+     * of how many elements it produces. If the Stream is also
+     * {@link #isPrefetching() prefetching}, each window is detached by the
+     * background thread before any of its elements is handed to the
+     * consumer.
+     *
+     * @return if a future Stream is read-only
+     * @see #readOnly()
+     */
+    boolean isReadOnly();
+
+    /**
+     * Returns the number of elements after which the persistence context
+     * of a future read-only Stream is cleared, or 0 if
+     * the Stream is not read-only.
+     *
+     * @return the number of elements after which the persistence context
+     *         of a future read-only Stream is cleared, or 0 if
+     *         the Stream is not read-only
+     * @see #readOnly(int)
+     */
+    int readOnlyWindowSize();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future Stream is read-only whereby the persistence context is
+     * cleared every {@link #DEFAULT_READ_ONLY_WINDOW_SIZE} elements.
+     * <p>
+     * Elements produced by a read-only Stream should not be modified and
+     * lazy associations of an element cannot be loaded once the element
+     * has been detached. Use {@link #joining(Field)} to eagerly fetch
+     * associations that are to be accessed.
+     *
+     * @return a new StreamConfiguration configured so that
+     *         a future Stream is read-only
+     */
+    default StreamConfiguration<T> readOnly() {
+        return readOnly(DEFAULT_READ_ONLY_WINDOW_SIZE);
+    }
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future Stream is read-only whereby the persistence context is
+     * cleared every {@code windowSize} elements.
+     * <p>
+     * Elements produced by a read-only Stream should not be modified and
+     * lazy associations of an element cannot be loaded once the element
+     * has been detached. Use {@link #joining(Field)} to eagerly fetch
+     * associations that are to be accessed.
+     *
+     * @param windowSize the number of elements after which the
+     *                   persistence context is cleared
+     * @return a new StreamConfiguration configured so that
+     *         a future Stream is read-only
+     * @throws IllegalArgumentException if the provided {@code windowSize}
+     *         is not positive
+     */
+    StreamConfiguration<T> readOnly(int windowSize);
+
+    /**
+     * Returns if a future Stream is prefetching.
+     * <p>
+     * A prefetching Stream reads elements from the database on a background
+     * thread into a buffer of at most {@link #prefetchBufferSize()} elements
+     * while the consumer processes previously read elements. Hence, fetching
+     * and processing overlap rather than alternate.
+     * <p>
+     * As the persistence context cannot be shared between threads, elements
+     * are detached by the background thread before they are handed to the
+     * consumer. Thus, elements produced by a prefetching Stream are never
+     * managed: modifications are not tracked and lazy associations cannot
+     * be loaded.
+     *
+     * @return if a future Stream is prefetching
+     * @see #prefetching()
+     */
+    boolean isPrefetching();
+
+    /**
+     * Returns the maximum number of elements that a future prefetching Stream
+     * buffers ahead of its consumer, or 0 if the Stream is not prefetching.
+     *
+     * @return the maximum number of elements that a future prefetching Stream
+     *         buffers ahead of its consumer, or 0 if the Stream is
+     *         not prefetching
+     * @see #prefetching(int)
+     */
+    int prefetchBufferSize();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future Stream is prefetching using a buffer of the
+     * {@link #fetchSize()} elements, or
+     * {@link #DEFAULT_PREFETCH_BUFFER_SIZE} elements if no fetch size is set.
+     * <p>
+     * Elements are read on a background thread and are detached from the
+     * persistence context before they are handed to the consumer, whereby
+     * lazy associations cannot be loaded by the consumer. Use
+     * {@link #joining(Field)} to eagerly fetch associations that are
+     * to be accessed.
+     *
+     * @return a new StreamConfiguration configured so that
+     *         a future Stream is prefetching
+     */
+    default StreamConfiguration<T> prefetching() {
+        return prefetching(fetchSize().orElse(DEFAULT_PREFETCH_BUFFER_SIZE));
+    }
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future Stream is prefetching using a buffer of at most
+     * {@code bufferSize} elements.
+     * <p>
+     * Elements are read on a background thread and are detached from the
+     * persistence context before they are handed to the consumer, whereby
+     * lazy associations cannot be loaded by the consumer. Use
+     * {@link #joining(Field)} to eagerly fetch associations that are
+     * to be accessed.
+     *
+     * @param bufferSize the maximum number of elements to read ahead
+     *                   of the consumer
+     * @return a new StreamConfiguration configured so that
+     *         a future Stream is prefetching
+     * @throws IllegalArgumentException if the provided {@code bufferSize}
+     *         is not positive
+     */
+    StreamConfiguration<T> prefetching(int bufferSize);
+
+    /**
+     * Returns the number of rows that the JDBC driver shall fetch
+     * per database round trip for a future Stream, or
+     * {@link OptionalInt#empty()} if the default of the JPA provider
+     * shall be used.
+     *
+     * @return the number of rows that the JDBC driver shall fetch
+     *         per database round trip for a future Stream
+     */
+    OptionalInt fetchSize();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * the JDBC driver fetches {@code fetchSize} rows per database
+     * round trip when producing elements in the future Stream.
+     * <p>
+     * Many JDBC drivers fetch as few as 10 rows at a time by default,
+     * which makes large streams bound by database round trips.
+     *
+     * @param fetchSize the number of rows to fetch per round trip
+     * @return a new StreamConfiguration configured so that
+     *         the JDBC driver fetches {@code fetchSize} rows per database
+     *         round trip
+     * @throws IllegalArgumentException if the provided {@code fetchSize}
+     *         is not positive
+     */
+    StreamConfiguration<T> withFetchSize(int fetchSize);
+
+    /**
+     * Returns the maximum time the queries of a future Stream are allowed
+     * to execute, or {@link Optional#empty()} if no timeout is set.
+     *
+     * @return the maximum time the queries of a future Stream are allowed
+     *         to execute
+     */
+    Optional<Duration> queryTimeout();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * the queries of a future Stream are allowed to execute for at most
+     * the provided {@code timeout}.
+     *
+     * @param timeout the maximum time a query is allowed to execute
+     * @return a new StreamConfiguration configured so that
+     *         the queries of a future Stream are allowed to execute for
+     *         at most the provided {@code timeout}
+     * @throws IllegalArgumentException if the provided {@code timeout}
+     *         is not positive
+     */
+    StreamConfiguration<T> withQueryTimeout(Duration timeout);
+
+    /**
+     * Returns if the queries of a future Stream shall use the second-level
+     * cache, or {@link Optional#empty()} if the default of the JPA provider
+     * shall be used.
+     *
+     * @return if the queries of a future Stream shall use the second-level
+     *         cache
+     */
+    Optional<Boolean> cacheable();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * the queries of a future Stream use (or bypass) the second-level cache.
+     *
+     * @param cacheable if the second-level cache shall be used
+     * @return a new StreamConfiguration configured so that
+     *         the queries of a future Stream use (or bypass) the
+     *         second-level cache
+     */
+    StreamConfiguration<T> withCacheable(boolean cacheable);
+
+    /**
+     * Returns the flush mode of the queries of a future Stream, or
+     * {@link Optional#empty()} if the flush mode of the
+     * {@code EntityManager} shall be used.
+     *
+     * @return the flush mode of the queries of a future Stream
+     */
+    Optional<FlushModeType> flushMode();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * the queries of a future Stream use the provided {@code flushMode}.
+     *
+     * @param flushMode to use
+     * @return a new StreamConfiguration configured so that
+     *         the queries of a future Stream use the
+     *         provided {@code flushMode}
+     */
+    StreamConfiguration<T> withFlushMode(FlushModeType flushMode);
+
+    /**
+     * Returns the field whose key range a future parallel Stream is
+     * partitioned by, or {@link Optional#empty()} if the id of the entity
+     * shall be used.
+     *
+     * @return the field whose key range a future parallel Stream is
+     *         partitioned by
+     * @see #partitionedBy(HasComparableOperators, int)
+     */
+    Optional<Field<T>> partitionField();
+
+    /**
+     * Returns the number of partitions a future parallel Stream is split
+     * into. Unless configured, this is the number of available processors.
+     *
+     * @return the number of partitions a future parallel Stream is split into
+     * @see #partitionedBy(HasComparableOperators, int)
+     */
+    int partitions();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future {@link java.util.stream.Stream#parallel() parallel} Stream is
+     * split into as many partitions as there are available processors by
+     * ranges of the provided {@code field}.
+     *
+     * @param field with integral values to partition by
+     * @return a new StreamConfiguration configured so that a future parallel
+     *         Stream is partitioned by ranges of the provided {@code field}
+     * @see #partitionedBy(HasComparableOperators, int)
+     */
+    default StreamConfiguration<T> partitionedBy(HasComparableOperators<T, ?> field) {
+        return partitionedBy(field, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future {@link java.util.stream.Stream#parallel() parallel} Stream is
+     * split into {@code partitions} partitions by ranges of the
+     * provided {@code field}.
+     * <p>
+     * Each partition is read by a query of its own using an EntityManager
+     * (and thus a database connection) of its own. Partitioning is only
+     * applied if the field has integral values and the Stream does not
+     * require the database to order, skip or limit elements. Otherwise,
+     * the Stream is read using a single query.
+     *
+     * @param field with integral values to partition by
+     * @param partitions the number of partitions
+     * @return a new StreamConfiguration configured so that a future parallel
+     *         Stream is partitioned by ranges of the provided {@code field}
+     * @throws IllegalArgumentException if the provided {@code partitions}
+     *         is not positive
+     */
+    StreamConfiguration<T> partitionedBy(HasComparableOperators<T, ?> field, int partitions);
+
+    /**
+     * Returns the token after which a future Stream shall continue, or
+     * {@link Optional#empty()} if the Stream shall start from the beginning.
+     *
+     * @return the token after which a future Stream shall continue
+     * @see #continuingAfter(ContinuationToken)
+     */
+    Optional<ContinuationToken<T>> continuation();
+
+    /**
+     * Creates and returns a new StreamConfiguration configured so that
+     * a future Stream only contains entities that come after the provided
+     * {@code token} in the order of the token's field.
+     * <p>
+     * This allows pages to be traversed using keyset (seek) pagination
+     * whereby the position of a page is expressed as a predicate on a
+     * unique key rather than as an offset. Hence, a deep page costs the
+     * same as the first page:
+     * <pre>{@code
+     *     List<Film> page = jpaStreamer.stream(configuration.continuingAfter(token))
+     *         .sorted(Film$.filmId)
+     *         .limit(20)
+     *         .collect(toList());
+     *
+     *     token = ContinuationToken.after(Film$.filmId, page.get(page.size() - 1));
+     * }</pre>
+     * The future Stream must be sorted on the token's field before any
+     * operation other than filtering is applied.
+     *
+     * @param token after which the future Stream shall continue
+     * @return a new StreamConfiguration configured so that a future
+     *         Stream continues after the provided {@code token}
+     */
+    StreamConfiguration<T> continuingAfter(ContinuationToken<T> token);
+
     /**
      * Creates and returns a new StreamConfiguration that can be used
      * to configure streams.
@@ -113,4 +448,60 @@ public interface StreamConfiguration<T> {
         JoinType joinType();
     }
 
+    /**
+     * A ContinuationToken marks the position of an entity in the order of
+     * a unique field so that a Stream can continue after that entity.
+     * <p>
+     * Instances are immutable and do not hold a reference to the entity
+     * they were created from.
+     *
+     * @param <T> the entity type
+     * @see StreamConfiguration#continuingAfter(ContinuationToken)
+     */
+    interface ContinuationToken<T> {
+
+        /**
+         * Returns the field that positions are expressed in.
+         *
+         * @return the field that positions are expressed in
+         */
+        Field<T> field();
+
+        /**
+         * Returns a predicate that only accepts entities that come after
+         * this token in the order of the {@link #field()}.
+         *
+         * @param reversed if the order of the field is reversed
+         * @return a predicate that only accepts entities that come after
+         *         this token
+         */
+        SpeedmentPredicate<T> predicate(boolean reversed);
+
+        /**
+         * Creates and returns a new ContinuationToken positioned at
+         * the provided {@code entity} in the order of the provided
+         * {@code field}.
+         * <p>
+         * The field must be UNIQUE or the id of the entity.
+         *
+         * @param <T> the entity type
+         * @param <V> the field value type
+         * @param field that positions are expressed in
+         * @param entity to continue after, typically the last entity
+         *               of a page
+         * @return a new ContinuationToken positioned at the
+         *         provided {@code entity}
+         * @throws IllegalArgumentException if the entity has no value
+         *         for the provided {@code field}
+         */
+        static <T, V extends Comparable<? super V>> ContinuationToken<T> after(
+            final HasComparableOperators<T, V> field,
+            final T entity
+        ) {
+            return RootFactory
+                    .getOrThrow(StreamConfigurationFactory.class, ServiceLoader::load)
+                    .createContinuationToken(field, entity);
+        }
+    }
+
 }
\ No newline at end of file
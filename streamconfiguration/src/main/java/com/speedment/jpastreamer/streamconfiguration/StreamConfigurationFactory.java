@@ -12,8 +12,13 @@
  */
 package com.speedment.jpastreamer.streamconfiguration;
 
+import com.speedment.jpastreamer.field.trait.HasComparableOperators;
+import com.speedment.jpastreamer.streamconfiguration.StreamConfiguration.ContinuationToken;
+
 public interface StreamConfigurationFactory {
 
     <T> StreamConfiguration<T> createStreamConfiguration(Class<T> entityClass);
 
+    <T, V extends Comparable<? super V>> ContinuationToken<T> createContinuationToken(HasComparableOperators<T, V> field, T entity);
+
 }
\ No newline at end of file